@@ -15,13 +15,14 @@ public class AuditorAwareImpl implements AuditorAware<String> {
         Authentication authentication =
                 SecurityContextHolder.getContext().getAuthentication();
 
-        log.info("Current user: {}", authentication.getName());
-
+        //비동기 주문 writer 같은 백그라운드 스레드에는 로그인 정보가 없다
         String userId = "";
         if(authentication != null) {
             userId = authentication.getName();
         }
 
+        log.info("Current user: {}", userId);
+
         return Optional.of(userId);
     }
 }
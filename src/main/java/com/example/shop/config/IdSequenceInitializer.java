@@ -0,0 +1,51 @@
+package com.example.shop.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.stereotype.Component;
+
+/**
+ * id_sequence 테이블의 시작값을 기존 데이타의 최대 ID 이후로 맞춘다.
+ * - IDENTITY(AUTO_INCREMENT)로 저장된 기존 행과 ID가 겹치지 않도록 기동 시 1회 실행
+ * - EntityManagerFactory 가 만들어진 직후(ddl-auto 로 테이블 생성 후), 다른 빈이 받아 쓰기 전에 실행한다.
+ *   웹 서버나 @Scheduled 작업이 먼저 insert 하면 @TableGenerator 가 1부터 시작하는 행을 만들고
+ *   그 블록(50개)은 나중에 값을 올려도 이미 할당되어 기존 ID 와 겹친다.
+ */
+@Component
+@Slf4j
+public class IdSequenceInitializer implements BeanPostProcessor {
+
+    // {시퀀스 이름(pkColumnValue), 테이블명, ID 컬럼명}
+    private static final String[][] SEQUENCES = {
+            {"member", "member", "member_id"},
+            {"item", "item", "item_id"},
+            {"item_img", "item_img", "item_img_id"},
+            {"cart", "cart", "cart_id"},
+            {"cart_item", "cart_item", "cart_item_id"},
+            {"orders", "orders", "order_id"},
+            {"order_item", "order_item", "order_item_id"},
+            {"bulk_cancel_job", "bulk_cancel_job", "bulk_cancel_job_id"},
+    };
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        //FactoryBean 자체에 한 번만 (만들어진 EntityManagerFactory 프록시는 제외)
+        if (bean instanceof LocalContainerEntityManagerFactoryBean factoryBean) {
+            initialize(new JdbcTemplate(factoryBean.getDataSource()));
+        }
+        return bean;
+    }
+
+    private void initialize(JdbcTemplate jdbcTemplate) {
+        for (String[] sequence : SEQUENCES) {
+            jdbcTemplate.update(
+                    "insert into id_sequence (seq_name, next_val) " +
+                    "select ?, coalesce(max(" + sequence[2] + "), 0) + 1 from " + sequence[1] + " " +
+                    "on duplicate key update next_val = greatest(next_val, values(next_val))",
+                    sequence[0]);
+        }
+        log.info("id_sequence 초기화 완료");
+    }
+}
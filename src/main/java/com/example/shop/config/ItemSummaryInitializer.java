@@ -0,0 +1,49 @@
+package com.example.shop.config;
+
+import com.example.shop.entity.Item;
+import com.example.shop.service.CatalogCountCache;
+import com.example.shop.service.MainPageCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * item.item_summary 컬럼이 생기기 전의 상품을 기동 시 채운다.
+ * - Item.summarize 와 같은 규칙 (공백 정리 후 SUMMARY_LENGTH 글자, 넘으면 … 추가)
+ * - 상품 목록 조회 테이블 이관(ItemCardService.backfill) 보다 먼저 실행
+ * - 이미 요청을 받는 중이므로 그 사이 캐시된 메인 페이지 목록/건수를 지운다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemSummaryInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MainPageCache mainPageCache;
+    private final CatalogCountCache catalogCountCache;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void initialize() {
+        int items = jdbcTemplate.update(
+                "update item i join (" +
+                "    select item_id, trim(regexp_replace(item_detail, '\\\\s+', ' ')) as summary " +
+                "    from item where item_summary is null" +
+                ") s on s.item_id = i.item_id " +
+                "set i.item_summary = case when char_length(s.summary) > ? " +
+                "                          then concat(left(s.summary, ?), '…') " +
+                "                          else s.summary end",
+                Item.SUMMARY_LENGTH, Item.SUMMARY_LENGTH);
+
+        if (items > 0) {
+            mainPageCache.invalidateAll();
+            catalogCountCache.markStale();
+            log.info("상품 요약 이관 완료 : {}건", items);
+        }
+    }
+}
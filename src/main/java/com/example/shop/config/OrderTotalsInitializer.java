@@ -0,0 +1,43 @@
+package com.example.shop.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * orders.total_price / line_count 컬럼이 생기기 전의 주문을 기동 시 채운다.
+ * - 아직 채워지지 않은(line_count = 0) 주문만 order_item 으로 한 번 계산
+ * - 주문 이력 조회 테이블 이관(OrderHistoryService.backfill) 보다 먼저 실행
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderTotalsInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void initialize() {
+        int orders = jdbcTemplate.update(
+                "update orders o set " +
+                "total_price = (select coalesce(sum(oi.order_price * oi.count), 0) " +
+                "               from order_item oi where oi.order_id = o.order_id), " +
+                "line_count = (select count(*) from order_item oi where oi.order_id = o.order_id) " +
+                "where o.line_count = 0");
+
+        int views = jdbcTemplate.update(
+                "update order_history_view v join orders o on o.order_id = v.order_id " +
+                "set v.total_price = o.total_price, v.line_count = o.line_count " +
+                "where v.line_count = 0 and o.line_count > 0");
+
+        if (orders > 0 || views > 0) {
+            log.info("주문 총액 이관 완료 : orders={}건, order_history_view={}건", orders, views);
+        }
+    }
+}
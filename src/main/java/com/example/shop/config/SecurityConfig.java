@@ -3,13 +3,17 @@ package com.example.shop.config;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.logout.LogoutHandler;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
 import org.springframework.security.web.util.matcher.AndRequestMatcher;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
@@ -18,7 +22,28 @@ import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 @Slf4j
 public class SecurityConfig {
 
+    // 업로드 이미지는 로그인/세션/CSRF 와 상관없는 공개 파일
+    // - 세션을 만들거나 읽지 않는(stateless) 체인으로 보내 이미지 요청마다 세션 조회를 하지 않는다.
+    // - 보안 헤더(X-Content-Type-Options: nosniff 등)는 그대로 붙인다. (업로드 파일을 다른 형식으로 해석하지 않도록)
+    // - Cache-Control 은 WebMvcConfig 의 이미지 캐시 설정을 쓴다.
     @Bean
+    @Order(1)
+    public SecurityFilterChain imageFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher("/images/**")
+                .authorizeHttpRequests(config -> config.anyRequest().permitAll())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .securityContext(context -> context.securityContextRepository(new RequestAttributeSecurityContextRepository()))
+                .requestCache(AbstractHttpConfigurer::disable)
+                .csrf(AbstractHttpConfigurer::disable)
+                .anonymous(AbstractHttpConfigurer::disable)
+                .headers(headers -> headers.cacheControl(HeadersConfigurer.CacheControlConfig::disable));
+
+        return http.build();
+    }
+
+    @Bean
+    @Order(2)
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
 
         log.info("---------------Security Filter Chain--------------------");
@@ -26,8 +51,8 @@ public class SecurityConfig {
         http
                 .authorizeHttpRequests(
                         config -> config
-                                .requestMatchers("/css/**", "/js/**", "/images/**" ).permitAll()
-                                .requestMatchers("/", "/members/**", "/item/**").permitAll()
+                                .requestMatchers("/css/**", "/js/**").permitAll()
+                                .requestMatchers("/", "/members/**", "/item/**", "/api/items/suggest").permitAll()
                                 .requestMatchers("/admin/**").hasRole("ADMIN")
                                 .anyRequest().authenticated()
                 );
@@ -0,0 +1,37 @@
+package com.example.shop.config;
+
+import com.example.shop.constant.StockStrategyType;
+import com.example.shop.repository.ItemRepository;
+import com.example.shop.service.ConditionalUpdateStockStrategy;
+import com.example.shop.service.LedgerStockStrategy;
+import com.example.shop.service.OptimisticStockStrategy;
+import com.example.shop.service.PessimisticStockStrategy;
+import com.example.shop.service.SoldOutRegistry;
+import com.example.shop.service.StockStrategy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Slf4j
+public class StockConfig {
+
+    //shop.stock.strategy 값으로 재고 차감 전략 선택
+    @Bean
+    public StockStrategy stockStrategy(ItemRepository itemRepository,
+                                       SoldOutRegistry soldOutRegistry,
+                                       EntityManager entityManager,
+                                       @Value("${shop.stock.strategy:LEDGER}") StockStrategyType type) {
+
+        log.info("재고 차감 전략 : {}", type);
+
+        return switch (type) {
+            case LEDGER -> new LedgerStockStrategy(itemRepository);
+            case PESSIMISTIC -> new PessimisticStockStrategy(itemRepository, soldOutRegistry, entityManager);
+            case OPTIMISTIC -> new OptimisticStockStrategy(itemRepository, soldOutRegistry);
+            case CONDITIONAL_UPDATE -> new ConditionalUpdateStockStrategy(itemRepository, soldOutRegistry);
+        };
+    }
+}
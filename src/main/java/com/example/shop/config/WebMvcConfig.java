@@ -4,27 +4,75 @@ package com.example.shop.config;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
 
+    //파일명이 내용 해시(SHA-256)인 상품 이미지 - FileService
+    private static final Pattern CONTENT_HASH = Pattern.compile("^([0-9a-f]{64})[._]");
+
     @Value("${uploadPath}")
     String uploadPath;
 
+    @Value("${shop.image.serving.max-age-days:365}")
+    long itemImgMaxAgeDays = 365;
+
+    @Value("${shop.image.serving.default-max-age-seconds:3600}")
+    long defaultMaxAgeSeconds = 3600;
+
 
     //http://localhost:8080/images/test.jpg  --> 이렇게 요청이 들어오면
     //c:/upload/item/test.jpg
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         // 정적 자원의 경로 매핑을 설정하기 위한 메서드 (Spring MVC에서 오버라이드하여 사용)
 
+        // 상품 이미지(원본, 크기별 사본)는 한 번 저장한 파일명의 내용이 바뀌지 않는다.
+        // (해시 파일명 / 이전 UUID 파일명 모두 교체 시 새 이름으로 저장)
+        // -> 1년 + immutable 로 캐시하고, 다시 확인할 때는 ETag / Last-Modified 로 304
+        // Range 요청(206)은 ResourceHttpRequestHandler 가 처리
+        registry.addResourceHandler("/images/item/**")
+                .addResourceLocations(uploadPath + "item/")
+                .setCacheControl(CacheControl.maxAge(itemImgMaxAgeDays, TimeUnit.DAYS).cachePublic().immutable())
+                .setEtagGenerator(WebMvcConfig::strongEtag)
+                .setUseLastModified(true);
+
         registry.addResourceHandler("/images/**")
                 // 웹 브라우저에서 "/images/파일명"으로 접근하면,
                 // 실제 파일이 저장된 위치(uploadPath)에 있는 파일을 제공하도록 매핑 설정
 
-                .addResourceLocations(uploadPath);
-        // 실제 파일이 저장된 물리적 경로 또는 URL 경로
-        // 예: "file:///C:/upload/" 또는 "classpath:/static/images/"
+                .addResourceLocations(uploadPath)
+                // 실제 파일이 저장된 물리적 경로 또는 URL 경로
+                // 예: "file:///C:/upload/" 또는 "classpath:/static/images/"
+
+                .setCacheControl(CacheControl.maxAge(defaultMaxAgeSeconds, TimeUnit.SECONDS).cachePublic())
+                .setEtagGenerator(WebMvcConfig::strongEtag)
+                .setUseLastModified(true);
+    }
+
+    /**
+     * 강한 ETag - 해시 파일명이면 해시 그대로 (파일을 다시 읽지 않음), 아니면 수정 시각 + 크기
+     */
+    static String strongEtag(Resource resource) {
+        String fileName = resource.getFilename();
+        if (fileName != null) {
+            var matcher = CONTENT_HASH.matcher(fileName);
+            if (matcher.find()) {
+                //사본({해시}_card.jpg)은 원본과 다른 파일이므로 이름 전체를 붙인다
+                return fileName.startsWith(matcher.group(1) + ".") ? matcher.group(1) : fileName;
+            }
+        }
+        try {
+            return Long.toHexString(resource.lastModified()) + "-" + Long.toHexString(resource.contentLength());
+        } catch (IOException e) {
+            return null;
+        }
     }
 }
@@ -0,0 +1,5 @@
+package com.example.shop.constant;
+
+public enum BulkCancelStatus {
+    RUNNING, COMPLETED, FAILED
+}
@@ -0,0 +1,24 @@
+package com.example.shop.constant;
+
+/**
+ * 상품 이미지 크기별 사본 - 긴 변을 maxSize 이하로 줄인다. (원본이 더 작으면 원본 그대로 사용)
+ */
+public enum ImgVariant {
+    CARD(400),    // 메인 카드, 장바구니, 주문 내역
+    DETAIL(800),  // 상품 상세
+    FULL(1600);   // 상세 이미지 크게 보기
+
+    private final int maxSize;
+
+    ImgVariant(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public String suffix() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.shop.constant;
+
+public enum ItemSortType {
+    NEWEST, PRICE_ASC, PRICE_DESC, BEST_SELLING
+}
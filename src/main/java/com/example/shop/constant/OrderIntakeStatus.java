@@ -0,0 +1,5 @@
+package com.example.shop.constant;
+
+public enum OrderIntakeStatus {
+    PENDING, COMPLETED, FAILED
+}
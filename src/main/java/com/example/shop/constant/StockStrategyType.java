@@ -0,0 +1,5 @@
+package com.example.shop.constant;
+
+public enum StockStrategyType {
+    LEDGER, PESSIMISTIC, OPTIMISTIC, CONDITIONAL_UPDATE
+}
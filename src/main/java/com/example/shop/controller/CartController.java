@@ -6,6 +6,7 @@ import com.example.shop.dto.CartItemDto;
 import com.example.shop.dto.CartOrderDto;
 import com.example.shop.entity.Cart;
 import com.example.shop.service.CartService;
+import com.example.shop.service.OrderIntakeService;
 
 // 유효성 검사 관련 import
 import jakarta.validation.Valid;
@@ -30,6 +31,7 @@ import java.util.List;
 public class CartController {
 
     private final CartService cartService; // 장바구니 서비스 객체 (비즈니스 로직 처리용)
+    private final OrderIntakeService orderIntakeService; // 비동기 주문 접수
 
     // 장바구니에 상품을 추가하는 POST 요청 처리
     @PostMapping(value = "/cart")
@@ -148,6 +150,16 @@ public class CartController {
 
         }
 
+        // 비동기 모드: 주문 큐에 넣고 접수 번호와 202 반환
+        if(orderIntakeService.isEnabled()) {
+            try {
+                String token = cartService.OrderCartItemAsync(cartOrderDtoList, principal.getName());
+                return new ResponseEntity<String>(token, HttpStatus.ACCEPTED);
+            } catch (IllegalStateException e) {
+                return new ResponseEntity<String>(e.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+            }
+        }
+
         Long orderId = cartService.OrderCartItem(cartOrderDtoList, principal.getName());
 
         return new ResponseEntity<Long>(orderId, HttpStatus.OK);
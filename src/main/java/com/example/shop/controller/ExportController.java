@@ -0,0 +1,91 @@
+package com.example.shop.controller;
+
+import com.example.shop.constant.ExportFormat;
+import com.example.shop.service.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 관리자 상품/주문 내보내기
+ * - 응답 스트림에 바로 쓴다. (결과를 메모리에 모으지 않음)
+ * - gzip=true 이면 .gz 파일로 압축해서 내려준다.
+ */
+@Controller
+@RequiredArgsConstructor
+public class ExportController {
+
+    private static final DateTimeFormatter FILE_DATE = DateTimeFormatter.ofPattern("yyyyMMddHHmm");
+
+    private final ExportService exportService;
+
+    @GetMapping(value = "/admin/export/items")
+    public void exportItems(@RequestParam(value = "format", defaultValue = "CSV") ExportFormat format,
+                            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+                            HttpServletResponse response) throws IOException {
+        stream(response, "items", format, gzip, out -> exportService.exportItems(format, out));
+    }
+
+    //기간별 주문 상품 (from 이상 ~ to 미만)
+    @GetMapping(value = "/admin/export/orders")
+    public void exportOrders(@RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                             @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                             @RequestParam(value = "format", defaultValue = "CSV") ExportFormat format,
+                             @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+                             HttpServletResponse response) throws IOException {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("조회 시작일은 종료일보다 앞서야 합니다.");
+        }
+        stream(response, "orders", format, gzip, out -> exportService.exportOrders(from, to, format, out));
+    }
+
+    //응답을 쓰기 전에 잘못된 요청만 400 으로 (쓰기 시작한 뒤에는 응답을 바꿀 수 없음)
+    @ExceptionHandler(IllegalArgumentException.class)
+    public @ResponseBody ResponseEntity<String> badRequest(IllegalArgumentException e) {
+        return new ResponseEntity<String>(e.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    /*
+        다 쓴 경우에만 스트림을 닫는다. (gzip trailer, chunked 응답의 마지막 chunk 는 이때 나감)
+        중간에 SQL/IO 오류가 나면 닫지 않고 예외를 그대로 던진다.
+        - 이미 200 으로 나간 응답이므로 컨테이너가 연결을 끊고, 클라이언트는 잘린 파일을 정상 완료로 받지 않는다.
+     */
+    private void stream(HttpServletResponse response, String name, ExportFormat format, boolean gzip,
+                        Export export) throws IOException {
+        OutputStream out = open(response, name, format, gzip);
+        export.writeTo(out);
+        out.close();
+    }
+
+    @FunctionalInterface
+    private interface Export {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    private OutputStream open(HttpServletResponse response, String name, ExportFormat format,
+                              boolean gzip) throws IOException {
+        String extension = format == ExportFormat.NDJSON ? ".ndjson" : ".csv";
+        String fileName = name + "_" + LocalDateTime.now().format(FILE_DATE) + extension + (gzip ? ".gz" : "");
+
+        response.setContentType(gzip ? "application/gzip"
+                : format == ExportFormat.NDJSON ? "application/x-ndjson" : "text/csv;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+
+        OutputStream out = response.getOutputStream();
+        return gzip ? new GZIPOutputStream(out, 8192) : out;
+    }
+}
@@ -1,9 +1,14 @@
 package com.example.shop.controller;
 
+import com.example.shop.dto.CacheStatsDto;
+import com.example.shop.dto.CursorPage;
 import com.example.shop.dto.ItemFormDto;
 import com.example.shop.dto.ItemSearchDto;
+import com.example.shop.dto.ItemSuggestDto;
 import com.example.shop.entity.Item;
+import com.example.shop.service.ItemImgVariantService;
 import com.example.shop.service.ItemService;
+import com.example.shop.service.ItemSuggestIndex;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +16,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -18,6 +25,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -29,6 +37,8 @@ import java.util.Optional;
 public class ItemController {
 
     private final ItemService itemService;
+    private final ItemSuggestIndex itemSuggestIndex;
+    private final ItemImgVariantService itemImgVariantService;
 
     @GetMapping("/admin/item/new")
     public String itemForm(Model model) {
@@ -107,7 +117,26 @@ public class ItemController {
 
     @GetMapping(value = {"/admin/items", "/admin/items/{page}"})
     public String itemManage(ItemSearchDto itemSearchDto,
-                             @PathVariable("page") Optional<Integer> page, Model model) {
+                             @PathVariable("page") Optional<Integer> page,
+                             @RequestParam(value = "cursor", required = false) String cursor,
+                             @RequestParam(value = "dir", defaultValue = "next") String dir,
+                             Model model) {
+
+        // cursor 파라미터가 있으면 커서(keyset) 방식 (빈 값이면 첫 페이지)
+        if (cursor != null) {
+            CursorPage<Item> items;
+            try {
+                items = itemService.getAdminItemScroll(itemSearchDto, cursor, "prev".equals(dir), 3);
+            } catch (IllegalArgumentException e) {
+                items = itemService.getAdminItemScroll(itemSearchDto, null, false, 3);
+            }
+
+            model.addAttribute("items", items);
+            model.addAttribute("itemSearchDto", itemSearchDto);
+            model.addAttribute("cursorMode", true);
+
+            return "item/itemMng";
+        }
 
         log.info("-----------/admin/items or /admin/items/{page}------------");
         //전달 받은 page 값이 있으면 그 값을 사용하고, 전달 받은 페이지가 없으면
@@ -118,6 +147,7 @@ public class ItemController {
 
         model.addAttribute("items", items);
         model.addAttribute("itemSearchDto", itemSearchDto);
+        model.addAttribute("cursorMode", false);
         model.addAttribute("maxPage", 5);
 
         return  "item/itemMng";
@@ -135,4 +165,25 @@ public class ItemController {
         return "item/itemDtl";
     }
 
-}
\ No newline at end of file
+    //상품 상세 캐시 적중/미스/제거 건수 (캐시 크기 조정용)
+    @GetMapping(value = "/admin/cache/item-detail")
+    public @ResponseBody CacheStatsDto itemDetailCacheStats() {
+        return itemService.getItemDetailCacheStats();
+    }
+
+    //기존 이미지 크기별 사본 만들기 - 대기 상태로 바꾼 건수 반환 (생성은 백그라운드)
+    @PostMapping(value = "/admin/images/variants/backfill")
+    public @ResponseBody ResponseEntity<Integer> backfillImgVariants() {
+        return new ResponseEntity<Integer>(itemImgVariantService.backfill(), HttpStatus.ACCEPTED);
+    }
+
+    //검색어 자동완성 - 메모리 트라이에서만 조회 (DB 조회 없음)
+    @GetMapping(value = "/api/items/suggest")
+    public @ResponseBody ResponseEntity<List<ItemSuggestDto>> suggest(
+            @RequestParam(value = "q", defaultValue = "") String q,
+            @RequestParam(value = "size", defaultValue = "10") int size) {
+        return new ResponseEntity<List<ItemSuggestDto>>(
+                itemSuggestIndex.suggest(q, Math.max(size, 0)), HttpStatus.OK);
+    }
+
+}
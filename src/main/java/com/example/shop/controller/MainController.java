@@ -1,5 +1,7 @@
 package com.example.shop.controller;
 
+import com.example.shop.dto.CacheStatsDto;
+import com.example.shop.dto.CursorPage;
 import com.example.shop.dto.ItemSearchDto;
 import com.example.shop.dto.MainItemDto;
 import com.example.shop.service.ItemService;
@@ -11,7 +13,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 
+import java.util.List;
 import java.util.Optional;
 @Slf4j
 @Controller
@@ -22,7 +27,31 @@ public class MainController {
 
     @GetMapping(value = "/")
     public String main(ItemSearchDto itemSearchDto,
-                       Optional<Integer> page, Model model) {
+                       Optional<Integer> page,
+                       @RequestParam(value = "cursor", required = false) String cursor,
+                       @RequestParam(value = "dir", defaultValue = "next") String dir,
+                       Model model) {
+
+        //검색 색인은 요청당 한 번만 - 목록과 조건별 건수에 같이 넘긴다
+        List<Long> searchIds = itemService.searchMainItemIds(itemSearchDto);
+
+        // cursor 파라미터가 있으면 커서(keyset) 방식 - 몇 번째 페이지든 같은 비용 (빈 값이면 첫 페이지)
+        if (cursor != null) {
+            CursorPage<MainItemDto> items;
+            try {
+                items = itemService.getMainItemScroll(itemSearchDto, cursor, "prev".equals(dir), 6, searchIds);
+            } catch (IllegalArgumentException e) {
+                //정렬 기준이 바뀌었거나 잘못된 커서면 첫 페이지부터
+                items = itemService.getMainItemScroll(itemSearchDto, null, false, 6, searchIds);
+            }
+
+            model.addAttribute("items", items);
+            model.addAttribute("itemSearchDto", itemSearchDto);
+            model.addAttribute("cursorMode", true);
+            model.addAttribute("facets", itemService.getMainFacets(itemSearchDto, searchIds));
+
+            return "main";
+        }
 
         Pageable pageable = PageRequest.of(
                 page.orElse(0), 6
@@ -32,15 +61,23 @@ public class MainController {
         log.info("MainController: pageable: {}", pageable.getOffset());
         log.info("MainController: pageable: {}", pageable.getPageSize());
 
-        Page<MainItemDto> items = itemService.getMainItemPage(itemSearchDto, pageable);
+        Page<MainItemDto> items = itemService.getMainItemPage(itemSearchDto, pageable, searchIds);
 
         log.info("MainController: items number: {}", items.getNumber());
 
         model.addAttribute("items", items);
         model.addAttribute("itemSearchDto", itemSearchDto);
+        model.addAttribute("cursorMode", false);
+        model.addAttribute("facets", itemService.getMainFacets(itemSearchDto, searchIds));
         model.addAttribute("maxPage", 5);
 
 
         return "main";
     }
+
+    //메인 페이지 캐시 적중/미스/제거 건수 (캐시 크기 조정용)
+    @GetMapping(value = "/admin/cache/main")
+    public @ResponseBody CacheStatsDto mainPageCacheStats() {
+        return itemService.getMainPageCacheStats();
+    }
 }
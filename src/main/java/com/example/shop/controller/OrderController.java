@@ -1,8 +1,18 @@
 package com.example.shop.controller; // 컨트롤러 클래스가 위치한 패키지 경로
 
+import com.example.shop.dto.BulkCancelDto;
+import com.example.shop.dto.BulkCancelJobDto;
+import com.example.shop.dto.CursorPage;
 import com.example.shop.dto.OrderDto; // 주문 정보를 담는 DTO 클래스 import
 import com.example.shop.dto.OrderHisDto;
+import com.example.shop.dto.OrderResultDto;
+import com.example.shop.dto.OrderSummaryDto;
+import com.example.shop.service.AdmissionGate;
+import com.example.shop.service.OrderBulkCancelService;
+import com.example.shop.service.OrderIntakeService;
 import com.example.shop.service.OrderService; // 주문 비즈니스 로직을 처리하는 서비스 클래스 import
+import com.example.shop.service.SoldOutRegistry;
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid; // 요청 데이터의 유효성 검사를 위한 어노테이션
 import lombok.RequiredArgsConstructor; // final 필드 생성자 자동 생성 어노테이션
 import lombok.extern.slf4j.Slf4j; // 로깅 기능 제공 어노테이션
@@ -10,6 +20,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus; // HTTP 상태 코드 사용을 위한 클래스
 import org.springframework.http.ResponseEntity; // HTTP 응답 데이터를 담는 객체
 import org.springframework.stereotype.Controller; // Spring MVC 컨트롤러임을 나타내는 어노테이션
@@ -17,10 +28,13 @@ import org.springframework.ui.Model; // 뷰(View)로 데이터 전달 시 사용
 import org.springframework.validation.BindingResult; // 유효성 검사 결과를 담는 객체
 import org.springframework.validation.FieldError; // 필드 단위 유효성 오류 정보를 담는 객체
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.security.Principal; // 로그인한 사용자의 정보를 담는 객체
+import java.time.LocalDateTime;
 import java.util.List; // 리스트 자료형 import
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Controller // 해당 클래스를 Spring MVC에서 컨트롤러로 인식하도록 지정
 @RequiredArgsConstructor // final 필드에 대해 생성자를 자동 생성 (orderService 주입)
@@ -28,6 +42,10 @@ import java.util.Optional;
 public class OrderController {
 
     private final OrderService orderService; // 주문 비즈니스 로직을 수행할 서비스 객체
+    private final OrderIntakeService orderIntakeService; // 비동기 주문 접수 (shop.order.async.enabled)
+    private final SoldOutRegistry soldOutRegistry; // 품절 비트맵
+    private final AdmissionGate admissionGate; // 한정 판매 입장 제어 (shop.order.admission.enabled)
+    private final OrderBulkCancelService orderBulkCancelService; // 관리자 일괄 주문 취소
 
     @PostMapping("/order") // "/order" 경로로 POST 요청이 들어오면 이 메서드가 실행됨
     public @ResponseBody ResponseEntity<?> order(
@@ -49,21 +67,80 @@ public class OrderController {
             return new ResponseEntity<String>(sb.toString(), HttpStatus.BAD_REQUEST); // 400 상태와 함께 에러 메시지 반환
         }
 
+        // 품절 비트가 켜진 상품은 주문 처리 전에 거절 (비트는 힌트 - 원장/DB 재고로 한 번 더 확인)
+        if (soldOutRegistry.confirmSoldOut(orderDto.getItemId())) {
+            return new ResponseEntity<String>("품절된 상품입니다.", HttpStatus.BAD_REQUEST);
+        }
+
         String email = principal.getName(); // 로그인한 사용자의 이메일을 가져옴
+
+        // 비동기 모드: 큐에 넣고 접수 번호와 202 반환 (결과는 /order/result/{token} 으로 조회)
+        if (orderIntakeService.isEnabled()) {
+            try {
+                String token = orderIntakeService.submit(email, List.of(orderDto), null);
+                return new ResponseEntity<String>(token, HttpStatus.ACCEPTED);
+            } catch (IllegalStateException e) {
+                return new ResponseEntity<String>(e.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+            }
+        }
+
+        // 입장 제어: 남은 재고만큼만 주문 처리에 들여보내고 나머지는 순서대로 대기
+        if (admissionGate.isEnabled() && !enter(orderDto)) {
+            return new ResponseEntity<String>("구매 대기 인원이 많습니다. 잠시 후 다시 시도해 주세요.",
+                    HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
         Long orderId = 0L; // 주문 ID 초기화
+        boolean ordered = false;
         try {
             orderId = orderService.order(orderDto, email); // 주문 생성 로직 호출 (주문 DTO와 사용자 이메일 전달)
+            ordered = true;
         } catch (Exception e) {
             return new ResponseEntity<String>(e.getMessage(), HttpStatus.BAD_REQUEST); // 예외 발생 시 400 상태와 에러 메시지 반환
+        } finally {
+            if (admissionGate.isEnabled()) {
+                admissionGate.leave(orderDto.getItemId(), orderDto.getCount(), ordered);
+            }
         }
 
         return new ResponseEntity<Long>(orderId, HttpStatus.OK); // 주문 성공 시 주문 ID와 200 OK 상태 반환
     }
 
+    private boolean enter(OrderDto orderDto) {
+        try {
+            return admissionGate.enter(orderDto.getItemId(), orderDto.getCount());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
     @GetMapping(value = {"/orders","/orders/{page}"})
     public String orderHist(@PathVariable("page") Optional<Integer> page,
+                            @RequestParam(value = "cursor", required = false) String cursor,
+                            @RequestParam(value = "dir", defaultValue = "next") String dir,
                             Principal principal,
                             Model model) {
+
+        // cursor 파라미터가 있으면 커서(keyset) 방식, 없으면 기존 페이지 번호 방식
+        if (cursor != null) {
+            CursorPage<OrderHisDto> orderScroll;
+            try {
+                orderScroll = orderService.getOrderScroll(principal.getName(), cursor, "prev".equals(dir), 4);
+            } catch (IllegalArgumentException e) {
+                // 변조되거나 형식이 맞지 않는 커서는 첫 페이지로
+                log.info("잘못된 주문 이력 커서, 첫 페이지를 보여줍니다. : {}", cursor);
+                orderScroll = orderService.getOrderScroll(principal.getName(), null, false, 4);
+            }
+
+            model.addAttribute("orders", orderScroll);
+            model.addAttribute("orderSummary", orderService.getOrderSummary(principal.getName()));
+            model.addAttribute("cursorMode", true);
+            model.addAttribute("page", 0);
+
+            return "order/orderHist";
+        }
+
         Pageable pageable =
                 PageRequest.of(page.isPresent()?page.get():0, 4);
 
@@ -71,6 +148,8 @@ public class OrderController {
                 orderService.getOrderList(principal.getName(), pageable);
 
         model.addAttribute("orders", orderHisDtoList);
+        model.addAttribute("orderSummary", orderService.getOrderSummary(principal.getName()));
+        model.addAttribute("cursorMode", false);
         model.addAttribute("page", pageable.getPageNumber());
         model.addAttribute("maxPage", 5);
 
@@ -78,6 +157,33 @@ public class OrderController {
     }
 
 
+    // 비동기 주문 처리 결과 조회 (폴링)
+    @GetMapping(value = "/order/result/{token}")
+    public @ResponseBody ResponseEntity<?> orderResult(@PathVariable("token") String token) {
+        OrderResultDto result = orderIntakeService.getResult(token);
+
+        if (result == null) {
+            return new ResponseEntity<String>("존재하지 않는 주문 접수 번호입니다.", HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<OrderResultDto>(result, HttpStatus.OK);
+    }
+
+    // 비동기 주문 처리 결과 구독 (롱 폴링: 처리되면 바로 응답, 최대 10초 대기 후 PENDING 응답)
+    @GetMapping(value = "/order/result/{token}/wait")
+    public @ResponseBody DeferredResult<ResponseEntity<?>> waitOrderResult(@PathVariable("token") String token) {
+        DeferredResult<ResponseEntity<?>> deferred = new DeferredResult<>(10_000L,
+                new ResponseEntity<OrderResultDto>(OrderResultDto.pending(token), HttpStatus.OK));
+
+        CompletableFuture<OrderResultDto> future = orderIntakeService.subscribe(token);
+        if (future == null) {
+            deferred.setResult(new ResponseEntity<String>("존재하지 않는 주문 접수 번호입니다.", HttpStatus.NOT_FOUND));
+            return deferred;
+        }
+
+        future.thenAccept(result -> deferred.setResult(new ResponseEntity<OrderResultDto>(result, HttpStatus.OK)));
+        return deferred;
+    }
+
     //주문취소
     @PostMapping(value = "/order/{orderId}/cancel")
     public @ResponseBody ResponseEntity<?> cancelOrder(@PathVariable("orderId") Long orderId,
@@ -91,4 +197,32 @@ public class OrderController {
 
     }
 
+    //관리자 일괄 주문 취소 - 작업 ID 반환 (진행 상황은 GET 으로 조회)
+    @PostMapping(value = "/admin/orders/cancel")
+    public @ResponseBody ResponseEntity<?> bulkCancel(@RequestBody BulkCancelDto bulkCancelDto) {
+        try {
+            Long jobId = orderBulkCancelService.start(bulkCancelDto);
+            return new ResponseEntity<Long>(jobId, HttpStatus.ACCEPTED);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<String>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    //관리자 기간별 주문 합계 (from 이상 ~ to 미만)
+    @GetMapping(value = "/admin/orders/summary")
+    public @ResponseBody ResponseEntity<OrderSummaryDto> salesSummary(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return new ResponseEntity<OrderSummaryDto>(orderService.getSalesSummary(from, to), HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/admin/orders/cancel/{jobId}")
+    public @ResponseBody ResponseEntity<?> bulkCancelProgress(@PathVariable("jobId") Long jobId) {
+        try {
+            return new ResponseEntity<BulkCancelJobDto>(orderBulkCancelService.getJob(jobId), HttpStatus.OK);
+        } catch (EntityNotFoundException e) {
+            return new ResponseEntity<String>("존재하지 않는 작업입니다.", HttpStatus.NOT_FOUND);
+        }
+    }
+
 }
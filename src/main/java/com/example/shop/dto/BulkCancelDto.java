@@ -0,0 +1,26 @@
+package com.example.shop.dto;
+
+import com.example.shop.constant.OrderStatus;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 일괄 주문 취소 요청
+ * - orderIds 가 있으면 해당 주문만, 없으면 주문일 범위(from 이상 ~ to 미만)로 대상 선택
+ */
+@Getter@Setter
+@ToString
+public class BulkCancelDto {
+
+    private List<Long> orderIds;
+
+    private LocalDateTime from;
+
+    private LocalDateTime to;
+
+    private OrderStatus orderStatus = OrderStatus.ORDER; //취소 대상 주문 상태
+}
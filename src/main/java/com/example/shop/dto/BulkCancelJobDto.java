@@ -0,0 +1,39 @@
+package com.example.shop.dto;
+
+import com.example.shop.constant.BulkCancelStatus;
+import com.example.shop.entity.BulkCancelJob;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 일괄 주문 취소 진행 상황
+ */
+@Getter
+@ToString
+public class BulkCancelJobDto {
+
+    private final Long jobId;
+
+    private final BulkCancelStatus status;
+
+    private final long totalCount;     //대상 주문 수 (시작 시점 기준)
+
+    private final long processedCount; //확인한 주문 수
+
+    private final long canceledCount;  //실제로 취소한 주문 수
+
+    private final int progress;        //진행률(%)
+
+    private final String errorMessage;
+
+    public BulkCancelJobDto(BulkCancelJob job) {
+        this.jobId = job.getId();
+        this.status = job.getStatus();
+        this.totalCount = job.getTotalCount();
+        this.processedCount = job.getProcessedCount();
+        this.canceledCount = job.getCanceledCount();
+        this.progress = job.getTotalCount() == 0 ? 100
+                : (int) Math.min(100, job.getProcessedCount() * 100 / job.getTotalCount());
+        this.errorMessage = job.getErrorMessage();
+    }
+}
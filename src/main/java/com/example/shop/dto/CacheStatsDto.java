@@ -0,0 +1,33 @@
+package com.example.shop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 캐시 사용 통계 (크기 조정용)
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class CacheStatsDto {
+
+    private long hits;
+
+    private long misses;
+
+    private long evictions;     //용량 초과로 밀려난 항목 수 (입장 거절 포함)
+
+    private long rejections;    //빈도가 낮아 메인 영역에 들어가지 못한 항목 수
+
+    private long invalidations; //상품 변경으로 지운 항목 수
+
+    private int size;
+
+    private int maxSize;
+
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
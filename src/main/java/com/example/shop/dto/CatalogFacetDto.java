@@ -0,0 +1,42 @@
+package com.example.shop.dto;
+
+import com.example.shop.constant.ItemSellStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 메인 페이지 검색 조건별 상품 수 (판매 상태, 등록일, 가격대)
+ * - 각 항목의 건수는 그 항목 자신의 조건만 빼고 나머지 조건을 적용한 건수
+ *   (예: 판매 상태별 건수는 판매 상태를 골라도 다른 상태 건수가 그대로 보인다)
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class CatalogFacetDto {
+
+    private long total; //모든 조건을 만족하는 상품 수
+
+    private long inStock; //그중 재고가 있는 상품 수
+
+    private Map<ItemSellStatus, Long> statusCounts;
+
+    private Map<String, Long> regDateCounts; //searchDateType(1d, 1w, 1m, 6m, all) -> 건수 (누적)
+
+    private List<PriceBucket> priceBuckets;
+
+    @Getter
+    @AllArgsConstructor
+    @ToString
+    public static class PriceBucket {
+
+        private int from; //이상
+
+        private int to;   //이하
+
+        private long count;
+    }
+}
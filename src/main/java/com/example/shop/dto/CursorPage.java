@@ -0,0 +1,34 @@
+package com.example.shop.dto;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 커서(keyset) 방식 페이지 결과
+ * - 전체 건수(count) 없이 한 건 더 읽어서(look-ahead) 다음/이전 페이지 존재 여부를 판단
+ */
+@Getter
+@ToString
+public class CursorPage<T> {
+
+    private final List<T> content;
+
+    private final String prevCursor; //이전(더 최신) 페이지 요청 시 사용할 커서
+
+    private final String nextCursor; //다음(더 과거) 페이지 요청 시 사용할 커서
+
+    private final boolean hasPrev;
+
+    private final boolean hasNext;
+
+    public CursorPage(List<T> content, String prevCursor, String nextCursor,
+                      boolean hasPrev, boolean hasNext) {
+        this.content = content;
+        this.prevCursor = prevCursor;
+        this.nextCursor = nextCursor;
+        this.hasPrev = hasPrev;
+        this.hasNext = hasNext;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.shop.dto;
+
+import com.example.shop.constant.ItemSortType;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 상품 목록 커서 (정렬 기준, 정렬 값, 상품 ID)
+ * - 정렬 값은 가격/판매량 (최신순은 상품 ID 만 사용하므로 null)
+ * - 화면에는 Base64 문자열로만 노출
+ */
+@Getter
+public class ItemCursor {
+
+    private final ItemSortType sort;
+
+    private final Integer sortValue;
+
+    private final Long itemId;
+
+    public ItemCursor(ItemSortType sort, Integer sortValue, Long itemId) {
+        this.sort = sort;
+        this.sortValue = sortValue;
+        this.itemId = itemId;
+    }
+
+    public String encode() {
+        String raw = sort + "|" + (sortValue == null ? "" : sortValue) + "|" + itemId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 다른 정렬 기준으로 만든 커서면 IllegalArgumentException
+     */
+    public static ItemCursor decode(String cursor, ItemSortType sort) {
+        ItemCursor itemCursor;
+        try {
+            String[] raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split("\\|", -1);
+            itemCursor = new ItemCursor(ItemSortType.valueOf(raw[0]),
+                    raw[1].isEmpty() ? null : Integer.valueOf(raw[1]),
+                    Long.valueOf(raw[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서 입니다. : " + cursor, e);
+        }
+
+        if (itemCursor.sort != sort) {
+            throw new IllegalArgumentException("정렬 기준이 다른 커서 입니다. : " + cursor);
+        }
+        return itemCursor;
+    }
+}
@@ -56,4 +56,18 @@ public class ItemFormDto {
     public static ItemFormDto of(Item item){
         return modelMapper.map(item, ItemFormDto.class);
     }
+
+    //캐시된 상세 정보 복사 (이미지 DTO 는 읽기 전용으로 공유)
+    public ItemFormDto copy(){
+        ItemFormDto copy = new ItemFormDto();
+        copy.setId(id);
+        copy.setItemNm(itemNm);
+        copy.setPrice(price);
+        copy.setStockNumber(stockNumber);
+        copy.setItemDetail(itemDetail);
+        copy.setItemSellStatus(itemSellStatus);
+        copy.setItemImgDtoList(new ArrayList<>(itemImgDtoList));
+        copy.setItemImgIds(new ArrayList<>(itemImgIds));
+        return copy;
+    }
 }
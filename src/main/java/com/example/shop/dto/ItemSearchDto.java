@@ -1,10 +1,14 @@
 package com.example.shop.dto;
 
 import com.example.shop.constant.ItemSellStatus;
+import com.example.shop.constant.ItemSortType;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 
+import java.time.LocalDateTime;
+import java.util.Locale;
+
 @Getter@Setter
 @ToString
 public class ItemSearchDto {
@@ -17,4 +21,54 @@ public class ItemSearchDto {
 
     private String searchQuery = "";
 
+    private Integer minPrice; //최소 가격 (이상)
+
+    private Integer maxPrice; //최대 가격 (이하)
+
+    private ItemSortType sort; //정렬 (없으면 최신순, 검색어가 있으면 검색 점수순)
+
+    /**
+     * 정렬 기준 - 지정하지 않으면 최신순
+     */
+    public ItemSortType sortOrDefault() {
+        return sort == null ? ItemSortType.NEWEST : sort;
+    }
+
+    /**
+     * 등록일 조건의 기준 시각 (이 시각 이후 등록된 상품) - "all" 이거나 없으면 null
+     */
+    public static LocalDateTime regTimeAfter(String searchDateType, LocalDateTime now) {
+        if (searchDateType == null) {
+            return null;
+        }
+        return switch (searchDateType) {
+            case "1d" -> now.minusDays(1);
+            case "1w" -> now.minusWeeks(1);
+            case "1m" -> now.minusMonths(1);
+            case "6m" -> now.minusMonths(6);
+            default -> null;
+        };
+    }
+
+    /**
+     * 앞뒤 공백 제거, 연속 공백 하나로, 소문자로 바꾼 검색어 (캐시 키/비교용)
+     */
+    public String normalizedQuery() {
+        return searchQuery == null ? ""
+                : searchQuery.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 같은 검색 결과를 내는 조건이면 같은 값 (페이지 번호 제외)
+     */
+    public String cacheKey() {
+        return String.join("|",
+                normalizedQuery(),
+                String.valueOf(searchBy),
+                String.valueOf(searchDateType),
+                String.valueOf(itemSellStatus),
+                String.valueOf(minPrice),
+                String.valueOf(maxPrice),
+                String.valueOf(sort));
+    }
 }
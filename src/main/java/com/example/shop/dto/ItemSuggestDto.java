@@ -0,0 +1,19 @@
+package com.example.shop.dto;
+
+import lombok.Getter;
+
+/**
+ * 검색어 자동완성 결과 (상품 ID, 상품명)
+ */
+@Getter
+public class ItemSuggestDto {
+
+    private final Long id;
+
+    private final String itemNm;
+
+    public ItemSuggestDto(Long id, String itemNm) {
+        this.id = id;
+        this.itemNm = itemNm;
+    }
+}
@@ -10,17 +10,28 @@ public class MainItemDto {
 
     private Long id;
     private String itemNm;
-    private String itemDetail;
+    private String itemSummary; //상세 설명 요약 (LOB 아님)
     private String imgUrl;
     private Integer price;
 
+    private int salesCount; //판매량 (판매량순 정렬 커서용)
+
+    private boolean soldOut; //품절 여부 (SoldOutRegistry)
+
     @QueryProjection // Querydsl 결과 조회 나온 결과를 MainItemDto 객체로 전달 받음
-    public  MainItemDto(Long id, String itemNm, String itemDetail,
+    public  MainItemDto(Long id, String itemNm, String itemSummary,
                         String itemUrl, Integer price) {
         this.id = id;
         this.itemNm = itemNm;
-        this.itemDetail = itemDetail;
+        this.itemSummary = itemSummary;
         this.imgUrl = itemUrl;
         this.price = price;
     }
+
+    @QueryProjection
+    public  MainItemDto(Long id, String itemNm, String itemSummary,
+                        String itemUrl, Integer price, int salesCount) {
+        this(id, itemNm, itemSummary, itemUrl, price);
+        this.salesCount = salesCount;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.example.shop.dto;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 주문 이력 커서 (orderDate, orderId)
+ * - 화면에는 Base64 문자열로만 노출 (클라이언트는 내용을 알 필요 없음)
+ */
+@Getter
+public class OrderCursor {
+
+    private final LocalDateTime orderDate;
+
+    private final Long orderId;
+
+    public OrderCursor(LocalDateTime orderDate, Long orderId) {
+        this.orderDate = orderDate;
+        this.orderId = orderId;
+    }
+
+    public String encode() {
+        String raw = orderDate + "|" + orderId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int idx = raw.indexOf('|');
+            return new OrderCursor(LocalDateTime.parse(raw.substring(0, idx)),
+                    Long.valueOf(raw.substring(idx + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서 입니다. : " + cursor, e);
+        }
+    }
+}
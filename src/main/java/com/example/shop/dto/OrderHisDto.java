@@ -6,6 +6,7 @@ import com.example.shop.constant.OrderStatus;
 
 // 주문 엔티티 클래스 import
 import com.example.shop.entity.Order;
+import com.example.shop.entity.OrderHistoryView;
 
 // Lombok 라이브러리로, getter 자동 생성
 import lombok.Getter;
@@ -38,6 +39,11 @@ public class OrderHisDto {
     // 주문 상태 (enum 타입: 예 - ORDER, CANCEL)
     private OrderStatus orderStatus;
 
+    // 주문 총액, 주문 상품 수 (orders 에 저장된 값)
+    private int totalPrice;
+
+    private int lineCount;
+
     // 주문한 상품들의 리스트 (OrderItemDto 객체로 구성)
     private List<OrderItemDto> orderItemDtoList = new ArrayList<>();
 
@@ -56,6 +62,28 @@ public class OrderHisDto {
 
         // 주문 상태(enum)를 그대로 저장
         this.orderStatus = order.getOrderStatus();
+
+        this.totalPrice = order.getTotalPrice();
+        this.lineCount = order.getLineCount();
+    }
+
+    /**
+     * 주문 이력 조회 테이블의 한 행을 DTO로 변환 (주문 상품 목록 포함)
+     * @param view 주문 이력 조회 테이블 행
+     */
+    public OrderHisDto(OrderHistoryView view) {
+        this.orderId = view.getOrderId();
+
+        this.orderDate = view.getOrderDate().format(
+                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")
+        );
+
+        this.orderStatus = view.getOrderStatus();
+
+        this.totalPrice = view.getTotalPrice();
+        this.lineCount = view.getLineCount();
+
+        this.orderItemDtoList = new ArrayList<>(view.getOrderItems());
     }
 
     /**
@@ -3,23 +3,26 @@ package com.example.shop.dto;
 
 import com.example.shop.entity.OrderItem;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
 @Setter @Getter
 @ToString
+@NoArgsConstructor // 주문 이력 조회 테이블(JSON)에서 읽어올 때 사용
 public class OrderItemDto {
 
+    private Long itemId; //상품 코드 (대표 이미지는 조회할 때 item_card 에서 채운다)
     private String itemNm; //상품명
     private int count; //주문 수량
     private int orderPrice; //주문 금액
-    private String imgUrl; //상품 이미지 경로
+    private String imgUrl; //상품 이미지 경로 (주문 이력 조회 테이블에는 저장하지 않음)
 
-    public OrderItemDto(OrderItem orderItem, String imgUrl) {
+    public OrderItemDto(OrderItem orderItem) {
 
+        this.itemId = orderItem.getItem().getId();
         this.itemNm = orderItem.getItem().getItemNm();
         this.count = orderItem.getCount();
-        this.imgUrl = imgUrl;
         this.orderPrice = orderItem.getOrderPrice();
 
     }
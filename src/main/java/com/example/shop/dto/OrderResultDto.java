@@ -0,0 +1,40 @@
+package com.example.shop.dto;
+
+import com.example.shop.constant.OrderIntakeStatus;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 비동기 주문 처리 결과
+ */
+@Getter
+@ToString
+public class OrderResultDto {
+
+    private final String token;
+
+    private final OrderIntakeStatus status;
+
+    private final Long orderId; //COMPLETED 일 때 주문 번호
+
+    private final String message; //FAILED 일 때 실패 사유
+
+    private OrderResultDto(String token, OrderIntakeStatus status, Long orderId, String message) {
+        this.token = token;
+        this.status = status;
+        this.orderId = orderId;
+        this.message = message;
+    }
+
+    public static OrderResultDto pending(String token) {
+        return new OrderResultDto(token, OrderIntakeStatus.PENDING, null, null);
+    }
+
+    public static OrderResultDto completed(String token, Long orderId) {
+        return new OrderResultDto(token, OrderIntakeStatus.COMPLETED, orderId, null);
+    }
+
+    public static OrderResultDto failed(String token, String message) {
+        return new OrderResultDto(token, OrderIntakeStatus.FAILED, null, message);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.shop.dto;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 주문 합계 (SQL 집계 결과) - 주문 수, 주문 총액, 주문 상품 수
+ */
+@Getter
+@ToString
+public class OrderSummaryDto {
+
+    private final long orderCount;
+
+    private final long totalPrice;
+
+    private final long lineCount;
+
+    public OrderSummaryDto(Long orderCount, Long totalPrice, Long lineCount) {
+        this.orderCount = orderCount == null ? 0 : orderCount;
+        this.totalPrice = totalPrice == null ? 0 : totalPrice;
+        this.lineCount = lineCount == null ? 0 : lineCount;
+    }
+}
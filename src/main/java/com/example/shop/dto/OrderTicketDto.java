@@ -0,0 +1,29 @@
+package com.example.shop.dto;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 비동기 주문 접수 큐에 들어가는 주문 요청
+ */
+@Getter
+@ToString
+public class OrderTicketDto {
+
+    private final String token; //주문 접수 번호 (결과 조회용)
+
+    private final String email;
+
+    private final List<OrderDto> orderDtoList;
+
+    private final List<Long> cartItemIds; //장바구니 주문이면 주문 완료 후 삭제할 장바구니 상품
+
+    public OrderTicketDto(String token, String email, List<OrderDto> orderDtoList, List<Long> cartItemIds) {
+        this.token = token;
+        this.email = email;
+        this.orderDtoList = orderDtoList;
+        this.cartItemIds = cartItemIds;
+    }
+}
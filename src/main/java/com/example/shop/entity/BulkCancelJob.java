@@ -0,0 +1,102 @@
+package com.example.shop.entity;
+
+import com.example.shop.constant.BulkCancelStatus;
+import com.example.shop.dto.BulkCancelDto;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 일괄 주문 취소 작업
+ * - 청크를 처리할 때마다 같은 트랜잭션에서 마지막 주문 ID(lastOrderId)를 기록
+ * - 서버가 중간에 내려가도 RUNNING 작업은 기동 시 lastOrderId 다음부터 이어서 처리
+ */
+@Entity
+@Table(name = "bulk_cancel_job")
+@Getter@Setter
+@ToString
+public class BulkCancelJob extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "bulk_cancel_job_id")
+    @TableGenerator(name = "bulk_cancel_job_id", table = "id_sequence",
+            pkColumnName = "seq_name", valueColumnName = "next_val",
+            pkColumnValue = "bulk_cancel_job", allocationSize = 50)
+    @Column(name = "bulk_cancel_job_id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private BulkCancelStatus status;
+
+    //주문 ID 목록 (오름차순, 콤마 구분) - 비어 있으면 주문일 범위로 선택
+    @Column(columnDefinition = "longtext")
+    @ToString.Exclude
+    private String orderIds;
+
+    private LocalDateTime fromDate;
+
+    private LocalDateTime toDate;
+
+    private long lastOrderId; //여기까지 처리 완료 (체크포인트)
+
+    private long totalCount;
+
+    private long processedCount;
+
+    private long canceledCount;
+
+    @Column(length = 1000)
+    private String errorMessage;
+
+    public static BulkCancelJob createJob(BulkCancelDto bulkCancelDto, long totalCount) {
+        BulkCancelJob job = new BulkCancelJob();
+        job.setStatus(BulkCancelStatus.RUNNING);
+        job.setFromDate(bulkCancelDto.getFrom());
+        job.setToDate(bulkCancelDto.getTo());
+        job.setTotalCount(totalCount);
+
+        if (bulkCancelDto.getOrderIds() != null && !bulkCancelDto.getOrderIds().isEmpty()) {
+            job.setOrderIds(bulkCancelDto.getOrderIds().stream()
+                    .distinct()
+                    .sorted()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(",")));
+        }
+        return job;
+    }
+
+    public boolean hasOrderIds() {
+        return orderIds != null && !orderIds.isEmpty();
+    }
+
+    //체크포인트 이후의 주문 ID를 최대 size 개
+    public List<Long> nextOrderIds(int size) {
+        return Arrays.stream(orderIds.split(","))
+                .map(Long::valueOf)
+                .filter(orderId -> orderId > lastOrderId)
+                .limit(size)
+                .toList();
+    }
+
+    public void progress(long lastOrderId, Collection<Long> scanned, int canceled) {
+        this.lastOrderId = lastOrderId;
+        this.processedCount += scanned.size();
+        this.canceledCount += canceled;
+    }
+
+    public void complete() {
+        this.status = BulkCancelStatus.COMPLETED;
+    }
+
+    public void fail(String errorMessage) {
+        this.status = BulkCancelStatus.FAILED;
+        this.errorMessage = errorMessage;
+    }
+}
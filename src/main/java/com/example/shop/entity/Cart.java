@@ -6,13 +6,17 @@ import lombok.Setter;
 import lombok.ToString;
 
 @Entity
-@Table(name="cart")
+@Table(name="cart",
+        indexes = @Index(name = "idx_cart_member", columnList = "member_id")) // 회원별 장바구니 조회
 @Getter@Setter
 @ToString
 public class Cart extends BaseEntity{
     @Id
     @Column(name="cart_id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "cart_id")
+    @TableGenerator(name = "cart_id", table = "id_sequence",
+            pkColumnName = "seq_name", valueColumnName = "next_val",
+            pkColumnValue = "cart", allocationSize = 50)
     private Long id;
 
     @OneToOne(fetch = FetchType.LAZY)
@@ -8,11 +8,16 @@ import lombok.ToString;
 @Entity
 @Getter@Setter
 @ToString
-@Table(name="cart_item")
+@Table(name="cart_item",
+        indexes = @Index(name = "idx_cart_item_cart_item", // 장바구니 목록/같은 상품 담기 조회
+                columnList = "cart_id, item_id"))
 public class CartItem  extends BaseEntity{
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "cart_item_id")
+    @TableGenerator(name = "cart_item_id", table = "id_sequence",
+            pkColumnName = "seq_name", valueColumnName = "next_val",
+            pkColumnValue = "cart_item", allocationSize = 50)
     @Column(name="cart_item_id")
     private Long id;
 
@@ -0,0 +1,25 @@
+package com.example.shop.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * 이미지 파일 참조 수 (내용 주소 저장소)
+ * - 파일명은 내용의 SHA-256 이므로 같은 사진은 한 파일을 여러 ItemImg 가 함께 쓴다.
+ * - 마지막 참조가 풀릴 때만 파일을 지운다. (FileService)
+ */
+@Entity
+@Table(name = "img_file_ref")
+@Getter@Setter
+@ToString
+public class ImgFileRef {
+
+    @Id
+    @Column(name = "img_name", length = 100)
+    private String imgName;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+}
@@ -9,6 +9,9 @@ import com.example.shop.dto.ItemFormDto;
 // 재고가 부족할 때 발생시키는 커스텀 예외
 import com.example.shop.exception.OutOfStockException;
 
+// 메모리 재고 원장
+import com.example.shop.service.StockLedger;
+
 // JPA 관련 어노테이션
 import jakarta.persistence.*;
 
@@ -16,6 +19,7 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
@@ -24,15 +28,30 @@ import java.time.LocalDateTime;
  * 테이블명: item
  */
 @Entity
-@Table(name = "item")
+@Table(name = "item",
+        indexes = {
+                @Index(name = "idx_item_status_reg", // 관리자 상품 목록 (판매 상태 + 등록일 조건)
+                        columnList = "item_sell_status, reg_time"),
+                @Index(name = "idx_item_price", // 가격순 정렬/가격 범위 + 커서 페이징
+                        columnList = "price, item_id"),
+                @Index(name = "idx_item_sales", // 판매량순 정렬 + 커서 페이징
+                        columnList = "sales_count, item_id")
+        })
 @Getter  // 모든 필드에 대해 getter 메소드 자동 생성
 @Setter  // 모든 필드에 대해 setter 메소드 자동 생성
 @ToString // toString 메소드 자동 생성
+@DynamicUpdate // 변경된 컬럼만 update (재고 원장이 반영한 stock_number 를 덮어쓰지 않도록)
 public class Item extends BaseEntity { // BaseEntity: 등록일, 수정일, 등록자, 수정자 등 공통 필드 상속
 
+    public static final int SUMMARY_LENGTH = 100; // 목록용 요약 최대 글자 수
+
     // -------------------- [기본 키 설정] --------------------
     @Id  // 기본 키(PK) 지정
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // AUTO_INCREMENT 방식
+    // 시퀀스 테이블(id_sequence)에서 50개씩 미리 할당 -> insert 배치 가능
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "item_id")
+    @TableGenerator(name = "item_id", table = "id_sequence",
+            pkColumnName = "seq_name", valueColumnName = "next_val",
+            pkColumnValue = "item", allocationSize = 50)
     @Column(name="item_id") // 실제 DB 컬럼명
     private Long id;  // 상품 고유 코드 (PK)
 
@@ -47,12 +66,25 @@ public class Item extends BaseEntity { // BaseEntity: 등록일, 수정일, 등
     private int stockNumber; // 현재 재고 수량
 
     @Lob  // CLOB 또는 TEXT 컬럼으로 매핑됨 (길이가 긴 문자열에 적합)
+    @Basic(fetch = FetchType.LAZY) // 상세 화면/수정 폼에서 읽을 때만 조회 (바이트코드 향상 필요, build.gradle)
     @Column(nullable = false)
+    @ToString.Exclude // toString 호출로 LOB 이 조회되지 않도록
     private String itemDetail; // 상품 상세 설명
 
+    @Column(length = SUMMARY_LENGTH + 1)
+    private String itemSummary; // 목록용 상세 설명 요약 (itemDetail 저장 시 함께 계산)
+
     @Enumerated(EnumType.STRING) // Enum을 문자열로 DB에 저장
     private ItemSellStatus itemSellStatus; // 상품 판매 상태 (SELL, SOLD_OUT 등)
 
+    // 판매량순 정렬용 누적 판매 수량 - 주문마다 갱신하지 않고 SalesCountRefresher 가 커밋된 증감분을 주기적으로 반영
+    @Column(name = "sales_count", nullable = false, columnDefinition = "int default 0")
+    private int salesCount;
+
+    @Version // 낙관적 락(OPTIMISTIC 재고 전략)에서 충돌 감지용
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     // -------------------- [연관 관계는 따로 없음] --------------------
     // 이 Item 클래스 자체는 OrderItem과의 직접적인 연관관계를 선언하지 않음.
     // 연관 관계의 주인은 OrderItem 쪽임.
@@ -70,8 +102,33 @@ public class Item extends BaseEntity { // BaseEntity: 등록일, 수정일, 등
         this.itemNm = itemFormDto.getItemNm();              // 이름 수정
         this.price = itemFormDto.getPrice();                // 가격 수정
         this.stockNumber = itemFormDto.getStockNumber();    // 재고 수정
-        this.itemDetail = itemFormDto.getItemDetail();      // 상세 설명 수정
+        setItemDetail(itemFormDto.getItemDetail());         // 상세 설명 + 요약 수정
         this.itemSellStatus = itemFormDto.getItemSellStatus(); // 판매 상태 수정
+
+        StockLedger ledger = StockLedger.current();
+        if (ledger != null && this.id != null) {
+            ledger.reset(this.id, this.stockNumber); // 원장 카운터도 수정된 재고로 맞춤
+        }
+    }
+
+    /**
+     * 상세 설명 변경 시 목록용 요약도 함께 계산
+     * (ModelMapper 도 setter 로 값을 넣으므로 등록 시에도 적용됨)
+     */
+    public void setItemDetail(String itemDetail) {
+        this.itemDetail = itemDetail;
+        this.itemSummary = summarize(itemDetail);
+    }
+
+    /**
+     * 상세 설명을 공백 정리 후 SUMMARY_LENGTH 글자로 자른다.
+     */
+    public static String summarize(String itemDetail) {
+        if (itemDetail == null) {
+            return null;
+        }
+        String summary = itemDetail.trim().replaceAll("\\s+", " ");
+        return summary.length() <= SUMMARY_LENGTH ? summary : summary.substring(0, SUMMARY_LENGTH) + "…";
     }
 
     // -------------------- [비즈니스 로직: 재고 감소] --------------------
@@ -79,8 +136,15 @@ public class Item extends BaseEntity { // BaseEntity: 등록일, 수정일, 등
      * 재고 감소 메소드
      * - 주문 시 사용
      * - 재고가 부족할 경우 예외 발생
+     * - 재고 원장이 활성화되어 있으면 원장에서 예약하고, DB 반영은 원장이 배치로 처리
      */
     public void removeStock(int stockNumber) {
+        StockLedger ledger = StockLedger.current();
+        if (ledger != null && this.id != null) {
+            ledger.reserve(this.id, stockNumber, this.stockNumber);
+            return;
+        }
+
         int restStock = this.stockNumber - stockNumber; // 차감 후 잔여 재고 계산
 
         if(restStock < 0) {
@@ -93,6 +157,12 @@ public class Item extends BaseEntity { // BaseEntity: 등록일, 수정일, 등
     }
 
     public void addStock(int stockNumber) {
+        StockLedger ledger = StockLedger.current();
+        if (ledger != null && this.id != null) {
+            ledger.release(this.id, stockNumber, this.stockNumber);
+            return;
+        }
+
         this.stockNumber += stockNumber;
     }
 }
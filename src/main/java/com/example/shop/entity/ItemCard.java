@@ -0,0 +1,86 @@
+package com.example.shop.entity;
+
+import com.example.shop.constant.ItemSellStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 상품 목록 화면 전용 조회 테이블 (읽기 모델)
+ * - 상품 1개 = 1행, 대표 이미지 경로와 짧은 설명을 미리 넣어 둔다.
+ * - 메인/장바구니/주문 이력 화면이 item_img 조인 없이 이 테이블만 읽는다.
+ * - 상품/대표 이미지를 저장할 때 ItemCardService 가 같은 트랜잭션에서 갱신
+ */
+@Entity
+@Table(name = "item_card",
+        indexes = {
+                @Index(name = "idx_item_card_price", columnList = "price, item_id"), // 가격순 + 커서 페이징
+                @Index(name = "idx_item_card_sales", columnList = "sales_count, item_id") // 판매량순 + 커서 페이징
+        })
+@Getter@Setter
+@ToString
+public class ItemCard implements Persistable<Long> {
+
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Column(nullable = false, length = 50)
+    private String itemNm;
+
+    @Column(length = Item.SUMMARY_LENGTH + 1)
+    private String itemSummary; //상세 설명 요약 (Item.itemSummary)
+
+    private int price;
+
+    @Column(name = "sales_count", nullable = false, columnDefinition = "int default 0")
+    private int salesCount; //판매량 (Item.salesCount)
+
+    @Enumerated(EnumType.STRING)
+    private ItemSellStatus itemSellStatus;
+
+    private String imgUrl; //대표 이미지 경로
+
+    private LocalDateTime regTime;
+
+    //ID를 직접 넣으므로 save() 시 merge(select) 대신 persist 하도록 신규 여부를 직접 관리
+    @Transient
+    @ToString.Exclude
+    private boolean newCard = true;
+
+    @Override
+    public Long getId() {
+        return itemId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newCard;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newCard = false;
+    }
+
+    public static ItemCard of(Item item) {
+        ItemCard card = new ItemCard();
+        card.setItemId(item.getId());
+        card.update(item);
+        return card;
+    }
+
+    public void update(Item item) {
+        this.itemNm = item.getItemNm();
+        this.itemSummary = item.getItemSummary(); //LOB(itemDetail)은 읽지 않는다
+        this.price = item.getPrice();
+        this.salesCount = item.getSalesCount();
+        this.itemSellStatus = item.getItemSellStatus();
+        this.regTime = item.getRegTime() != null ? item.getRegTime() : LocalDateTime.now();
+    }
+}
@@ -1,17 +1,27 @@
 package com.example.shop.entity;
 
+import com.example.shop.constant.ImgVariantStatus;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
 @Entity
 @Getter@Setter
-@Table(name = "item_img")
+@Table(name = "item_img",
+        indexes = {
+                @Index(name = "idx_item_img_item_rep", // 상품별 이미지/대표 이미지 조회
+                        columnList = "item_id, repimg_yn"),
+                @Index(name = "idx_item_img_variant", // 썸네일 생성 대기/재시도 대상
+                        columnList = "variant_status, item_img_id")
+        })
 public class ItemImg extends BaseEntity{
 
     @Id
     @Column(name="item_img_id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "item_img_id")
+    @TableGenerator(name = "item_img_id", table = "id_sequence",
+            pkColumnName = "seq_name", valueColumnName = "next_val",
+            pkColumnValue = "item_img", allocationSize = 50)
     private Long id;
 
     private String imgName; //이미지 파일명
@@ -22,6 +32,20 @@ public class ItemImg extends BaseEntity{
 
     private String repimgYn; //대표이미지 여부
 
+    //크기별 사본 (업로드 커밋 후 ItemImgVariantService 가 백그라운드에서 만든다)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "variant_status", length = 10)
+    private ImgVariantStatus variantStatus;
+
+    @Column(name = "variant_attempts", nullable = false, columnDefinition = "int default 0")
+    private int variantAttempts;
+
+    private String cardImgUrl;   //긴 변 400px
+
+    private String detailImgUrl; //긴 변 800px
+
+    private String fullImgUrl;   //긴 변 1600px
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name="item_id")
     private Item item;
@@ -30,5 +54,12 @@ public class ItemImg extends BaseEntity{
         this.imgName = imgName;
         this.imgUrl = imgUrl;
         this.oriImgName = oriImgName;
+
+        //이미지가 바뀌면 사본을 다시 만든다
+        this.variantStatus = imgName == null || imgName.isEmpty() ? null : ImgVariantStatus.PENDING;
+        this.variantAttempts = 0;
+        this.cardImgUrl = null;
+        this.detailImgUrl = null;
+        this.fullImgUrl = null;
     }
 }
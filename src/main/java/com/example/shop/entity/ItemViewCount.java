@@ -0,0 +1,26 @@
+package com.example.shop.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * 상품 상세 조회수 (상세 캐시 미리 채우기용)
+ * - item 행은 재고 차감으로 쓰기가 잦으므로 조회수는 별도 테이블에 둔다.
+ * - 조회할 때마다 쓰지 않고 ItemDetailCache 가 메모리에 모았다가 주기적으로 더한다.
+ */
+@Entity
+@Table(name = "item_view_count",
+        indexes = @Index(name = "idx_item_view_count", columnList = "view_count")) // 조회수 상위 N개
+@Getter@Setter
+@ToString
+public class ItemViewCount {
+
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Column(name = "view_count", nullable = false)
+    private long viewCount;
+}
@@ -17,7 +17,10 @@ public class Member  extends BaseEntity{
 
     @Id
     @Column(name = "member_id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "member_id")
+    @TableGenerator(name = "member_id", table = "id_sequence",
+            pkColumnName = "seq_name", valueColumnName = "next_val",
+            pkColumnValue = "member", allocationSize = 50)
     private Long id;
 
     private String name;
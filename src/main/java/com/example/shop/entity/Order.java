@@ -14,13 +14,20 @@ import lombok.ToString;
 import java.time.LocalDateTime; // 날짜/시간 관련 클래스
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiConsumer;
 
 /**
  * 주문 정보를 담는 JPA 엔티티 클래스
  * 테이블 이름은 'order'가 SQL 예약어이므로 'orders'로 지정
  */
 @Entity // JPA에서 엔티티로 인식하도록 설정
-@Table(name = "orders") // 테이블 이름을 "orders"로 명시
+@Table(name = "orders", // 테이블 이름을 "orders"로 명시
+        indexes = {
+                @Index(name = "idx_orders_member_date", // 회원별 주문 이력 조회/커서 페이징용
+                        columnList = "member_id, order_date, order_id"),
+                @Index(name = "idx_orders_date_status", // 관리자 기간별 주문 합계
+                        columnList = "order_date, order_status")
+        })
 @Getter // Lombok: 모든 필드의 getter 메서드 자동 생성
 @Setter // Lombok: 모든 필드의 setter 메서드 자동 생성
 //@ToString // 순환 참조 방지를 위해 주석 처리됨
@@ -28,7 +35,11 @@ public class Order extends BaseEntity { // 등록일, 수정일, 등록자, 수
 
     // -------------------- [기본 키] --------------------
     @Id // 기본 키(PK) 필드임을 명시
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // DB에서 자동으로 ID 증가
+    // 시퀀스 테이블(id_sequence)에서 50개씩 미리 할당 -> insert 배치 가능
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "orders_id")
+    @TableGenerator(name = "orders_id", table = "id_sequence",
+            pkColumnName = "seq_name", valueColumnName = "next_val",
+            pkColumnValue = "orders", allocationSize = 50)
     @Column(name="order_id") // 테이블의 컬럼명을 "order_id"로 지정
     private Long id; // 주문 번호 (기본 키)
 
@@ -50,6 +61,13 @@ public class Order extends BaseEntity { // 등록일, 수정일, 등록자, 수
     @Enumerated(EnumType.STRING) // enum 타입을 문자열로 저장 (예: "ORDER", "CANCEL")
     private OrderStatus orderStatus; // 주문 상태 (enum)
 
+    // 주문 총액/주문 상품 수 - 주문 상품을 읽지 않고 목록·합계를 SQL 로 계산하기 위해 저장
+    @Column(name = "total_price", nullable = false, columnDefinition = "int default 0")
+    private int totalPrice;
+
+    @Column(name = "line_count", nullable = false, columnDefinition = "int default 0")
+    private int lineCount;
+
     // -------------------- [비즈니스 로직] --------------------
 
     /**
@@ -59,6 +77,9 @@ public class Order extends BaseEntity { // 등록일, 수정일, 등록자, 수
     public void addOrderitem(OrderItem orderItem) {
         orderItems.add(orderItem);       // 리스트에 OrderItem 추가
         orderItem.setOrder(this);        // OrderItem 입장에서도 이 Order를 참조하도록 설정
+
+        totalPrice += orderItem.getTotalPrice(); // 저장된 총액/상품 수도 함께 갱신
+        lineCount++;
     }
 
     /**
@@ -84,9 +105,9 @@ public class Order extends BaseEntity { // 등록일, 수정일, 등록자, 수
 
     /**
      * 주문 전체 금액 계산 메서드
-     * - 각 주문 항목의 금액을 합산하여 반환
+     * - 각 주문 항목의 금액을 합산하여 반환 (주문 상품을 모두 읽으므로 저장된 totalPrice 검증용)
      */
-    public int getTotalPrice() {
+    public int calculateTotalPrice() {
         int totalPrice = 0; // 합계 초기값
         for (OrderItem orderItem : orderItems) {
             totalPrice += orderItem.getTotalPrice(); // 각 주문 항목의 금액을 누적
@@ -94,6 +115,11 @@ public class Order extends BaseEntity { // 등록일, 수정일, 등록자, 수
         return totalPrice; // 총합 반환
     }
 
+    /*
+        주문 취소는 주문 상품을 지우지 않고 상태만 CANCEL 로 바꾸므로
+        totalPrice/lineCount 는 주문 당시 값 그대로 유지한다.
+        (매출 등 합계는 orderStatus = ORDER 조건으로 집계)
+     */
     public void cancelOrder() {
         orderStatus = OrderStatus.CANCEL;
 
@@ -102,4 +128,15 @@ public class Order extends BaseEntity { // 등록일, 수정일, 등록자, 수
         }
     }
 
+    /**
+     * 주문 취소 - 재고 복구 방법을 외부(StockStrategy)에서 지정
+     */
+    public void cancelOrder(BiConsumer<Item, Integer> stockRestorer) {
+        orderStatus = OrderStatus.CANCEL;
+
+        for (OrderItem orderItem : orderItems) {
+            stockRestorer.accept(orderItem.getItem(), orderItem.getCount());
+        }
+    }
+
 }
@@ -0,0 +1,84 @@
+package com.example.shop.entity;
+
+import com.example.shop.constant.OrderStatus;
+import com.example.shop.dto.OrderItemDto;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 주문 이력 화면 전용 조회 테이블 (읽기 모델)
+ * - 주문 1건 = 1행, 주문 상품 목록은 JSON 으로 함께 저장
+ * - 주문/취소 시점에 OrderHistoryService 가 채운다.
+ */
+@Entity
+@Table(name = "order_history_view",
+        indexes = @Index(name = "idx_order_history_member_date",
+                columnList = "member_id, order_date, order_id"))
+@Getter@Setter
+@ToString
+public class OrderHistoryView implements Persistable<Long> {
+
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "member_id")
+    private Long memberId;
+
+    @Column(name = "order_date")
+    private LocalDateTime orderDate;
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus orderStatus;
+
+    @Column(name = "total_price", nullable = false, columnDefinition = "int default 0")
+    private int totalPrice;
+
+    @Column(name = "line_count", nullable = false, columnDefinition = "int default 0")
+    private int lineCount;
+
+    //상품 코드, 상품명, 주문 가격, 수량 (대표 이미지는 조회할 때 item_card 에서)
+    @Convert(converter = OrderItemDtoListConverter.class)
+    @Column(columnDefinition = "text")
+    private List<OrderItemDto> orderItems = new ArrayList<>();
+
+    //ID를 직접 넣으므로 save() 시 merge(select) 대신 persist 하도록 신규 여부를 직접 관리
+    @Transient
+    @ToString.Exclude
+    private boolean newView = true;
+
+    @Override
+    public Long getId() {
+        return orderId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newView;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newView = false;
+    }
+
+    public static OrderHistoryView of(Order order, List<OrderItemDto> orderItems) {
+        OrderHistoryView view = new OrderHistoryView();
+        view.setOrderId(order.getId());
+        view.setMemberId(order.getMember() == null ? null : order.getMember().getId());
+        view.setOrderDate(order.getOrderDate());
+        view.setOrderStatus(order.getOrderStatus());
+        view.setTotalPrice(order.getTotalPrice());
+        view.setLineCount(order.getLineCount());
+        view.setOrderItems(orderItems);
+        return view;
+    }
+}
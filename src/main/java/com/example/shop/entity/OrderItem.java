@@ -23,7 +23,11 @@ public class OrderItem extends BaseEntity { // BaseEntity로부터 등록일, 
 
     // -------------------- [기본 키] --------------------
     @Id
-    @GeneratedValue // 기본 키 자동 생성 (strategy = AUTO 기본)
+    // 시퀀스 테이블(id_sequence)에서 50개씩 미리 할당 -> insert 배치 가능
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_item_id")
+    @TableGenerator(name = "order_item_id", table = "id_sequence",
+            pkColumnName = "seq_name", valueColumnName = "next_val",
+            pkColumnValue = "order_item", allocationSize = 50)
     @Column(name="order_item_id") // 컬럼명 지정
     private Long id; // 주문 상세 고유 ID (PK)
 
@@ -51,14 +55,24 @@ public class OrderItem extends BaseEntity { // BaseEntity로부터 등록일, 
      * - 내부적으로: 가격 설정 + 재고 차감
      */
     public static OrderItem createOrderItem(Item item, int count) {
+        OrderItem orderItem = createPricedOrderItem(item, count);
+
+        item.removeStock(count);               // 재고 차감 (Item 클래스 내부 로직 호출)
+
+        return orderItem;
+    }
+
+    /**
+     * 재고 차감 없이 주문 상세만 생성
+     * - 재고는 이미 StockStrategy 에서 차감된 경우 사용
+     */
+    public static OrderItem createPricedOrderItem(Item item, int count) {
         OrderItem orderItem = new OrderItem(); // 객체 생성
 
         orderItem.setItem(item);               // 상품 지정
         orderItem.setCount(count);             // 수량 지정
         orderItem.setOrderPrice(item.getPrice()); // 주문 당시 상품 가격 설정
 
-        item.removeStock(count);               // 재고 차감 (Item 클래스 내부 로직 호출)
-
         return orderItem;
     }
 
@@ -0,0 +1,51 @@
+package com.example.shop.entity;
+
+import com.example.shop.dto.OrderItemDto;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * List<OrderItemDto> <===> JSON 문자열 변환 (order_history_view.order_items)
+ * - 대표 이미지 경로는 이미지 교체 후 지워진 파일을 가리킬 수 있으므로 저장하지 않는다.
+ *   (조회할 때 item_card 의 현재 경로로 채움, 이전에 저장된 값은 읽기만 함)
+ */
+@Converter
+public class OrderItemDtoListConverter implements AttributeConverter<List<OrderItemDto>, String> {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .addMixIn(OrderItemDto.class, StoredOrderItem.class);
+
+    private static final TypeReference<List<OrderItemDto>> TYPE = new TypeReference<>() { };
+
+    @Override
+    public String convertToDatabaseColumn(List<OrderItemDto> orderItems) {
+        try {
+            return objectMapper.writeValueAsString(orderItems);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("주문 상품 목록을 JSON 으로 변환할 수 없습니다.", e);
+        }
+    }
+
+    @Override
+    public List<OrderItemDto> convertToEntityAttribute(String json) {
+        if (json == null || json.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try {
+            return objectMapper.readValue(json, TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("주문 상품 목록 JSON 을 읽을 수 없습니다.", e);
+        }
+    }
+
+    @JsonIgnoreProperties(value = "imgUrl", allowSetters = true)
+    private interface StoredOrderItem {
+    }
+}
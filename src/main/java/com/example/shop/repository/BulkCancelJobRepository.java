@@ -0,0 +1,22 @@
+package com.example.shop.repository;
+
+import com.example.shop.constant.BulkCancelStatus;
+import com.example.shop.entity.BulkCancelJob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface BulkCancelJobRepository extends JpaRepository<BulkCancelJob, Long> {
+
+    List<BulkCancelJob> findByStatus(BulkCancelStatus status);
+
+    //같은 작업을 두 곳에서 동시에 처리하지 않도록 작업 행을 잠근다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select j from BulkCancelJob j where j.id = :jobId")
+    Optional<BulkCancelJob> findByIdForUpdate(@Param("jobId") Long jobId);
+}
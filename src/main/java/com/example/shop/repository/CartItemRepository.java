@@ -13,12 +13,10 @@ public interface CartItemRepository extends JpaRepository<CartItem, Long> {
 
 
     @Query("select new com.example.shop.dto.CartDetailDto(" +
-            "ci.id, i.itemNm,i.price, ci.count, im.imgUrl) " +
-            "from CartItem ci, ItemImg im " +
-            "join ci.item i " +
+            "ci.id, c.itemNm, c.price, ci.count, c.imgUrl) " +
+            "from CartItem ci, ItemCard c " +
             "where ci.cart.id = :cartId " +
-            "and im.item.id = ci.item.id " +
-            "and im.repimgYn = 'Y' " +
+            "and c.itemId = ci.item.id " +
             "order by ci.regTime desc"
             )
     List<CartDetailDto> findCartDetailDtolist(Long cartId);
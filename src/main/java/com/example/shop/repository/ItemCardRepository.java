@@ -0,0 +1,7 @@
+package com.example.shop.repository;
+
+import com.example.shop.entity.ItemCard;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ItemCardRepository extends JpaRepository<ItemCard, Long> {
+}
@@ -3,6 +3,7 @@ package com.example.shop.repository;
 import com.example.shop.entity.ItemImg;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemImgRepository extends JpaRepository<ItemImg, Long> {
@@ -11,5 +12,8 @@ public interface ItemImgRepository extends JpaRepository<ItemImg, Long> {
 
      //대표이미지 검색
      ItemImg findByItemIdAndRepimgYn(Long itemId, String repimgYn);
+
+     //여러 상품의 대표이미지를 한 번에 검색
+     List<ItemImg> findByItemIdInAndRepimgYn(Collection<Long> itemIds, String repimgYn);
      
 }
@@ -1,12 +1,16 @@
 package com.example.shop.repository;
 
 import com.example.shop.entity.Item;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long>,
         QuerydslPredicateExecutor<Item>, ItemRepositoryCustom {
@@ -25,6 +29,26 @@ public interface ItemRepository extends JpaRepository<Item, Long>,
     @Query(value = "select * from item where item_detail " +
             "like %:itemDetail% order by price desc", nativeQuery = true)
     List<Item> findByItemDetailByNative(@Param("itemDetail") String itemDetail);
+
+    //비관적 락 -> select ... for update
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = :itemId")
+    Optional<Item> findByIdForUpdate(@Param("itemId") Long itemId);
+
+    //조건부 차감 -> 재고가 충분할 때만 1건 update, 부족하면 0건
+    @Modifying
+    @Query("update Item i set i.stockNumber = i.stockNumber - :count, i.version = i.version + 1 " +
+            "where i.id = :itemId and i.stockNumber >= :count")
+    int decreaseStock(@Param("itemId") Long itemId, @Param("count") int count);
+
+    @Modifying
+    @Query("update Item i set i.stockNumber = i.stockNumber + :count, i.version = i.version + 1 " +
+            "where i.id = :itemId")
+    int increaseStock(@Param("itemId") Long itemId, @Param("count") int count);
+
+    //현재 재고만 조회 (같은 트랜잭션의 update 결과가 보임)
+    @Query("select i.stockNumber from Item i where i.id = :itemId")
+    Integer findStockNumber(@Param("itemId") Long itemId);
 }
 
 
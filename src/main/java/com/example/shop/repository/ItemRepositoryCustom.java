@@ -1,10 +1,14 @@
 package com.example.shop.repository;
 
+import com.example.shop.dto.ItemCursor;
 import com.example.shop.dto.ItemSearchDto;
 import com.example.shop.dto.MainItemDto;
 import com.example.shop.entity.Item;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
 
 public interface ItemRepositoryCustom {
 
@@ -13,4 +17,25 @@ public interface ItemRepositoryCustom {
 
     Page<MainItemDto> getMainItemPage(ItemSearchDto itemSearchDto,
                                       Pageable pageable);
+
+    //count 없이 pageSize + 1 건을 읽어 다음 페이지 여부만 판단
+    Slice<Item> getAdminItemSlice(ItemSearchDto itemSearchDto, Pageable pageable);
+
+    Slice<MainItemDto> getMainItemSlice(ItemSearchDto itemSearchDto, Pageable pageable);
+
+    long countAdminItems(ItemSearchDto itemSearchDto);
+
+    long countMainItems(ItemSearchDto itemSearchDto);
+
+    //검색 색인 결과(점수 순 상품 ID)로 검색어 조건을 대신하는 조회
+    Page<Item> getAdminItemPage(ItemSearchDto itemSearchDto, Pageable pageable, List<Long> rankedIds);
+
+    Page<MainItemDto> getMainItemPage(ItemSearchDto itemSearchDto, Pageable pageable, List<Long> rankedIds);
+
+    //커서(keyset) 조회 - 정렬 기준 인덱스에서 커서 다음 위치부터 limit 건 (prev 면 역순으로 읽음)
+    List<Item> getAdminItemScroll(ItemSearchDto itemSearchDto, ItemCursor cursor, boolean prev, int limit);
+
+    //itemIds 가 있으면 그 상품 중에서만 (검색 색인 결과)
+    List<MainItemDto> getMainItemScroll(ItemSearchDto itemSearchDto, List<Long> itemIds,
+                                        ItemCursor cursor, boolean prev, int limit);
 }
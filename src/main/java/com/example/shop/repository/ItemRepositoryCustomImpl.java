@@ -1,59 +1,73 @@
 package com.example.shop.repository;
 
 import com.example.shop.constant.ItemSellStatus;
+import com.example.shop.constant.ItemSortType;
+import com.example.shop.dto.ItemCursor;
 import com.example.shop.dto.ItemSearchDto;
 import com.example.shop.dto.MainItemDto;
 import com.example.shop.dto.QMainItemDto;
 import com.example.shop.entity.Item;
 import com.example.shop.entity.QItem;
-import com.example.shop.entity.QItemImg;
-import com.querydsl.core.QueryResults;
+import com.example.shop.entity.QItemCard;
+import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.DateTimePath;
+import com.querydsl.core.types.dsl.EnumPath;
+import com.querydsl.core.types.dsl.NumberPath;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.thymeleaf.util.StringUtils;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.example.shop.entity.QItem.item;
+import static com.example.shop.entity.QItemCard.itemCard;
 
 @Slf4j
 public class ItemRepositoryCustomImpl implements ItemRepositoryCustom {
 
+    //검색 색인 결과를 IN 조건으로 넘길 때 한 번에 넘기는 상품 ID 수
+    private static final int ID_CHUNK = 1000;
+
     private JPAQueryFactory queryFactory;
 
     public ItemRepositoryCustomImpl(EntityManager em) {
         queryFactory = new JPAQueryFactory(em);
     }
 
-    private BooleanExpression searchSellStatusEq(ItemSellStatus itemSellStatus) {
+    private BooleanExpression searchSellStatusEq(EnumPath<ItemSellStatus> sellStatus, ItemSellStatus itemSellStatus) {
         return itemSellStatus == null ?
                 null :
-                item.itemSellStatus.eq(itemSellStatus);
+                sellStatus.eq(itemSellStatus);
     }
 
-    private BooleanExpression regDtsAfter(String searchDateType) {
+    private BooleanExpression regDtsAfter(DateTimePath<LocalDateTime> regTime, String searchDateType) {
 
-        LocalDateTime dateTime = LocalDateTime.now();
+        LocalDateTime dateTime = ItemSearchDto.regTimeAfter(searchDateType, LocalDateTime.now());
 
-        if (StringUtils.equals("all", searchDateType) || searchDateType == null) {
-            return null;
-        } else if (StringUtils.equals("1d", searchDateType)) {
-            dateTime = dateTime.minusDays(1);
-        }else if (StringUtils.equals("1w", searchDateType)) {
-            dateTime = dateTime.minusWeeks(1);
-        }else if (StringUtils.equals("1m", searchDateType)) {
-            dateTime = dateTime.minusMonths(1);
-        }else if (StringUtils.equals("6m", searchDateType)) {
-            dateTime = dateTime.minusDays(6);
-        }
+        return dateTime == null ? null : regTime.after(dateTime);
+    }
 
-        return item.regTime.after(dateTime);
+    //가격 범위 (min 이상 ~ max 이하)
+    private BooleanExpression[] priceBetween(NumberPath<Integer> price, Integer minPrice, Integer maxPrice) {
+        return new BooleanExpression[]{
+                minPrice == null ? null : price.goe(minPrice),
+                maxPrice == null ? null : price.loe(maxPrice)
+        };
     }
 
     private BooleanExpression searchByLike(String searchBy, String searchQuery) {
@@ -76,68 +90,369 @@ public class ItemRepositoryCustomImpl implements ItemRepositoryCustom {
         log.info("searchByLike(itemSearchDto.getSearchBy(), itemSearchDto.getSearchQuery()) : {}",
                 searchByLike(itemSearchDto.getSearchBy(), itemSearchDto.getSearchQuery()));
 
-        // where 조건
-        BooleanExpression dateCondition = regDtsAfter(itemSearchDto.getSearchDateType());
-        BooleanExpression sellStatusCondition = searchSellStatusEq(itemSearchDto.getItemSellStatus());
-        BooleanExpression searchByCondition = searchByLike(itemSearchDto.getSearchBy(), itemSearchDto.getSearchQuery());
-
         // 실제 데이터 조회
         List<Item> content = queryFactory
                 .selectFrom(item)
-                .where(dateCondition, sellStatusCondition, searchByCondition)
-                .orderBy(item.id.desc())
+                .where(adminConditions(itemSearchDto))
+                .orderBy(adminSortKey(itemSearchDto.sortOrDefault()).orderBy(false))
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
                 .fetch();
 
         // 전체 건수 조회
-        long total = queryFactory
+        long total = countAdminItems(itemSearchDto);
+
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public Slice<Item> getAdminItemSlice(ItemSearchDto itemSearchDto, Pageable pageable) {
+
+        List<Item> content = queryFactory
+                .selectFrom(item)
+                .where(adminConditions(itemSearchDto))
+                .orderBy(adminSortKey(itemSearchDto.sortOrDefault()).orderBy(false))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize() + 1)
+                .fetch();
+
+        return toSlice(content, pageable);
+    }
+
+    @Override
+    public long countAdminItems(ItemSearchDto itemSearchDto) {
+        Long total = queryFactory
                 .select(item.count())
                 .from(item)
-                .where(dateCondition, sellStatusCondition, searchByCondition)
+                .where(adminConditions(itemSearchDto))
                 .fetchOne();
+        return total == null ? 0 : total;
+    }
 
-        return new PageImpl<>(content, pageable, total);
+    // where 조건 (등록일, 판매 상태, 상품명/등록자, 가격 범위)
+    private BooleanExpression[] adminConditions(ItemSearchDto itemSearchDto) {
+        BooleanExpression[] price = priceBetween(item.price,
+                itemSearchDto.getMinPrice(), itemSearchDto.getMaxPrice());
+        return new BooleanExpression[]{
+                regDtsAfter(item.regTime, itemSearchDto.getSearchDateType()),
+                searchSellStatusEq(item.itemSellStatus, itemSearchDto.getItemSellStatus()),
+                searchByLike(itemSearchDto.getSearchBy(), itemSearchDto.getSearchQuery()),
+                price[0],
+                price[1]
+        };
+    }
+
+    //pageSize + 1 건을 읽었으면 다음 페이지가 있다
+    private <T> Slice<T> toSlice(List<T> rows, Pageable pageable) {
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<T> content = hasNext ? new ArrayList<>(rows.subList(0, pageable.getPageSize())) : rows;
+        return new SliceImpl<>(content, pageable, hasNext);
     }
 
 
     private  BooleanExpression itemNmLike(String searchQuery){
         return StringUtils.isEmpty(searchQuery) ?
-                null : item.itemNm.contains(searchQuery);
+                null : itemCard.itemNm.contains(searchQuery);
+    }
+
+    //메인 목록은 대표 이미지가 있는 상품만 (item_card 에 이미지 경로가 들어 있음)
+    private BooleanExpression hasRepImg() {
+        return itemCard.imgUrl.isNotNull();
+    }
+
+    // where 조건 (대표 이미지, 상품명, 가격 범위, 판매 상태, 등록일) - 두 번째 조건은 검색 색인 사용 시 ID 목록으로 바뀜
+    private BooleanExpression[] mainConditions(ItemSearchDto itemSearchDto) {
+        BooleanExpression[] price = priceBetween(itemCard.price,
+                itemSearchDto.getMinPrice(), itemSearchDto.getMaxPrice());
+        return new BooleanExpression[]{
+                hasRepImg(),
+                itemNmLike(itemSearchDto.getSearchQuery()),
+                price[0],
+                price[1],
+                searchSellStatusEq(itemCard.itemSellStatus, itemSearchDto.getItemSellStatus()),
+                regDtsAfter(itemCard.regTime, itemSearchDto.getSearchDateType())
+        };
     }
 
     @Override
     public Page<MainItemDto> getMainItemPage(ItemSearchDto itemSearchDto, Pageable pageable) {
 
-        QItem item = QItem.item;
-        QItemImg itemImg = QItemImg.itemImg;
-
-        QueryResults<MainItemDto> results = queryFactory
-                .select(
-                        new QMainItemDto(
-                                item.id,
-                                item.itemNm,
-                                item.itemDetail,
-                                itemImg.imgUrl,
-                                item.price
-                        )
-
-                )
-                .from(itemImg)
-                .join(itemImg.item, item)
-                .where(itemImg.repimgYn.eq("Y"))
-                .where(itemNmLike(itemSearchDto.getSearchQuery()))
-                .orderBy(item.id.desc())
+        //fetchResults()(deprecated) 대신 목록과 count 를 각각 조회
+        List<MainItemDto> content = mainItemQuery(itemSearchDto, pageable, pageable.getPageSize());
+        long total = countMainItems(itemSearchDto);
+
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public Slice<MainItemDto> getMainItemSlice(ItemSearchDto itemSearchDto, Pageable pageable) {
+        return toSlice(mainItemQuery(itemSearchDto, pageable, pageable.getPageSize() + 1), pageable);
+    }
+
+    @Override
+    public long countMainItems(ItemSearchDto itemSearchDto) {
+        Long total = queryFactory
+                .select(itemCard.count())
+                .from(itemCard)
+                .where(mainConditions(itemSearchDto))
+                .fetchOne();
+        return total == null ? 0 : total;
+    }
+
+    //item_card 한 테이블만 PK 역순으로 읽는다 (item, item_img 조인 없음)
+    private List<MainItemDto> mainItemQuery(ItemSearchDto itemSearchDto, Pageable pageable, int limit) {
+
+        return queryFactory
+                .select(mainItemDto())
+                .from(itemCard)
+                .where(mainConditions(itemSearchDto))
+                .orderBy(mainSortKey(itemSearchDto.sortOrDefault()).orderBy(false))
                 .offset(pageable.getOffset())
-                .limit(pageable.getPageSize())
-                .fetchResults();
+                .limit(limit)
+                .fetch();
+    }
 
-        List<MainItemDto> content = results.getResults();
-        long total = results.getTotal();
+    /*
+        검색 색인(ItemSearchIndex)을 사용하는 경우
+        1. 색인이 찾은 상품 ID 전체를 ID_CHUNK 개씩 나눠 나머지 조건(날짜, 판매 상태, 가격, 대표 이미지)을 PK로 확인
+           (ID 와 정렬 값만 읽으므로 가볍고, 앞쪽 일부만 거르지 않으므로 전체 건수도 잘리지 않는다)
+        2. 점수 순서(정렬을 지정했으면 정렬 기준 순서)로 한 페이지만큼 잘라서 해당 상품만 조회
+     */
+    @Override
+    public Page<Item> getAdminItemPage(ItemSearchDto itemSearchDto, Pageable pageable, List<Long> rankedIds) {
 
+        BooleanExpression[] price = priceBetween(item.price,
+                itemSearchDto.getMinPrice(), itemSearchDto.getMaxPrice());
+        List<Hit> hits = new ArrayList<>();
+        for (List<Long> chunk : chunks(rankedIds)) {
+            queryFactory
+                    .select(item.id, item.price, item.salesCount)
+                    .from(item)
+                    .where(item.id.in(chunk),
+                            regDtsAfter(item.regTime, itemSearchDto.getSearchDateType()),
+                            searchSellStatusEq(item.itemSellStatus, itemSearchDto.getItemSellStatus()),
+                            price[0], price[1])
+                    .fetch()
+                    .forEach(row -> hits.add(new Hit(row.get(item.id), row.get(item.price), row.get(item.salesCount))));
+        }
 
-        return new PageImpl<>(content, pageable, total);
+        List<Long> pageIds = pageOf(rankedIds, hits, itemSearchDto.getSort(), pageable);
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, hits.size());
+        }
+
+        List<Item> content = queryFactory
+                .selectFrom(item)
+                .where(item.id.in(pageIds))
+                .fetch();
+
+        return new PageImpl<>(inPageOrder(content, pageIds, Item::getId), pageable, hits.size());
     }
 
+    @Override
+    public Page<MainItemDto> getMainItemPage(ItemSearchDto itemSearchDto, Pageable pageable, List<Long> rankedIds) {
+
+        List<Hit> hits = new ArrayList<>();
+        for (List<Long> chunk : chunks(rankedIds)) {
+            BooleanExpression[] conditions = mainConditions(itemSearchDto);
+            conditions[1] = itemCard.itemId.in(chunk);
+            queryFactory
+                    .select(itemCard.itemId, itemCard.price, itemCard.salesCount)
+                    .from(itemCard)
+                    .where(conditions)
+                    .fetch()
+                    .forEach(row -> hits.add(new Hit(row.get(itemCard.itemId),
+                            row.get(itemCard.price), row.get(itemCard.salesCount))));
+        }
 
+        List<Long> pageIds = pageOf(rankedIds, hits, itemSearchDto.getSort(), pageable);
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, hits.size());
+        }
+
+        List<MainItemDto> content = queryFactory
+                .select(mainItemDto())
+                .from(itemCard)
+                .where(itemCard.itemId.in(pageIds))
+                .fetch();
+
+        return new PageImpl<>(inPageOrder(content, pageIds, MainItemDto::getId), pageable, hits.size());
+    }
+
+    private QMainItemDto mainItemDto() {
+        return new QMainItemDto(
+                itemCard.itemId,
+                itemCard.itemNm,
+                itemCard.itemSummary,
+                itemCard.imgUrl,
+                itemCard.price,
+                itemCard.salesCount
+        );
+    }
+
+    /*
+        커서(keyset) 조회
+        - 정렬 기준과 같은 순서의 인덱스((price, item_id), (sales_count, item_id), PK)에서
+          커서 위치 다음부터 limit 건만 읽으므로 몇 번째 페이지든 비용이 같다.
+     */
+    @Override
+    public List<Item> getAdminItemScroll(ItemSearchDto itemSearchDto, ItemCursor cursor, boolean prev, int limit) {
+
+        SortKey sortKey = adminSortKey(itemSearchDto.sortOrDefault());
+
+        return queryFactory
+                .selectFrom(item)
+                .where(adminConditions(itemSearchDto))
+                .where(sortKey.after(cursor, prev))
+                .orderBy(sortKey.orderBy(prev))
+                .limit(limit)
+                .fetch();
+    }
+
+    /*
+        검색 색인 결과 안에서의 커서 조회
+        - ID 를 ID_CHUNK 개씩 나눠 각각 커서 다음 limit 건을 읽고, 합쳐서 정렬 기준 순서로 다시 limit 건
+          (각 묶음의 앞쪽 limit 건 안에 전체의 앞쪽 limit 건이 모두 들어 있다)
+     */
+    @Override
+    public List<MainItemDto> getMainItemScroll(ItemSearchDto itemSearchDto, List<Long> itemIds,
+                                               ItemCursor cursor, boolean prev, int limit) {
+
+        if (itemIds == null) {
+            return mainItemScroll(itemSearchDto, null, cursor, prev, limit);
+        }
+        if (itemIds.size() <= ID_CHUNK) {
+            return itemIds.isEmpty() ? List.of() : mainItemScroll(itemSearchDto, itemIds, cursor, prev, limit);
+        }
+
+        Comparator<Hit> order = hitOrder(itemSearchDto.sortOrDefault());
+        Comparator<MainItemDto> rowOrder = Comparator.comparing(
+                (MainItemDto row) -> new Hit(row.getId(), row.getPrice(), row.getSalesCount()),
+                prev ? order.reversed() : order);
+
+        List<MainItemDto> rows = new ArrayList<>();
+        for (List<Long> chunk : chunks(itemIds)) {
+            rows.addAll(mainItemScroll(itemSearchDto, chunk, cursor, prev, limit));
+        }
+        return rows.stream().sorted(rowOrder).limit(limit).toList();
+    }
+
+    private List<MainItemDto> mainItemScroll(ItemSearchDto itemSearchDto, List<Long> itemIds,
+                                             ItemCursor cursor, boolean prev, int limit) {
+
+        SortKey sortKey = mainSortKey(itemSearchDto.sortOrDefault());
+
+        BooleanExpression[] conditions = mainConditions(itemSearchDto);
+        if (itemIds != null) {
+            conditions[1] = itemCard.itemId.in(itemIds); //상품명 LIKE 대신 검색 색인 결과
+        }
+
+        return queryFactory
+                .select(mainItemDto())
+                .from(itemCard)
+                .where(conditions)
+                .where(sortKey.after(cursor, prev))
+                .orderBy(sortKey.orderBy(prev))
+                .limit(limit)
+                .fetch();
+    }
+
+    private SortKey adminSortKey(ItemSortType sort) {
+        return switch (sort) {
+            case NEWEST -> new SortKey(null, item.id, false);
+            case PRICE_ASC -> new SortKey(item.price, item.id, true);
+            case PRICE_DESC -> new SortKey(item.price, item.id, false);
+            case BEST_SELLING -> new SortKey(item.salesCount, item.id, false);
+        };
+    }
+
+    private SortKey mainSortKey(ItemSortType sort) {
+        return switch (sort) {
+            case NEWEST -> new SortKey(null, itemCard.itemId, false);
+            case PRICE_ASC -> new SortKey(itemCard.price, itemCard.itemId, true);
+            case PRICE_DESC -> new SortKey(itemCard.price, itemCard.itemId, false);
+            case BEST_SELLING -> new SortKey(itemCard.salesCount, itemCard.itemId, false);
+        };
+    }
+
+    /**
+     * 정렬 기준 (정렬 값, 상품 ID) - 최신순은 정렬 값 없이 상품 ID 만 사용
+     * 같은 정렬 값 안에서는 상품 ID 로 순서를 고정해야 커서가 중복/누락 없이 이어진다.
+     */
+    private record SortKey(NumberPath<Integer> value, NumberPath<Long> id, boolean asc) {
+
+        OrderSpecifier<?>[] orderBy(boolean reverse) {
+            boolean ascending = asc != reverse;
+            List<OrderSpecifier<?>> orders = new ArrayList<>();
+            if (value != null) {
+                orders.add(ascending ? value.asc() : value.desc());
+            }
+            orders.add(ascending ? id.asc() : id.desc());
+            return orders.toArray(new OrderSpecifier<?>[0]);
+        }
+
+        //커서 다음 행 (reverse 면 커서 이전 행)
+        BooleanExpression after(ItemCursor cursor, boolean reverse) {
+            if (cursor == null) {
+                return null;
+            }
+            boolean ascending = asc != reverse;
+            BooleanExpression idAfter = ascending ? id.gt(cursor.getItemId()) : id.lt(cursor.getItemId());
+            if (value == null) {
+                return idAfter;
+            }
+            BooleanExpression valueAfter = ascending
+                    ? value.gt(cursor.getSortValue()) : value.lt(cursor.getSortValue());
+            return valueAfter.or(value.eq(cursor.getSortValue()).and(idAfter));
+        }
+    }
+
+    /**
+     * 검색 색인 결과 중 조건을 통과한 상품 (ID 와 정렬 값)
+     */
+    private record Hit(Long id, int price, int salesCount) {
+    }
+
+    private List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += ID_CHUNK) {
+            chunks.add(ids.subList(from, Math.min(ids.size(), from + ID_CHUNK)));
+        }
+        return chunks;
+    }
+
+    //정렬을 지정하지 않았으면 검색 점수 순서, 지정했으면 정렬 기준 순서로 한 페이지
+    private List<Long> pageOf(List<Long> rankedIds, List<Hit> hits, ItemSortType sort, Pageable pageable) {
+        Stream<Long> ordered;
+        if (sort == null) {
+            Set<Long> matched = hits.stream().map(Hit::id).collect(Collectors.toSet());
+            ordered = rankedIds.stream().filter(matched::contains);
+        } else {
+            ordered = hits.stream().sorted(hitOrder(sort)).map(Hit::id);
+        }
+        return ordered
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+    }
+
+    //SortKey.orderBy 와 같은 순서 (정렬 값, 상품 ID)
+    private Comparator<Hit> hitOrder(ItemSortType sort) {
+        Comparator<Hit> byId = Comparator.comparing(Hit::id);
+        return switch (sort) {
+            case NEWEST -> byId.reversed();
+            case PRICE_ASC -> Comparator.comparingInt(Hit::price).thenComparing(byId);
+            case PRICE_DESC -> Comparator.comparingInt(Hit::price).thenComparing(byId).reversed();
+            case BEST_SELLING -> Comparator.comparingInt(Hit::salesCount).thenComparing(byId).reversed();
+        };
+    }
+
+    //IN 조회 결과를 페이지 순서로 다시 정렬
+    private <T> List<T> inPageOrder(List<T> content, List<Long> pageIds, Function<T, Long> idOf) {
+        Map<Long, Integer> rank = pageIds.stream()
+                .collect(Collectors.toMap(Function.identity(), pageIds::indexOf));
+        return content.stream()
+                .sorted(Comparator.comparing(row -> rank.get(idOf.apply(row))))
+                .toList();
+    }
 }
@@ -0,0 +1,47 @@
+package com.example.shop.repository;
+
+import com.example.shop.constant.OrderStatus;
+import com.example.shop.entity.OrderHistoryView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderHistoryViewRepository extends JpaRepository<OrderHistoryView, Long> {
+
+    //(member_id, order_date, order_id) 인덱스 하나로 처리
+    @Query("select v from OrderHistoryView v " +
+            "where v.memberId = :memberId " +
+            "order by v.orderDate desc, v.orderId desc")
+    List<OrderHistoryView> findHistory(@Param("memberId") Long memberId, Pageable pageable);
+
+    Long countByMemberId(Long memberId);
+
+    //커서 이후(더 과거) 주문 - keyset 페이징
+    @Query("select v from OrderHistoryView v " +
+            "where v.memberId = :memberId " +
+            "and (v.orderDate < :orderDate or (v.orderDate = :orderDate and v.orderId < :orderId)) " +
+            "order by v.orderDate desc, v.orderId desc")
+    List<OrderHistoryView> findHistoryBefore(@Param("memberId") Long memberId,
+                                             @Param("orderDate") LocalDateTime orderDate,
+                                             @Param("orderId") Long orderId,
+                                             Pageable pageable);
+
+    //커서 이전(더 최신) 주문 - 오름차순으로 읽은 뒤 뒤집어서 사용
+    @Query("select v from OrderHistoryView v " +
+            "where v.memberId = :memberId " +
+            "and (v.orderDate > :orderDate or (v.orderDate = :orderDate and v.orderId > :orderId)) " +
+            "order by v.orderDate asc, v.orderId asc")
+    List<OrderHistoryView> findHistoryAfter(@Param("memberId") Long memberId,
+                                            @Param("orderDate") LocalDateTime orderDate,
+                                            @Param("orderId") Long orderId,
+                                            Pageable pageable);
+
+    @Modifying
+    @Query("update OrderHistoryView v set v.orderStatus = :orderStatus where v.orderId = :orderId")
+    int updateOrderStatus(@Param("orderId") Long orderId, @Param("orderStatus") OrderStatus orderStatus);
+}
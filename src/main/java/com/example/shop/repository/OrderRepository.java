@@ -1,13 +1,19 @@
 package com.example.shop.repository;
 
 
+import com.example.shop.constant.OrderStatus;
+import com.example.shop.dto.OrderSummaryDto;
 import com.example.shop.entity.Order;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
     /*
@@ -36,4 +42,30 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("select count(o) from Order o " +
             "where o.member.email = :email")
     Long countOrder(@Param("email") String email);
+
+    //같은 주문을 두 곳에서 동시에 취소하지 않도록 주문 행을 잠근다 (일괄 취소도 같은 행을 잠금)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from Order o where o.id = :orderId")
+    Optional<Order> findByIdForUpdate(@Param("orderId") Long orderId);
+
+    //주문 이력 조회 테이블에 아직 없는 주문 (기존 데이타 이관용)
+    @Query("select o from Order o " +
+            "where not exists (select v from OrderHistoryView v where v.orderId = o.id) " +
+            "order by o.id")
+    List<Order> findOrdersWithoutHistory(Pageable pageable);
+
+    //회원별 주문 합계 - 저장된 total_price/line_count 를 집계 (order_item 조회 없음)
+    @Query("select new com.example.shop.dto.OrderSummaryDto(count(o), sum(o.totalPrice), sum(o.lineCount)) " +
+            "from Order o " +
+            "where o.member.id = :memberId and o.orderStatus = :orderStatus")
+    OrderSummaryDto getOrderSummary(@Param("memberId") Long memberId,
+                                    @Param("orderStatus") OrderStatus orderStatus);
+
+    //기간별 주문 합계 (관리자 매출 집계)
+    @Query("select new com.example.shop.dto.OrderSummaryDto(count(o), sum(o.totalPrice), sum(o.lineCount)) " +
+            "from Order o " +
+            "where o.orderDate >= :from and o.orderDate < :to and o.orderStatus = :orderStatus")
+    OrderSummaryDto getSalesSummary(@Param("from") LocalDateTime from,
+                                    @Param("to") LocalDateTime to,
+                                    @Param("orderStatus") OrderStatus orderStatus);
 }
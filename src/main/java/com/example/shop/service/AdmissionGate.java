@@ -0,0 +1,163 @@
+package com.example.shop.service;
+
+import com.example.shop.repository.ItemRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ============================================
+ * 클래스명   : AdmissionGate
+ * 설명       : 한정 판매용 상품별 입장 제어 (token bucket + FIFO 대기실)
+ *             - 토큰 수 = 남은 재고, 주문 수량만큼 토큰을 받아야 OrderService 에 들어갈 수 있음
+ *             - 토큰이 없으면 도착 순서대로(FIFO) 잠깐만 대기, 대기실이 가득 차면 바로 거절
+ *               (요청 스레드가 대기하므로 대기 시간은 짧게, 전체 대기 스레드 수도 제한 -
+ *                인기 상품 하나가 Tomcat 스레드를 다 잡지 않도록)
+ *             - 주문 실패/취소/재입고로 재고가 돌아오면 대기 중인 구매자가 순서대로 입장
+ *             - 관리자가 재고를 줄이면 토큰도 줄인다
+ * ============================================
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class AdmissionGate {
+
+    private final SoldOutRegistry soldOutRegistry;
+    private final ItemRepository itemRepository;
+
+    @Value("${shop.order.admission.enabled:false}")
+    private boolean enabled;
+
+    @Value("${shop.order.admission.waiting-room-size:200}")
+    private int waitingRoomSize;
+
+    @Value("${shop.order.admission.max-wait-ms:50}")
+    private long maxWaitMs;
+
+    //모든 상품을 합쳐 동시에 대기할 수 있는 요청 스레드 수 (넘으면 기다리지 않고 바로 판단)
+    @Value("${shop.order.admission.max-parked:32}")
+    private int maxParked;
+
+    private final AtomicInteger parked = new AtomicInteger();
+
+    private final Map<Long, Gate> gates = new ConcurrentHashMap<>();
+
+    static final class Gate {
+        final Tokens tokens;                             // fair = FIFO 대기
+        final AtomicInteger inFlight = new AtomicInteger(); // 입장해서 주문 처리 중인 수량
+
+        Gate(int stock) {
+            this.tokens = new Tokens(Math.max(stock, 0));
+        }
+    }
+
+    //재고가 줄면 토큰도 줄일 수 있도록 (Semaphore.reducePermits 는 protected)
+    static final class Tokens extends Semaphore {
+        Tokens(int permits) {
+            super(permits, true);
+        }
+
+        void reduce(int reduction) {
+            reducePermits(reduction);
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        soldOutRegistry.addReplenishListener(this::refill);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 입장 시도
+     * @return 입장하면 true, 대기실이 가득 찼거나 대기 시간(max-wait-ms)이 지나면 false
+     */
+    public boolean enter(Long itemId, int count) throws InterruptedException {
+        Gate gate = gates.computeIfAbsent(itemId, id -> new Gate(currentStock(id)));
+
+        if (gate.tokens.getQueueLength() >= waitingRoomSize) {
+            return false;
+        }
+
+        if (!acquire(gate, count)) {
+            return false;
+        }
+
+        gate.inFlight.addAndGet(count);
+        return true;
+    }
+
+    //바로 받을 수 있으면 받고, 아니면 전체 대기 한도 안에서만 잠깐 기다린다
+    //(timeout 0 으로 시도해야 먼저 대기 중인 구매자를 앞지르지 않는다)
+    private boolean acquire(Gate gate, int count) throws InterruptedException {
+        if (gate.tokens.tryAcquire(count, 0, TimeUnit.MILLISECONDS)) {
+            return true;
+        }
+        if (maxWaitMs <= 0) {
+            return false;
+        }
+        if (parked.incrementAndGet() > maxParked) {
+            parked.decrementAndGet();
+            return false;
+        }
+        try {
+            return gate.tokens.tryAcquire(count, maxWaitMs, TimeUnit.MILLISECONDS);
+        } finally {
+            parked.decrementAndGet();
+        }
+    }
+
+    /**
+     * 퇴장 - 주문에 실패했으면 토큰을 돌려준다.
+     */
+    public void leave(Long itemId, int count, boolean ordered) {
+        Gate gate = gates.get(itemId);
+        if (gate == null) {
+            return;
+        }
+
+        gate.inFlight.addAndGet(-count);
+        if (!ordered) {
+            gate.tokens.release(count);
+        }
+    }
+
+    //재고가 바뀌면 (남은 재고 - 처리 중 수량) 에 맞춰 토큰을 늘리거나 줄인다
+    private void refill(Long itemId, int remaining) {
+        Gate gate = gates.get(itemId);
+        if (gate == null) {
+            return;
+        }
+
+        synchronized (gate) {
+            int diff = remaining - gate.inFlight.get() - gate.tokens.availablePermits();
+            if (diff > 0) {
+                gate.tokens.release(diff);
+            } else if (diff < 0) {
+                gate.tokens.reduce(-diff);
+            }
+        }
+    }
+
+    int currentStock(Long itemId) {
+        StockLedger ledger = StockLedger.current();
+        Integer available = ledger == null ? null : ledger.available(itemId);
+        if (available != null) {
+            return available;
+        }
+
+        Integer stockNumber = itemRepository.findStockNumber(itemId);
+        return stockNumber == null ? 0 : stockNumber;
+    }
+}
@@ -33,6 +33,7 @@ public class CartService {
     private final CartRepository cartRepository;
     private final CartItemRepository cartItemRepository;
     private final OrderService orderService;
+    private final OrderIntakeService orderIntakeService;
 
     public Long addCart(CartItemDto cartItemDto, String email) {
 
@@ -122,6 +123,36 @@ public class CartService {
 
     public Long OrderCartItem(List<CartOrderDto> cartOrderDtoList, String email){
 
+        List<OrderDto> orderDtoList = toOrderDtoList(cartOrderDtoList);
+
+        //[{itemId : 1,count 2개}, {itemId : 2,count 5개}, {itemId : 3,count 4개}]
+        Long orderId = orderService.orders(orderDtoList, email);
+
+        //주문이 완료됐으므로 장바구니 비우기
+        for(CartOrderDto cartOrderDto : cartOrderDtoList){
+            CartItem cartItem = cartItemRepository.findById(cartOrderDto.getCartItemId())
+                    .orElseThrow(() -> new EntityNotFoundException());
+            cartItemRepository.delete(cartItem);
+        }
+
+        return orderId;
+    }
+
+    //비동기 장바구니 주문 - 주문 큐에 넣고 접수 번호 반환 (장바구니는 주문이 커밋될 때 함께 비움)
+    @Transactional(readOnly = true)
+    public String OrderCartItemAsync(List<CartOrderDto> cartOrderDtoList, String email){
+
+        List<OrderDto> orderDtoList = toOrderDtoList(cartOrderDtoList);
+
+        List<Long> cartItemIds = cartOrderDtoList.stream()
+                .map(CartOrderDto::getCartItemId)
+                .toList();
+
+        return orderIntakeService.submit(email, orderDtoList, cartItemIds);
+    }
+
+    private List<OrderDto> toOrderDtoList(List<CartOrderDto> cartOrderDtoList) {
+
         List<OrderDto> orderDtoList = new ArrayList<>();
 
         for(CartOrderDto cartOrderDto : cartOrderDtoList){
@@ -136,16 +167,6 @@ public class CartService {
             orderDto.setCount(cartItem.getCount());
             orderDtoList.add(orderDto);
         }
-        //[{itemId : 1,count 2개}, {itemId : 2,count 5개}, {itemId : 3,count 4개}]
-        Long orderId = orderService.orders(orderDtoList, email);
-
-        //주문이 완료됐으므로 장바구니 비우기
-        for(CartOrderDto cartOrderDto : cartOrderDtoList){
-            CartItem cartItem = cartItemRepository.findById(cartOrderDto.getCartItemId())
-                    .orElseThrow(() -> new EntityNotFoundException());
-            cartItemRepository.delete(cartItem);
-        }
-
-        return orderId;
+        return orderDtoList;
     }
 }
\ No newline at end of file
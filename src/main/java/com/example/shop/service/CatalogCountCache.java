@@ -0,0 +1,162 @@
+package com.example.shop.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * ============================================
+ * 클래스명   : CatalogCountCache
+ * 설명       : 상품 목록 페이지 번호(pager)용 전체 건수 캐시
+ *             - 요청마다 count 쿼리를 실행하지 않고, 검색 조건별로 저장해 둔 건수를 사용
+ *             - 오래되었거나 상품이 등록/수정되면 이전 값을 그대로 쓰면서 백그라운드에서 다시 센다.
+ *             - 처음 보는 조건만 요청 중에 한 번 센다. (마지막 페이지면 세지 않아도 정확한 값)
+ * ============================================
+ */
+@Component
+@Slf4j
+public class CatalogCountCache {
+
+    @Value("${shop.catalog.count-ttl-seconds:60}")
+    private long ttlSeconds = 60;
+
+    @Value("${shop.catalog.count-cache-size:1000}")
+    private int maxSize = 1000;
+
+    private final Map<String, Entry> counts = new ConcurrentHashMap<>();
+
+    //같은 조건을 동시에 두 번 세지 않도록
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    //백그라운드 count 실행 (테스트에서는 직접 실행 시점을 정할 수 있도록 주입)
+    private final Executor refresher;
+
+    //상품이 바뀌면 증가 - 이전 세대에 센 값은 오래된 값으로 취급
+    private final AtomicLong generation = new AtomicLong();
+
+    static final class Entry {
+        final long count;
+        final long countedAt;
+        final long generation;
+
+        Entry(long count, long countedAt, long generation) {
+            this.count = count;
+            this.countedAt = countedAt;
+            this.generation = generation;
+        }
+    }
+
+    public CatalogCountCache() {
+        this(Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "catalog-count");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    CatalogCountCache(Executor refresher) {
+        this.refresher = refresher;
+    }
+
+    /**
+     * 페이지 번호 표시에 사용할 전체 건수
+     * @param key     검색 조건 (ItemSearchDto.cacheKey)
+     * @param slice   현재 페이지 (pageSize + 1 건으로 다음 페이지 여부를 이미 알고 있음)
+     * @param counter 실제 count 쿼리 (처음 보는 조건이 아니면 백그라운드에서 실행)
+     */
+    public long total(String key, Slice<?> slice, LongSupplier counter) {
+
+        long seen = slice.getPageable().getOffset() + slice.getNumberOfElements();
+
+        //마지막 페이지면 세지 않아도 정확한 건수를 안다
+        if (!slice.hasNext()) {
+            if (slice.getNumberOfElements() > 0 || slice.getPageable().getOffset() == 0) {
+                put(key, seen, generation.get());
+            }
+            return seen;
+        }
+
+        Entry entry = counts.get(key);
+        if (entry == null) {
+            long count = counter.getAsLong();
+            put(key, count, generation.get());
+            return count;
+        }
+        if (isStale(entry)) {
+            refresh(key, counter);
+        }
+
+        //오래된 값이 현재까지 본 건수보다 작으면 최소한 다음 페이지는 보이도록
+        return Math.max(entry.count, seen + 1);
+    }
+
+    /**
+     * 상품 등록/수정 - 저장된 건수는 계속 쓰되 다음 요청 때 다시 센다.
+     */
+    public void markStale() {
+        generation.incrementAndGet();
+    }
+
+    public void markStaleAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            markStale();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                markStale();
+            }
+        });
+    }
+
+    private boolean isStale(Entry entry) {
+        return entry.generation != generation.get()
+                || System.currentTimeMillis() - entry.countedAt > ttlSeconds * 1000;
+    }
+
+    private void refresh(String key, LongSupplier counter) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+
+        long startGeneration = generation.get();
+        refresher.execute(() -> {
+            try {
+                put(key, counter.getAsLong(), startGeneration);
+            } catch (RuntimeException e) {
+                log.warn("상품 건수 갱신 실패 : {}", key, e);
+            } finally {
+                refreshing.remove(key);
+            }
+        });
+    }
+
+    private void put(String key, long count, long countedGeneration) {
+        //조건이 너무 많아지면 비우고 다시 쌓는다 (검색어가 다양한 경우)
+        if (counts.size() >= maxSize && !counts.containsKey(key)) {
+            counts.clear();
+        }
+        counts.put(key, new Entry(count, System.currentTimeMillis(), countedGeneration));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refresher instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+}
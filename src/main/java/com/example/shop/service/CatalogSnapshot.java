@@ -0,0 +1,540 @@
+package com.example.shop.service;
+
+import com.example.shop.constant.ItemSellStatus;
+import com.example.shop.dto.CatalogFacetDto;
+import com.example.shop.dto.ItemSearchDto;
+import com.example.shop.entity.Item;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * ============================================
+ * 클래스명   : CatalogSnapshot
+ * 설명       : 상품 목록 열(column) 단위 메모리 스냅샷 - 메인 페이지 검색 조건별 건수(facet) 집계용
+ *             - 가격/재고/판매 상태/등록일/상품명(사전 코드)을 상품 순서대로 기본형 배열에 담아
+ *               GROUP BY 쿼리 대신 배열을 훑어서 센다. (행이 많으면 구간을 나눠 병렬로)
+ *             - 대표 이미지 여부, 검색 색인 결과는 비트맵(BitSet)으로 만들어 AND 한 뒤 남은 행만 훑는다.
+ *             - 상품/대표 이미지 저장 커밋 후 해당 행만 갱신 (ItemCardService),
+ *               재고는 품절/재입고 알림(SoldOutRegistry) 때 갱신 - 주문마다 갱신하지 않는다.
+ * ============================================
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CatalogSnapshot {
+
+    private static final ItemSellStatus[] STATUSES = ItemSellStatus.values();
+
+    //등록일 구간 (searchDateType 과 같은 값), 마지막 구간은 그 이전 전체
+    private static final String[] DATE_TYPES = {"1d", "1w", "1m", "6m"};
+
+    //스레드 하나가 훑는 행 수
+    private static final int CHUNK = 1 << 14;
+
+    private static final int PRICE_OK = 1;
+    private static final int STATUS_OK = 2;
+    private static final int DATE_OK = 4;
+    private static final int ALL_OK = PRICE_OK | STATUS_OK | DATE_OK;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SoldOutRegistry soldOutRegistry;
+
+    @Value("${shop.catalog.facet.enabled:true}")
+    private boolean enabled = true;
+
+    //가격대 구간 수 (구간 폭은 1, 2, 5 x 10^n 중에서 고름)
+    @Value("${shop.catalog.facet.price-buckets:8}")
+    private int priceBuckets = 8;
+
+    //이 행 수 이상이면 병렬로 훑는다
+    @Value("${shop.catalog.facet.parallel-threshold:50000}")
+    private int parallelThreshold = 50_000;
+
+    //갱신은 상품 수정 때뿐이므로 읽기/쓰기 락
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    //열 배열 - 행 번호는 스냅샷에 들어온 순서
+    private int size;
+    private int[] prices = new int[1024];
+    private int[] stocks = new int[1024];
+    private byte[] statuses = new byte[1024];  // ItemSellStatus.ordinal(), 없으면 -1
+    private long[] regTimes = new long[1024];  // epoch millis
+    private int[] nameCodes = new int[1024];   // 상품명 사전 코드
+    private final BitSet repImg = new BitSet(); // 대표 이미지가 있는 행 (메인 목록 대상)
+    private long[] itemIds = new long[1024];    // 행 -> 상품 ID (제거 시 마지막 행을 옮길 때 사용)
+
+    private final Map<Long, Integer> rowByItem = new HashMap<>();
+
+    //상품명 사전 - 같은 이름은 한 번만 저장하고, LIKE 비교도 사전 항목 수만큼만 한다
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> nameCodeByName = new HashMap<>();
+
+    private volatile boolean ready;
+
+    @PostConstruct
+    public void init() {
+        soldOutRegistry.addChangeListener(itemId -> {
+            if (soldOutRegistry.isSoldOut(itemId)) {
+                updateStock(itemId, 0);
+            }
+        });
+        soldOutRegistry.addReplenishListener(this::updateStock);
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * 상품 한 행 반영 (없으면 추가)
+     */
+    public void upsert(Long itemId, String itemNm, int price, int stock,
+                       ItemSellStatus status, LocalDateTime regTime) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int row = rowOf(itemId);
+            prices[row] = price;
+            stocks[row] = stock;
+            statuses[row] = status == null ? -1 : (byte) status.ordinal();
+            regTimes[row] = epochMillis(regTime);
+            nameCodes[row] = nameCode(itemNm);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void upsertAfterCommit(Item item) {
+        Long itemId = item.getId();
+        String itemNm = item.getItemNm();
+        int price = item.getPrice();
+        int stock = item.getStockNumber();
+        ItemSellStatus status = item.getItemSellStatus();
+        LocalDateTime regTime = item.getRegTime();
+
+        afterCommit(() -> upsert(itemId, itemNm, price, stock, status, regTime));
+    }
+
+    public void updateRepImg(Long itemId, String imgUrl) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowByItem.get(itemId);
+            if (row != null) {
+                repImg.set(row, imgUrl != null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void updateRepImgAfterCommit(Long itemId, String imgUrl) {
+        afterCommit(() -> updateRepImg(itemId, imgUrl));
+    }
+
+    public void updateStock(Long itemId, int stock) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowByItem.get(itemId);
+            if (row != null) {
+                stocks[row] = stock;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 상품 한 행 제거 - 마지막 행을 빈자리로 옮겨 배열을 빈틈없이 유지
+     */
+    public void remove(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowByItem.remove(itemId);
+            if (row == null) {
+                return;
+            }
+            int last = --size;
+            if (row != last) {
+                prices[row] = prices[last];
+                stocks[row] = stocks[last];
+                statuses[row] = statuses[last];
+                regTimes[row] = regTimes[last];
+                nameCodes[row] = nameCodes[last];
+                repImg.set(row, repImg.get(last));
+                itemIds[row] = itemIds[last];
+                rowByItem.put(itemIds[row], row);
+            }
+            repImg.clear(last);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 메인 페이지 검색 조건별 건수
+     * @param searchIds 검색 색인 결과 (null 이면 상품명 부분 일치로 거른다)
+     * @return 스냅샷이 아직 준비되지 않았으면 null
+     */
+    public CatalogFacetDto facets(ItemSearchDto searchDto, List<Long> searchIds) {
+        if (!isReady()) {
+            return null;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        long[] dateCutoffs = new long[DATE_TYPES.length];
+        for (int i = 0; i < DATE_TYPES.length; i++) {
+            dateCutoffs[i] = epochMillis(ItemSearchDto.regTimeAfter(DATE_TYPES[i], now));
+        }
+        LocalDateTime regTimeAfter = ItemSearchDto.regTimeAfter(searchDto.getSearchDateType(), now);
+
+        lock.readLock().lock();
+        try {
+            //1. 비트맵으로 후보 행 (대표 이미지 AND 검색 결과)
+            BitSet candidates = (BitSet) repImg.clone();
+            if (searchIds != null) {
+                BitSet hits = new BitSet(size);
+                for (Long itemId : searchIds) {
+                    Integer row = rowByItem.get(itemId);
+                    if (row != null) {
+                        hits.set(row);
+                    }
+                }
+                candidates.and(hits);
+            }
+
+            Scan scan = new Scan(candidates,
+                    searchIds == null ? matchingNames(searchDto.getSearchQuery()) : null,
+                    searchDto.getMinPrice() == null ? Integer.MIN_VALUE : searchDto.getMinPrice(),
+                    searchDto.getMaxPrice() == null ? Integer.MAX_VALUE : searchDto.getMaxPrice(),
+                    searchDto.getItemSellStatus() == null ? -1 : searchDto.getItemSellStatus().ordinal(),
+                    regTimeAfter == null ? Long.MIN_VALUE : epochMillis(regTimeAfter),
+                    dateCutoffs);
+
+            //2. 가격 외 조건을 만족하는 행의 가격 범위 -> 가격대 구간
+            int[] range = chunks().mapToObj(scan::priceRange)
+                    .reduce(new int[]{Integer.MAX_VALUE, Integer.MIN_VALUE},
+                            (a, b) -> new int[]{Math.min(a[0], b[0]), Math.max(a[1], b[1])});
+            if (range[0] <= range[1]) {
+                scan.width = niceWidth((long) range[1] - range[0] + 1, priceBuckets);
+                scan.priceStart = Math.floorDiv(range[0], scan.width) * scan.width;
+                scan.bucketCount = (int) (((long) range[1] - scan.priceStart) / scan.width + 1);
+            }
+
+            //3. 건수 집계
+            Counts counts = chunks().mapToObj(scan::count)
+                    .reduce(scan.newCounts(), Counts::merge);
+
+            return counts.toDto(scan);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private IntStream chunks() {
+        IntStream chunks = IntStream.range(0, (size + CHUNK - 1) / CHUNK);
+        return size >= parallelThreshold ? chunks.parallel() : chunks;
+    }
+
+    /**
+     * 한 번의 집계에 쓰는 조건 (읽기 락 안에서만 사용)
+     */
+    private final class Scan {
+        final BitSet candidates;
+        final BitSet nameMatches; // 상품명 조건에 맞는 사전 코드 (null 이면 조건 없음)
+        final int minPrice;
+        final int maxPrice;
+        final int status;
+        final long regTimeAfter;
+        final long[] dateCutoffs;
+
+        int priceStart;
+        int width = 1;
+        int bucketCount;
+
+        Scan(BitSet candidates, BitSet nameMatches, int minPrice, int maxPrice,
+             int status, long regTimeAfter, long[] dateCutoffs) {
+            this.candidates = candidates;
+            this.nameMatches = nameMatches;
+            this.minPrice = minPrice;
+            this.maxPrice = maxPrice;
+            this.status = status;
+            this.regTimeAfter = regTimeAfter;
+            this.dateCutoffs = dateCutoffs;
+        }
+
+        //상품명을 통과한 행의 나머지 조건 통과 여부 (비트 조합), 상품명에서 걸러지면 -1
+        int check(int row) {
+            if (nameMatches != null && !nameMatches.get(nameCodes[row])) {
+                return -1;
+            }
+            int mask = 0;
+            if (prices[row] >= minPrice && prices[row] <= maxPrice) {
+                mask |= PRICE_OK;
+            }
+            if (status < 0 || statuses[row] == status) {
+                mask |= STATUS_OK;
+            }
+            if (regTimes[row] > regTimeAfter) {
+                mask |= DATE_OK;
+            }
+            return mask;
+        }
+
+        int[] priceRange(int chunk) {
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            int end = Math.min(size, (chunk + 1) * CHUNK);
+            for (int row = candidates.nextSetBit(chunk * CHUNK); row >= 0 && row < end;
+                 row = candidates.nextSetBit(row + 1)) {
+                int mask = check(row);
+                if (mask >= 0 && (mask | PRICE_OK) == ALL_OK) {
+                    min = Math.min(min, prices[row]);
+                    max = Math.max(max, prices[row]);
+                }
+            }
+            return new int[]{min, max};
+        }
+
+        Counts count(int chunk) {
+            Counts counts = newCounts();
+            int end = Math.min(size, (chunk + 1) * CHUNK);
+            for (int row = candidates.nextSetBit(chunk * CHUNK); row >= 0 && row < end;
+                 row = candidates.nextSetBit(row + 1)) {
+                int mask = check(row);
+                if (mask < 0) {
+                    continue;
+                }
+                if (mask == ALL_OK) {
+                    counts.total++;
+                    if (stocks[row] > 0) {
+                        counts.inStock++;
+                    }
+                }
+                //각 항목은 자기 조건만 빼고 센다
+                if ((mask | STATUS_OK) == ALL_OK && statuses[row] >= 0) {
+                    counts.statuses[statuses[row]]++;
+                }
+                if ((mask | DATE_OK) == ALL_OK) {
+                    counts.dates[dateBucket(regTimes[row])]++;
+                }
+                if ((mask | PRICE_OK) == ALL_OK && bucketCount > 0) {
+                    counts.prices[(prices[row] - priceStart) / width]++;
+                }
+            }
+            return counts;
+        }
+
+        //가장 최근 구간부터 (0: 1일 이내 ... 마지막: 6개월 이전)
+        int dateBucket(long regTime) {
+            for (int i = 0; i < dateCutoffs.length; i++) {
+                if (regTime > dateCutoffs[i]) {
+                    return i;
+                }
+            }
+            return dateCutoffs.length;
+        }
+
+        Counts newCounts() {
+            return new Counts(STATUSES.length, dateCutoffs.length + 1, bucketCount);
+        }
+    }
+
+    /**
+     * 구간(chunk)별 집계 결과 - 병렬로 센 뒤 합친다
+     */
+    private static final class Counts {
+        long total;
+        long inStock;
+        final long[] statuses;
+        final long[] dates;
+        final long[] prices;
+
+        Counts(int statusCount, int dateCount, int priceCount) {
+            this.statuses = new long[statusCount];
+            this.dates = new long[dateCount];
+            this.prices = new long[priceCount];
+        }
+
+        Counts merge(Counts other) {
+            Counts merged = new Counts(statuses.length, dates.length, prices.length);
+            merged.total = total + other.total;
+            merged.inStock = inStock + other.inStock;
+            Arrays.setAll(merged.statuses, i -> statuses[i] + other.statuses[i]);
+            Arrays.setAll(merged.dates, i -> dates[i] + other.dates[i]);
+            Arrays.setAll(merged.prices, i -> prices[i] + other.prices[i]);
+            return merged;
+        }
+
+        CatalogFacetDto toDto(Scan scan) {
+            Map<ItemSellStatus, Long> statusCounts = new EnumMap<>(ItemSellStatus.class);
+            for (ItemSellStatus status : STATUSES) {
+                statusCounts.put(status, statuses[status.ordinal()]);
+            }
+
+            //등록일은 "1주일 이내" 에 "1일 이내" 가 포함되도록 누적
+            Map<String, Long> regDateCounts = new LinkedHashMap<>();
+            long cumulative = 0;
+            for (int i = 0; i < DATE_TYPES.length; i++) {
+                cumulative += dates[i];
+                regDateCounts.put(DATE_TYPES[i], cumulative);
+            }
+            regDateCounts.put("all", cumulative + dates[DATE_TYPES.length]);
+
+            List<CatalogFacetDto.PriceBucket> priceBuckets = new ArrayList<>();
+            for (int i = 0; i < prices.length; i++) {
+                int from = scan.priceStart + i * scan.width;
+                priceBuckets.add(new CatalogFacetDto.PriceBucket(from, from + scan.width - 1, prices[i]));
+            }
+
+            return new CatalogFacetDto(total, inStock, statusCounts, regDateCounts, priceBuckets);
+        }
+    }
+
+    //span 을 buckets 개 이하 구간으로 나누는 폭 (1, 2, 5 x 10^n)
+    static int niceWidth(long span, int buckets) {
+        long raw = Math.max(1, (span + buckets - 1) / Math.max(buckets, 1));
+        long magnitude = 1;
+        while (magnitude * 10 <= raw) {
+            magnitude *= 10;
+        }
+        for (long step : new long[]{1, 2, 5, 10}) {
+            if (step * magnitude >= raw) {
+                return (int) Math.min(Integer.MAX_VALUE, step * magnitude);
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, raw);
+    }
+
+    //검색어를 포함하는 상품명의 사전 코드 (LIKE '%검색어%' 와 같게 대소문자 무시)
+    private BitSet matchingNames(String searchQuery) {
+        if (searchQuery == null || searchQuery.isEmpty()) {
+            return null;
+        }
+        String query = searchQuery.toLowerCase(Locale.ROOT);
+        BitSet matches = new BitSet(names.size());
+        for (int code = 0; code < names.size(); code++) {
+            if (names.get(code).contains(query)) {
+                matches.set(code);
+            }
+        }
+        return matches;
+    }
+
+    private int rowOf(Long itemId) {
+        Integer row = rowByItem.get(itemId);
+        if (row != null) {
+            return row;
+        }
+        if (size == prices.length) {
+            int capacity = size * 2;
+            prices = Arrays.copyOf(prices, capacity);
+            stocks = Arrays.copyOf(stocks, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            regTimes = Arrays.copyOf(regTimes, capacity);
+            nameCodes = Arrays.copyOf(nameCodes, capacity);
+            itemIds = Arrays.copyOf(itemIds, capacity);
+        }
+        itemIds[size] = itemId;
+        rowByItem.put(itemId, size);
+        return size++;
+    }
+
+    private int nameCode(String itemNm) {
+        String name = itemNm == null ? "" : itemNm.toLowerCase(Locale.ROOT);
+        return nameCodeByName.computeIfAbsent(name, n -> {
+            names.add(n);
+            return names.size() - 1;
+        });
+    }
+
+    private static long epochMillis(LocalDateTime dateTime) {
+        return (dateTime == null ? LocalDateTime.now() : dateTime)
+                .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+    /**
+     * 기동 시 전체 상품 적재 (item_card 가 채워진 뒤)
+     * 적재 중에 등록/수정된 상품은 이미 최신 값으로 들어 있으므로 덮어쓰지 않는다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+
+        List<Object[]> rows = jdbcTemplate.query(
+                "select i.item_id, i.item_nm, i.price, i.stock_number, i.item_sell_status, i.reg_time, c.img_url " +
+                "from item i left join item_card c on c.item_id = i.item_id",
+                (rs, rowNum) -> {
+                    String status = rs.getString("item_sell_status");
+                    Timestamp regTime = rs.getTimestamp("reg_time");
+                    return new Object[]{rs.getLong("item_id"), rs.getString("item_nm"),
+                            rs.getInt("price"), rs.getInt("stock_number"),
+                            status == null ? null : ItemSellStatus.valueOf(status),
+                            regTime == null ? null : regTime.toLocalDateTime(),
+                            rs.getString("img_url")};
+                });
+
+        lock.writeLock().lock();
+        try {
+            for (Object[] row : rows) {
+                Long itemId = (Long) row[0];
+                if (rowByItem.containsKey(itemId)) {
+                    continue;
+                }
+                int index = rowOf(itemId);
+                prices[index] = (Integer) row[2];
+                stocks[index] = (Integer) row[3];
+                statuses[index] = row[4] == null ? -1 : (byte) ((ItemSellStatus) row[4]).ordinal();
+                regTimes[index] = epochMillis((LocalDateTime) row[5]);
+                nameCodes[index] = nameCode((String) row[1]);
+                repImg.set(index, row[6] != null);
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("상품 목록 스냅샷 적재 완료 : {}개 상품, 상품명 사전 {}개, {}ms",
+                size, names.size(), System.currentTimeMillis() - start);
+    }
+}
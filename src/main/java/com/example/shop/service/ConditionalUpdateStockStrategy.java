@@ -0,0 +1,50 @@
+package com.example.shop.service;
+
+import com.example.shop.constant.StockStrategyType;
+import com.example.shop.entity.Item;
+import com.example.shop.exception.OutOfStockException;
+import com.example.shop.repository.ItemRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * update item set stock_number = stock_number - ? where item_id = ? and stock_number >= ?
+ * 한 문장으로 검사와 차감을 동시에 처리 (엔티티의 stockNumber 는 변경하지 않음)
+ */
+@RequiredArgsConstructor
+public class ConditionalUpdateStockStrategy implements StockStrategy {
+
+    private final ItemRepository itemRepository;
+    private final SoldOutRegistry soldOutRegistry;
+
+    @Override
+    public StockStrategyType getType() {
+        return StockStrategyType.CONDITIONAL_UPDATE;
+    }
+
+    @Override
+    public Item decrease(Long itemId, int count) {
+        //차감 성공 여부는 update 건수로 판단 (재고를 따로 조회하지 않음)
+        int updated = itemRepository.decreaseStock(itemId, count);
+
+        //update 이후에 읽으므로 보통 차감된 재고가 보인다
+        //(이미 영속성 컨텍스트에 있던 엔티티면 이전 값 - 품절 비트는 힌트이므로 괜찮음)
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new EntityNotFoundException());
+
+        soldOutRegistry.updateAfterCommit(itemId, item.getStockNumber());
+
+        if (updated == 0) {
+            throw new OutOfStockException("상품의 재고가 부족합니다. (현재 재고 수량: "
+                    + item.getStockNumber() + ")");
+        }
+        return item;
+    }
+
+    @Override
+    public void increase(Item item, int count) {
+        itemRepository.increaseStock(item.getId(), count);
+        //커밋 후 SoldOutRegistry 가 현재 재고를 다시 읽어서 판단
+        soldOutRegistry.replenishedAfterCommit(item.getId(), item.getStockNumber() + count);
+    }
+}
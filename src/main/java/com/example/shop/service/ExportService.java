@@ -0,0 +1,250 @@
+package com.example.shop.service;
+
+import com.example.shop.constant.ExportFormat;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+
+/**
+ * ============================================
+ * 클래스명   : ExportService
+ * 설명       : 관리자 상품/주문 내보내기 (CSV, NDJSON)
+ *             - findAll() 로 엔티티를 모두 읽지 않고, JDBC 결과를 한 행씩 받아 바로 응답에 쓴다.
+ *               (MySQL 스트리밍 결과: forward-only + read-only + fetchSize = Integer.MIN_VALUE)
+ *             - 엔티티/영속성 컨텍스트를 거치지 않으므로 행 수와 상관없이 메모리 사용량이 일정하다.
+ *             - 쓰기는 버퍼 크기만큼 모아서 내보낸다. (gzip 여부는 호출하는 쪽에서 스트림으로 감쌈)
+ *             - CSV 는 = + - @ 로 시작하는 문자열 앞에 ' 를 붙여 엑셀 수식 주입을 막는다.
+ * ============================================
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportService {
+
+    //상품 설명(item_detail LOB)은 제외
+    private static final String ITEMS_SQL =
+            "select i.item_id, i.item_nm, i.price, i.stock_number, i.item_sell_status, i.sales_count, " +
+            "i.reg_time, i.update_time " +
+            "from item i order by i.item_id";
+
+    //주문 상품 한 건당 한 행 (from 이상 ~ to 미만, 관리자 주문 합계와 같은 기간 조건)
+    private static final String ORDERS_SQL =
+            "select o.order_id, o.order_date, o.order_status, m.email, " +
+            "oi.order_item_id, oi.item_id, i.item_nm, oi.order_price, oi.count " +
+            "from orders o " +
+            "join member m on m.member_id = o.member_id " +
+            "join order_item oi on oi.order_id = o.order_id " +
+            "join item i on i.item_id = oi.item_id " +
+            "where o.order_date >= ? and o.order_date < ? " +
+            "order by o.order_date, o.order_id, oi.order_item_id";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${shop.export.buffer-size:65536}")
+    private int bufferSize = 65536;
+
+    /**
+     * 상품 전체 내보내기
+     * @return 내보낸 행 수
+     */
+    public long exportItems(ExportFormat format, OutputStream out) throws IOException {
+        return export(ITEMS_SQL, format, out);
+    }
+
+    /**
+     * 기간별 주문 상품 내보내기 (from 이상 ~ to 미만)
+     * @return 내보낸 행 수
+     */
+    public long exportOrders(LocalDateTime from, LocalDateTime to, ExportFormat format,
+                             OutputStream out) throws IOException {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("조회 시작일은 종료일보다 앞서야 합니다.");
+        }
+        return export(ORDERS_SQL, format, out, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    private long export(String sql, ExportFormat format, OutputStream out, Object... args) throws IOException {
+        long start = System.currentTimeMillis();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), bufferSize);
+        RowWriter rowWriter = format == ExportFormat.NDJSON ? new NdjsonRowWriter(writer) : new CsvRowWriter(writer);
+
+        Long rows;
+        try {
+            rows = jdbcTemplate.query(con -> {
+                var ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(Integer.MIN_VALUE); //MySQL: 결과를 한 번에 받지 않고 한 행씩 받음
+                for (int i = 0; i < args.length; i++) {
+                    ps.setObject(i + 1, args[i]);
+                }
+                return ps;
+            }, (ResultSetExtractor<Long>) rs -> {
+                try {
+                    return rowWriter.writeAll(rs);
+                } catch (IOException e) {
+                    //클라이언트가 연결을 끊은 경우 등 - 남은 행은 읽지 않고 중단
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+
+        log.info("내보내기 완료 : {} {}행, {}ms", format, rows, System.currentTimeMillis() - start);
+        return rows == null ? 0 : rows;
+    }
+
+    /**
+     * 결과 전체를 한 행씩 쓴다. (헤더 -> 행)
+     */
+    private abstract static class RowWriter {
+        final Writer writer;
+        String[] columns;
+
+        RowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        long writeAll(ResultSet rs) throws SQLException, IOException {
+            ResultSetMetaData meta = rs.getMetaData();
+            columns = new String[meta.getColumnCount()];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = meta.getColumnLabel(i + 1);
+            }
+            writeHeader();
+
+            long rows = 0;
+            while (rs.next()) {
+                writeRow(rs, meta);
+                rows++;
+            }
+            return rows;
+        }
+
+        void writeHeader() throws IOException {
+        }
+
+        abstract void writeRow(ResultSet rs, ResultSetMetaData meta) throws SQLException, IOException;
+    }
+
+    private static final class CsvRowWriter extends RowWriter {
+
+        CsvRowWriter(Writer writer) {
+            super(writer);
+        }
+
+        @Override
+        void writeHeader() throws IOException {
+            writer.write('\uFEFF'); //엑셀에서 한글이 깨지지 않도록 UTF-8 BOM
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(columns[i]);
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        void writeRow(ResultSet rs, ResultSetMetaData meta) throws SQLException, IOException {
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = rs.getObject(i + 1);
+                if (value instanceof String text) {
+                    writeField(writer, escapeFormula(text));
+                } else if (value != null) {
+                    writeField(writer, value instanceof Timestamp timestamp
+                            ? timestamp.toLocalDateTime().toString() : value.toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+    }
+
+    private static final class NdjsonRowWriter extends RowWriter {
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            super(writer);
+            this.generator = JSON_FACTORY.createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+            this.generator.setRootValueSeparator(null); //행 구분은 줄바꿈으로 직접 쓴다
+        }
+
+        @Override
+        void writeRow(ResultSet rs, ResultSetMetaData meta) throws SQLException, IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < columns.length; i++) {
+                generator.writeFieldName(columns[i]);
+                switch (meta.getColumnType(i + 1)) {
+                    case Types.INTEGER, Types.BIGINT, Types.SMALLINT, Types.TINYINT -> {
+                        long value = rs.getLong(i + 1);
+                        if (rs.wasNull()) {
+                            generator.writeNull();
+                        } else {
+                            generator.writeNumber(value);
+                        }
+                    }
+                    case Types.TIMESTAMP -> {
+                        Timestamp value = rs.getTimestamp(i + 1);
+                        generator.writeString(value == null ? null : value.toLocalDateTime().toString());
+                    }
+                    default -> generator.writeString(rs.getString(i + 1));
+                }
+            }
+            generator.writeEndObject();
+            generator.flush(); //생성기 내부 버퍼 -> writer 버퍼
+            writer.write('\n');
+        }
+    }
+
+    //CSV 수식 주입 방지 - 엑셀이 수식으로 읽는 문자로 시작하는 문자열은 앞에 ' 를 붙인다 (숫자 열은 그대로)
+    static String escapeFormula(String value) {
+        if (value.isEmpty()) {
+            return value;
+        }
+        char first = value.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r'
+                ? "'" + value : value;
+    }
+
+    //RFC 4180 - 쉼표, 따옴표, 줄바꿈이 있으면 따옴표로 감싸고 따옴표는 두 번
+    static void writeField(Writer writer, String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
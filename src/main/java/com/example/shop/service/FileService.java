@@ -1,46 +1,314 @@
 package com.example.shop.service;
 
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.util.UUID;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 
+/**
+ * 상품 이미지 파일 저장/삭제 (내용 주소 저장소)
+ * - 업로드 파일을 byte[] 로 읽지 않고 스트림에서 고정 크기 direct 버퍼로 나눠 FileChannel 에 쓴다.
+ *   (파일 크기와 상관없이 업로드 한 건당 메모리 사용량이 일정)
+ * - 쓰면서 SHA-256 을 계산해 "해시 + 확장자" 를 파일명으로 쓴다.
+ *   같은 사진은 한 파일만 남고, 내용이 바뀌면 이름도 바뀌므로 URL 을 immutable 로 캐시할 수 있다.
+ * - 같은 폴더의 임시 파일에 다 쓴 뒤 원자적 rename -> 쓰다 만 파일이 /images 로 보이지 않는다.
+ * - 참조 수(img_file_ref)를 세어 deleteFile 은 참조만 하나 줄이고, 마지막 참조가 커밋으로 풀릴 때 파일을 지운다.
+ * - stageFile(트랜잭션 밖) -> acquireAll(트랜잭션 안) -> settle(완료 후) 순서로 쓰면
+ *   파일 쓰기 동안 DB 커넥션을 잡지 않고, 롤백되면 settle 이 저장한 파일을 지운다.
+ */
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class FileService {
 
-    public String uploadFile(String uploadPath, String originalFileName,
-                             byte[] fileData) throws Exception {
-        UUID uuid = UUID.randomUUID();
+    private static final int BUFFER_SIZE = 64 * 1024;
 
+    //direct 버퍼는 할당 비용이 크므로 스레드마다 하나를 재사용
+    private static final ThreadLocal<ByteBuffer> BUFFER =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+
+    //SHA-256 16진수 64자 + 확장자 (이전에 UUID 로 저장한 파일은 참조 수 없이 바로 지운다)
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("[0-9a-f]{64}(\\.[^./\\\\]*)?");
+
+    private static final String ACQUIRE_SQL =
+            "insert into img_file_ref (img_name, ref_count) values (?, 1) " +
+            "on duplicate key update ref_count = ref_count + 1";
+
+    //파일 이동/삭제와 참조 수 변경을 같은 이름끼리 순서대로 (이름 해시로 나눈 락)
+    private static final Object[] LOCKS = new Object[64];
+    static {
+        for (int i = 0; i < LOCKS.length; i++) {
+            LOCKS[i] = new Object();
+        }
+    }
+
+    //미리 저장했지만 아직 참조를 잡은 트랜잭션이 끝나지 않은 파일 (파일명 -> 건수)
+    private final Map<String, Integer> stagedNames = new ConcurrentHashMap<>();
+
+    private final List<Consumer<String>> purgeListeners = new CopyOnWriteArrayList<>();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 파일만 저장하고 참조는 아직 잡지 않는다. (트랜잭션 밖에서 미리 저장할 때)
+     * 반드시 acquireAll(트랜잭션 안) 후 settle(트랜잭션 완료 후) 을 호출해야 한다.
+     * settle 전까지는 참조 수가 0 이어도 지우지 않는다.
+     */
+    public StagedFile stageFile(String uploadPath, String originalFileName,
+                                InputStream fileData) throws IOException {
         //sampletest.jpg
-        String extension = originalFileName.substring(originalFileName.lastIndexOf("."));
+        String extension = originalFileName.substring(originalFileName.lastIndexOf(".")).toLowerCase(Locale.ROOT);
 
         log.info("originalFileName.substring : {}", extension);
 
-        String savedFileName = uuid.toString()+ extension;
+        Path dir = Paths.get(uploadPath);
+        Files.createDirectories(dir);
+
+        //rename 이 원자적이려면 같은 파일 시스템(같은 폴더)에 임시 파일을 만들어야 한다
+        Path temp = Files.createTempFile(dir, ".upload-", ".tmp");
+        try {
+            String savedFileName = write(fileData, temp) + extension;
+            Path target = dir.resolve(savedFileName);
+
+            synchronized (lockFor(savedFileName)) {
+                stagedNames.merge(savedFileName, 1, Integer::sum);
+                if (Files.exists(target)) {
+                    Files.delete(temp);
+                    log.info("같은 내용의 파일이 있어 재사용합니다. : {}", target);
+                } else {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                    log.info("파일을 저장하였습니다. : {}", target);
+                }
+            }
+            return new StagedFile(originalFileName, savedFileName, target);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    /**
+     * 미리 저장한 파일들의 참조를 한 번에 잡는다. (호출한 트랜잭션과 함께 커밋/롤백)
+     */
+    public void acquireAll(List<StagedFile> stagedFiles) {
+        List<Object[]> names = new ArrayList<>();
+        for (StagedFile stagedFile : stagedFiles) {
+            if (stagedFile != null) {
+                names.add(new Object[]{stagedFile.getFileName()});
+            }
+        }
+        if (!names.isEmpty()) {
+            jdbcTemplate.batchUpdate(ACQUIRE_SQL, names);
+        }
+    }
+
+    /**
+     * 트랜잭션이 끝난 뒤 호출 - 커밋되지 않아 참조가 없는 파일은 지운다. (롤백 보상)
+     */
+    public void settle(List<StagedFile> stagedFiles) {
+        for (StagedFile stagedFile : stagedFiles) {
+            if (stagedFile == null) {
+                continue;
+            }
+            synchronized (lockFor(stagedFile.getFileName())) {
+                stagedNames.computeIfPresent(stagedFile.getFileName(), (name, count) -> count > 1 ? count - 1 : null);
+            }
+            purgeIfUnused(stagedFile.getPath());
+        }
+    }
 
-       String fileUploadFullUrl = uploadPath + "/" + savedFileName;
+    //temp 에 쓰고 내용의 SHA-256 (16진수) 반환
+    private String write(InputStream in, Path temp) throws IOException {
+        MessageDigest digest = sha256();
 
-       FileOutputStream fos = new FileOutputStream(fileUploadFullUrl);
-       fos.write(fileData);
-       fos.close();
+        //FileInputStream(업로드 임시 파일)이면 newChannel 이 FileChannel 을 그대로 돌려주므로 힙 복사 없이 읽는다
+        ReadableByteChannel source = Channels.newChannel(in);
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = BUFFER.get();
+            buffer.clear();
+            while (source.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+            }
 
-       return savedFileName;
+            out.force(false); //rename 전에 내용을 디스크에 반영
+        }
+        return HexFormat.of().formatHex(digest.digest());
     }
 
-    public void deleteFile(String filePath) throws Exception {
+    /**
+     * 파일 참조 하나를 푼다. 마지막 참조였으면 커밋 후 파일(과 크기별 사본)을 지운다.
+     */
+    public void deleteFile(String filePath) {
+        Path path = Paths.get(filePath);
+        String fileName = path.getFileName().toString();
+
+        if (!CONTENT_ADDRESSED.matcher(fileName).matches()) {
+            afterCommit(() -> deleteWithDerived(path)); //롤백되면 파일이 그대로 있어야 한다
+            return;
+        }
+
+        jdbcTemplate.update("update img_file_ref set ref_count = ref_count - 1 " +
+                "where img_name = ? and ref_count > 0", fileName);
+        afterCommit(() -> purgeIfUnused(path));
+    }
 
-        File deleteFile = new File(filePath);
+    /**
+     * 참조 수가 0 이거나 참조 행이 없으면 행과 파일을 지운다. (커밋 후 호출되므로 새 트랜잭션에서)
+     * 다른 업로드가 미리 저장해 두고 아직 참조를 잡지 않은 파일은 건너뛴다.
+     *
+     * 이름별 락(모니터)을 잡은 채로 행 락을 기다리면 안 된다.
+     * 행 락을 가진 트랜잭션이 같은 파일을 다시 올리려고(stageFile) 모니터를 기다리면 서로 기다리게 되므로
+     * 1. 행 락이 필요한 참조 행 정리는 모니터 밖에서
+     * 2. 모니터 안에서는 락을 걸지 않는 조회로 커밋된 참조만 다시 확인하고 파일을 지운다.
+     *    (모니터를 잡은 동안에는 새로 stage 할 수 없고, 참조를 잡는 중인 트랜잭션은 모두 stagedNames 에 있음)
+     */
+    void purgeIfUnused(Path path) {
+        String fileName = path.getFileName().toString();
 
+        Boolean unused = requiresNew().execute(status -> {
+            //참조를 잡고 아직 커밋하지 않은 트랜잭션이 있으면 여기서 커밋/롤백까지 기다린다
+            List<Integer> refCount = jdbcTemplate.queryForList(
+                    "select ref_count from img_file_ref where img_name = ? for update", Integer.class, fileName);
+            if (!refCount.isEmpty() && refCount.get(0) > 0) {
+                return false;
+            }
+            jdbcTemplate.update("delete from img_file_ref where img_name = ?", fileName);
+            return true;
+        });
+        if (!Boolean.TRUE.equals(unused)) {
+            log.info("다른 상품 이미지가 사용 중인 파일입니다. : {}", path);
+            return;
+        }
+
+        synchronized (lockFor(fileName)) {
+            if (stagedNames.containsKey(fileName)) {
+                return;
+            }
+            //1 과 여기 사이에 참조를 잡고 커밋까지 끝난 업로드가 있으면 남긴다
+            List<Integer> committed = requiresNew().execute(status -> jdbcTemplate.queryForList(
+                    "select ref_count from img_file_ref where img_name = ?", Integer.class, fileName));
+            if (committed != null && !committed.isEmpty() && committed.get(0) > 0) {
+                return;
+            }
+
+            deleteWithDerived(path);
+        }
+    }
+
+    /**
+     * 파일(과 파생 파일)이 지워졌을 때 알림 - 파일명 기준 캐시 정리용 (크기별 사본 경로 등)
+     */
+    public void addPurgeListener(Consumer<String> listener) {
+        purgeListeners.add(listener);
+    }
+
+    private TransactionTemplate requiresNew() {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return requiresNew;
+    }
+
+    //파일과 같은 이름으로 시작하는 파생 파일 (크기별 사본: {이름}_card.jpg 등)
+    private void deleteWithDerived(Path path) {
+        deleteNow(path.toFile());
+
+        String fileName = path.getFileName().toString();
+        purgeListeners.forEach(listener -> listener.accept(fileName));
+
+        String base = fileName.contains(".") ? fileName.substring(0, fileName.lastIndexOf('.')) : fileName;
+        Path dir = path.toAbsolutePath().getParent();
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> derived = Files.newDirectoryStream(dir, base + "_*")) {
+            for (Path file : derived) {
+                deleteNow(file.toFile());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deleteNow(File deleteFile) {
         if(deleteFile.exists()) {
             deleteFile.delete();
-            log.info("파일을 삭제하였습니다. : {}", filePath);
+            log.info("파일을 삭제하였습니다. : {}", deleteFile.getPath());
         }else{
-            log.info("파일이 존재하지 않습니다. : {}", filePath);
+            log.info("파일이 존재하지 않습니다. : {}", deleteFile.getPath());
+        }
+    }
+
+    /**
+     * 미리 저장한 파일 (원본 파일명, 저장된 파일명, 경로)
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class StagedFile {
+        private final String oriFileName;
+        private final String fileName;
+        private final Path path;
+    }
+
+    private static Object lockFor(String fileName) {
+        return LOCKS[Math.floorMod(fileName.hashCode(), LOCKS.length)];
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
         }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
     }
 }
@@ -0,0 +1,73 @@
+package com.example.shop.service;
+
+/**
+ * 접근 빈도 추정용 Count-Min Sketch (TinyLFU)
+ * - 키마다 4개의 카운터(최대 15) 중 최소값을 빈도로 사용
+ * - 일정 횟수(sampleSize)마다 모든 카운터를 절반으로 줄여 오래된 인기를 잊는다 (aging)
+ * - 동기화는 호출하는 쪽(MainPageCache)에서 처리
+ */
+class FrequencySketch {
+
+    private static final int[] SEEDS = {0x97CB3127, 0x0B3D1A77, 0x5BD1E995, 0x2C1B3C6D};
+
+    private static final int MAX_COUNT = 15;
+
+    private final int[] table;
+
+    private final int width;
+
+    private final int sampleSize;
+
+    private int additions;
+
+    FrequencySketch(int maximumSize) {
+        int size = Integer.highestOneBit(Math.max(maximumSize, 16) * 4 - 1) << 1; // 2의 거듭제곱
+        this.width = size;
+        this.table = new int[size * SEEDS.length];
+        this.sampleSize = Math.max(maximumSize, 16) * 10;
+    }
+
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int min = MAX_COUNT;
+        for (int i = 0; i < SEEDS.length; i++) {
+            min = Math.min(min, table[indexOf(hash, i)]);
+        }
+        return min;
+    }
+
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int index = indexOf(hash, i);
+            if (table[index] < MAX_COUNT) {
+                table[index]++;
+                added = true;
+            }
+        }
+
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] >>>= 1;
+        }
+        additions >>>= 1;
+    }
+
+    private int indexOf(int hash, int row) {
+        int h = (hash ^ SEEDS[row]) * 0x9E3779B9;
+        h ^= h >>> 16;
+        return row * width + (h & (width - 1));
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        return hash ^ (hash >>> 13);
+    }
+}
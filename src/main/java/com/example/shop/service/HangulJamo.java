@@ -0,0 +1,64 @@
+package com.example.shop.service;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 한글 자모 분해 (자동완성용)
+ * - 완성형 음절을 초성/중성/종성 호환 자모로 나누고, 겹모음/겹받침은 기본 자모로 한 번 더 나눈다.
+ *   ("닭" -> ㄷㅏㄹㄱ, "과" -> ㄱㅗㅏ) 입력 중인 "달", "고" 도 접두어로 일치하도록
+ * - 공백은 제거, 영문은 소문자 ("무선 이어폰" 과 "무선이어폰" 을 같게 취급)
+ */
+public final class HangulJamo {
+
+    private static final char SYLLABLE_BEGIN = '가';
+    private static final char SYLLABLE_END = '힣';
+
+    private static final String CHOSEONG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+
+    private static final String[] JUNGSEONG = {
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ",
+            "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"};
+
+    private static final String[] JONGSEONG = {
+            "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ",
+            "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"};
+
+    //낱자로 입력된 겹자모 ("ㄺ", "ㅘ")
+    private static final Map<Character, String> COMPOUND_JAMO = Map.ofEntries(
+            Map.entry('ㄳ', "ㄱㅅ"), Map.entry('ㄵ', "ㄴㅈ"), Map.entry('ㄶ', "ㄴㅎ"),
+            Map.entry('ㄺ', "ㄹㄱ"), Map.entry('ㄻ', "ㄹㅁ"), Map.entry('ㄼ', "ㄹㅂ"),
+            Map.entry('ㄽ', "ㄹㅅ"), Map.entry('ㄾ', "ㄹㅌ"), Map.entry('ㄿ', "ㄹㅍ"),
+            Map.entry('ㅀ', "ㄹㅎ"), Map.entry('ㅄ', "ㅂㅅ"),
+            Map.entry('ㅘ', "ㅗㅏ"), Map.entry('ㅙ', "ㅗㅐ"), Map.entry('ㅚ', "ㅗㅣ"),
+            Map.entry('ㅝ', "ㅜㅓ"), Map.entry('ㅞ', "ㅜㅔ"), Map.entry('ㅟ', "ㅜㅣ"),
+            Map.entry('ㅢ', "ㅡㅣ"));
+
+    private HangulJamo() {
+    }
+
+    public static String decompose(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+
+        StringBuilder sb = new StringBuilder(normalized.length() * 3);
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+
+            if (c >= SYLLABLE_BEGIN && c <= SYLLABLE_END) {
+                int offset = c - SYLLABLE_BEGIN;
+                sb.append(CHOSEONG.charAt(offset / (21 * 28)));
+                sb.append(JUNGSEONG[offset % (21 * 28) / 28]);
+                sb.append(JONGSEONG[offset % 28]);
+            } else if (COMPOUND_JAMO.containsKey(c)) {
+                sb.append(COMPOUND_JAMO.get(c));
+            } else if (!Character.isWhitespace(c)) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
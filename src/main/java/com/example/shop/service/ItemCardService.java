@@ -0,0 +1,85 @@
+package com.example.shop.service;
+
+import com.example.shop.entity.Item;
+import com.example.shop.entity.ItemCard;
+import com.example.shop.repository.ItemCardRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * ============================================
+ * 클래스명   : ItemCardService
+ * 설명       : 상품 목록 조회 테이블(item_card) 관리
+ *             - 상품 등록/수정(ItemService), 대표 이미지 저장(ItemImgService) 시 같은 트랜잭션에서 갱신
+ *             - 메모리 스냅샷(CatalogSnapshot)은 커밋 후 같은 내용으로 갱신
+ * ============================================
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class ItemCardService {
+
+    private final ItemCardRepository itemCardRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogSnapshot catalogSnapshot;
+    private final MainPageCache mainPageCache;
+    private final CatalogCountCache catalogCountCache;
+
+    /**
+     * 상품 정보(이름, 요약, 가격, 판매 상태) 반영 - 없으면 새로 만든다.
+     */
+    public void syncItem(Item item) {
+        ItemCard card = itemCardRepository.findById(item.getId())
+                .orElse(null);
+
+        if (card == null) {
+            itemCardRepository.save(ItemCard.of(item));
+        } else {
+            card.update(item);
+        }
+        catalogSnapshot.upsertAfterCommit(item);
+    }
+
+    /**
+     * 대표 이미지 경로 반영
+     */
+    public void syncRepImg(Long itemId, String imgUrl) {
+        itemCardRepository.findById(itemId)
+                .ifPresent(card -> card.setImgUrl(imgUrl));
+        catalogSnapshot.updateRepImgAfterCommit(itemId, imgUrl);
+    }
+
+    /**
+     * 조회 테이블이 생기기 전의 상품을 기동 시 채워 넣는다.
+     * 이미 요청을 받는 중이므로 그 사이 캐시된 (비어 있거나 일부만 있는) 목록/건수를 지운다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 2)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void backfill() {
+        int count = jdbcTemplate.update(
+                "insert ignore into item_card " +
+                "(item_id, item_nm, item_summary, price, sales_count, item_sell_status, img_url, reg_time) " +
+                "select i.item_id, i.item_nm, " +
+                "       i.item_summary, " +
+                "       i.price, i.sales_count, i.item_sell_status, im.img_url, coalesce(i.reg_time, now()) " +
+                "from item i " +
+                "left join item_img im on im.item_id = i.item_id and im.repimg_yn = 'Y' " +
+                "where not exists (select 1 from item_card c where c.item_id = i.item_id)");
+
+        if (count > 0) {
+            mainPageCache.invalidateAll();
+            catalogCountCache.markStale();
+            log.info("상품 목록 조회 테이블 이관 완료 : {}건", count);
+        }
+    }
+}
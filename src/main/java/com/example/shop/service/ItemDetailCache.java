@@ -0,0 +1,222 @@
+package com.example.shop.service;
+
+import com.example.shop.dto.CacheStatsDto;
+import com.example.shop.dto.ItemFormDto;
+import com.example.shop.repository.ItemRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * ============================================
+ * 클래스명   : ItemDetailCache
+ * 설명       : 상품 상세(ItemFormDto + 이미지 목록) 캐시 (상품 단위, LRU)
+ *             - 수정 순번: 상품/이미지 수정 커밋 후 그 상품에 새 순번을 매기고 항목을 지운다.
+ *               조회 중에 수정되었으면 그 결과는 캐시에 넣지 않는다. (이전 내용이 다시 들어가지 않도록)
+ *             - 재고는 주문마다 바뀌므로 캐시하지 않고 꺼낼 때마다 덮어쓴다. (원장 -> stock_number 순)
+ *             - 조회수를 메모리에 모았다가 주기적으로 item_view_count 에 더하고,
+ *               기동 시 조회수 상위 N개 상품을 미리 채운다.
+ * ============================================
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ItemDetailCache {
+
+    private static final String FLUSH_VIEWS_SQL =
+            "insert into item_view_count (item_id, view_count) values (?, ?) " +
+            "on duplicate key update view_count = view_count + values(view_count)";
+
+    private final ItemRepository itemRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${shop.cache.item-detail.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${shop.cache.item-detail.max-size:1000}")
+    private int maxSize = 1000;
+
+    //access-order LinkedHashMap = LRU (가장 오래 안 쓴 항목이 맨 앞)
+    private final LinkedHashMap<Long, ItemFormDto> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    //상품 ID -> 마지막 수정 순번 (최근 수정된 상품만, 오래된 순서로 최대 maxSize 개)
+    private final LinkedHashMap<Long, Long> versions = new LinkedHashMap<>();
+
+    //수정 순번 - 조회 시작 시점의 값보다 큰 순번으로 수정된 상품은 그 조회 결과를 캐시하지 않는다
+    private long sequence;
+
+    //versions 에서 밀려난 순번 중 가장 큰 값 (이보다 먼저 시작한 조회는 수정 여부를 알 수 없으므로 캐시하지 않음)
+    private long forgottenSequence;
+
+    //아직 DB 에 더하지 않은 조회수 (존재하는 상품만, 더한 뒤에는 지운다)
+    private final Map<Long, Long> views = new ConcurrentHashMap<>();
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * 상품 상세 조회 - 캐시에 없으면 loader 로 조회해서 저장, 재고는 항상 현재 값
+     */
+    public ItemFormDto get(Long itemId, Function<Long, ItemFormDto> loader) {
+        if (!enabled) {
+            ItemFormDto detail = loader.apply(itemId);
+            countView(itemId);
+            return detail;
+        }
+
+        //없는 상품이면 loader 가 예외를 던지므로 조회수도 세지 않는다
+        ItemFormDto detail = cached(itemId, loader);
+        countView(itemId);
+
+        //캐시된 객체는 여러 요청이 공유하므로 복사본에 재고를 넣는다
+        ItemFormDto view = detail.copy();
+        view.setStockNumber(currentStock(itemId));
+        return view;
+    }
+
+    private ItemFormDto cached(Long itemId, Function<Long, ItemFormDto> loader) {
+        long startVersion;
+
+        synchronized (this) {
+            ItemFormDto detail = entries.get(itemId);
+            if (detail != null) {
+                hits++;
+                return detail;
+            }
+            misses++;
+            startVersion = sequence;
+        }
+
+        ItemFormDto detail = loader.apply(itemId);
+        put(itemId, startVersion, detail);
+        return detail;
+    }
+
+    private synchronized void put(Long itemId, long startVersion, ItemFormDto detail) {
+        if (versions.getOrDefault(itemId, 0L) > startVersion || forgottenSequence > startVersion) {
+            return;
+        }
+        entries.put(itemId, detail);
+
+        if (entries.size() > maxSize) {
+            Long eldest = entries.keySet().iterator().next();
+            entries.remove(eldest);
+            evictions++;
+        }
+    }
+
+    /**
+     * 상품/이미지 수정 - 새 순번을 매기고 항목을 지운다.
+     */
+    public synchronized void invalidate(Long itemId) {
+        versions.remove(itemId);
+        versions.put(itemId, ++sequence);
+        if (versions.size() > maxSize) {
+            Iterator<Long> eldest = versions.values().iterator();
+            forgottenSequence = eldest.next();
+            eldest.remove();
+        }
+
+        if (entries.remove(itemId) != null) {
+            invalidations++;
+        }
+    }
+
+    public void invalidateAfterCommit(Long itemId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(itemId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(itemId);
+            }
+        });
+    }
+
+    /**
+     * 조회수 상위 상품을 미리 채운다. (이미 캐시에 있는 상품은 건너뜀)
+     */
+    public int preload(int size, Function<Long, ItemFormDto> loader) {
+        if (!enabled || size <= 0) {
+            return 0;
+        }
+        List<Long> itemIds = jdbcTemplate.queryForList(
+                "select item_id from item_view_count order by view_count desc limit ?", Long.class,
+                Math.min(size, maxSize));
+
+        int loaded = 0;
+        for (Long itemId : itemIds) {
+            long startVersion;
+            synchronized (this) {
+                if (entries.containsKey(itemId)) {
+                    continue;
+                }
+                startVersion = sequence;
+            }
+            try {
+                put(itemId, startVersion, loader.apply(itemId));
+                loaded++;
+            } catch (RuntimeException e) {
+                log.info("상품 상세 미리 채우기 건너뜀 : {} ({})", itemId, e.getMessage());
+            }
+        }
+        return loaded;
+    }
+
+    private void countView(Long itemId) {
+        views.merge(itemId, 1L, Long::sum);
+    }
+
+    /**
+     * 모아 둔 조회수를 item_view_count 에 더한다.
+     * 항목을 꺼내면서 지우므로(remove) 그 사이 들어온 조회수는 새 항목으로 다음 번에 더해진다.
+     */
+    @Scheduled(fixedDelayString = "${shop.cache.item-detail.view-flush-ms:60000}")
+    @PreDestroy
+    public void flushViews() {
+        List<Object[]> rows = new ArrayList<>();
+        for (Long itemId : views.keySet()) {
+            Long viewed = views.remove(itemId);
+            if (viewed != null && viewed > 0) {
+                rows.add(new Object[]{itemId, viewed});
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(FLUSH_VIEWS_SQL, rows);
+        }
+    }
+
+    public synchronized CacheStatsDto stats() {
+        return new CacheStatsDto(hits, misses, evictions, 0, invalidations, entries.size(), maxSize);
+    }
+
+    //AdmissionGate 와 같은 순서: 원장(LEDGER 전략)에 있으면 원장, 없으면 DB
+    private int currentStock(Long itemId) {
+        StockLedger ledger = StockLedger.current();
+        Integer available = ledger == null ? null : ledger.available(itemId);
+        if (available != null) {
+            return available;
+        }
+
+        Integer stockNumber = itemRepository.findStockNumber(itemId);
+        return stockNumber == null ? 0 : stockNumber;
+    }
+}
@@ -1,17 +1,30 @@
 package com.example.shop.service;
 
+import com.example.shop.entity.Item;
 import com.example.shop.entity.ItemImg;
 import com.example.shop.repository.ItemImgRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import org.thymeleaf.util.StringUtils;
 
-import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * ============================================
@@ -19,6 +32,9 @@ import java.io.IOException;
  * 작성자     : 김대철
  * 작성일자   : 2025.06.24
  * 설명       : 상품이미지 업로드하고, 상품 이미지 정보를 저장
+ *             - 파일 저장은 트랜잭션 밖에서 병렬로 (stageItemImgs),
+ *               트랜잭션 안에서는 item_img 저장/수정과 파일 참조만 한 번에 (saveItemImgs / updateItemImgs),
+ *               트랜잭션이 끝나면 settle 로 커밋되지 않은 파일을 정리한다.
  * ============================================
  */
 
@@ -30,47 +46,166 @@ public class ItemImgService {
 
     private final ItemImgRepository itemImgRepository;
     private final FileService fileService;
+    private final ItemCardService itemCardService;
+    private final ItemDetailCache itemDetailCache;
+    private final ItemImgVariantService itemImgVariantService;
 
     @Value("${itemImgLocation}")
     private String itemImgLocation;
 
-    public void saveItemImg(ItemImg itemImg, MultipartFile itemImgFile) throws Exception {
+    //이미지 파일을 동시에 저장하는 스레드 수 (요청 여러 개가 나눠 씀)
+    @Value("${shop.image.upload.stage-threads:4}")
+    private int stageThreads = 4;
 
-        String oriImgName = itemImgFile.getOriginalFilename();
-        String imgName = "";
-        String imgUrl = "";
+    private ExecutorService stagers;
 
-        //파일 업로드
-        if(!StringUtils.isEmpty(oriImgName)){
-            imgName = fileService.uploadFile(itemImgLocation, oriImgName,
-                    itemImgFile.getBytes());
-            imgUrl = "/images/item/" + imgName;
+    @PostConstruct
+    public void start() {
+        stagers = Executors.newFixedThreadPool(stageThreads, r -> {
+            Thread thread = new Thread(r, "img-stage");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stagers.shutdown();
+    }
+
+    /**
+     * 업로드 파일을 병렬로 디스크에 저장 (트랜잭션 밖에서 호출 - DB 커넥션을 잡지 않음)
+     * @return 파일 순서대로 저장 결과, 빈 파일은 null
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<FileService.StagedFile> stageItemImgs(List<MultipartFile> itemImgFileList) throws Exception {
+
+        List<Future<FileService.StagedFile>> futures = new ArrayList<>();
+        for (MultipartFile itemImgFile : itemImgFileList) {
+            String oriImgName = itemImgFile.getOriginalFilename();
+            if (itemImgFile.isEmpty() || StringUtils.isEmpty(oriImgName)) {
+                futures.add(null);
+                continue;
+            }
+            futures.add(stagers.submit(() -> {
+                try (InputStream in = itemImgFile.getInputStream()) { //byte[] 로 읽지 않고 스트림으로 저장
+                    return fileService.stageFile(itemImgLocation, oriImgName, in);
+                }
+            }));
         }
 
-        //상품 이미지 정보 저장
-        itemImg.updateItemImg(oriImgName, imgName, imgUrl);
-        itemImgRepository.save(itemImg);
+        //하나라도 실패하면 이미 저장된 파일을 정리하고 첫 번째 오류를 던진다
+        List<FileService.StagedFile> stagedFiles = new ArrayList<>();
+        Exception failure = null;
+        for (Future<FileService.StagedFile> future : futures) {
+            if (future == null) {
+                stagedFiles.add(null);
+                continue;
+            }
+            try {
+                stagedFiles.add(future.get());
+            } catch (ExecutionException e) {
+                stagedFiles.add(null);
+                if (failure == null) {
+                    failure = e.getCause() instanceof Exception cause ? cause : e;
+                }
+            }
+        }
+        if (failure != null) {
+            fileService.settle(stagedFiles);
+            throw failure;
+        }
+        return stagedFiles;
     }
 
-    public void updateItemImg(Long itemImgId, MultipartFile itemImgFile) throws Exception {
+    /**
+     * 상품 이미지 정보 저장 - 첫 번째 이미지가 대표 이미지
+     */
+    public void saveItemImgs(Item item, List<FileService.StagedFile> stagedFiles) {
+
+        List<ItemImg> itemImgs = new ArrayList<>();
+        for (int i = 0; i < stagedFiles.size(); i++) {
+            FileService.StagedFile stagedFile = stagedFiles.get(i);
+
+            ItemImg itemImg = new ItemImg();
+            itemImg.setItem(item);
+            itemImg.setRepimgYn(i == 0 ? "Y" : "N"); // 메인페이지 보여줄 대표이미지
 
-        log.info("===================== : {}", itemImgId);
+            if (stagedFile == null) {
+                itemImg.updateItemImg("", "", "");
+            } else {
+                itemImg.updateItemImg(stagedFile.getOriFileName(), stagedFile.getFileName(),
+                        "/images/item/" + stagedFile.getFileName());
+            }
+            itemImgs.add(itemImg);
+        }
 
-        if(!itemImgFile.isEmpty()){
-            ItemImg savedItemImg = itemImgRepository.findById(itemImgId)
-                    .orElseThrow(() -> new EntityNotFoundException());
+        //ID 를 미리 할당하므로 insert 가 배치로 나간다
+        itemImgRepository.saveAll(itemImgs);
+        fileService.acquireAll(stagedFiles);
+        itemDetailCache.invalidateAfterCommit(item.getId());
 
-            //기존 이미지 파일 삭제
-            if(!StringUtils.isEmpty(savedItemImg.getImgName())){
+        for (ItemImg itemImg : itemImgs) {
+            itemImgVariantService.generateAfterCommit(itemImg.getId(), itemImg.getImgName());
+
+            //대표 이미지면 목록 조회 테이블에도 반영
+            if ("Y".equals(itemImg.getRepimgYn())) {
+                itemCardService.syncRepImg(item.getId(), itemImg.getImgUrl());
+            }
+        }
+    }
+
+    /**
+     * 상품 이미지 교체 - 새 파일이 있는 이미지만 (한 번에 조회, 변경 감지로 update 배치)
+     */
+    public void updateItemImgs(List<Long> itemImgIds, List<FileService.StagedFile> stagedFiles) {
+
+        List<Long> changedIds = new ArrayList<>();
+        for (int i = 0; i < itemImgIds.size(); i++) {
+            if (stagedFiles.get(i) != null) {
+                changedIds.add(itemImgIds.get(i));
+            }
+        }
+        if (changedIds.isEmpty()) {
+            return;
+        }
+        log.info("===================== : {}", changedIds);
+
+        Map<Long, ItemImg> savedItemImgs = itemImgRepository.findAllById(changedIds).stream()
+                .collect(Collectors.toMap(ItemImg::getId, Function.identity()));
+
+        for (int i = 0; i < itemImgIds.size(); i++) {
+            FileService.StagedFile stagedFile = stagedFiles.get(i);
+            if (stagedFile == null) {
+                continue;
+            }
+            ItemImg savedItemImg = savedItemImgs.get(itemImgIds.get(i));
+            if (savedItemImg == null) {
+                throw new EntityNotFoundException();
+            }
+
+            //기존 이미지 파일 참조 해제 (다른 상품이 같은 파일을 쓰지 않으면 커밋 후 사본과 함께 삭제)
+            if (!StringUtils.isEmpty(savedItemImg.getImgName())) {
                 fileService.deleteFile(itemImgLocation + "/" + savedItemImg.getImgName());
             }
 
-            String oriImgName = itemImgFile.getOriginalFilename();
-            String imgName = fileService.uploadFile(itemImgLocation,oriImgName,
-                    itemImgFile.getBytes());
-            String imgUrl = "/images/item/" + imgName;
+            String imgUrl = "/images/item/" + stagedFile.getFileName();
+            savedItemImg.updateItemImg(stagedFile.getOriFileName(), stagedFile.getFileName(), imgUrl);
+            itemDetailCache.invalidateAfterCommit(savedItemImg.getItem().getId());
+            itemImgVariantService.generateAfterCommit(savedItemImg.getId(), stagedFile.getFileName());
 
-            savedItemImg.updateItemImg(oriImgName, imgName, imgUrl);
+            if ("Y".equals(savedItemImg.getRepimgYn())) {
+                itemCardService.syncRepImg(savedItemImg.getItem().getId(), imgUrl);
+            }
         }
+        fileService.acquireAll(stagedFiles);
+    }
+
+    /**
+     * 트랜잭션이 끝난 뒤 호출 - 롤백으로 참조가 잡히지 않은 파일을 지운다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void settle(List<FileService.StagedFile> stagedFiles) {
+        fileService.settle(stagedFiles);
     }
 }
@@ -0,0 +1,385 @@
+package com.example.shop.service;
+
+import com.example.shop.constant.ImgVariant;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ============================================
+ * 클래스명   : ItemImgVariantService
+ * 설명       : 상품 이미지 크기별 사본(card 400 / detail 800 / full 1600px) 생성
+ *             - 업로드 커밋 후 작업 큐에 넣고, 고정 크기 스레드 풀에서 원본을 한 번만 읽어
+ *               큰 사본부터 차례로 줄여 가며 JPEG 으로 저장 (ImageIO, 외부 라이브러리 없음)
+ *             - 결과는 item_img 에 기록하고, 화면은 card()/detail()/full() 로 가장 작은 적당한 사본을 고른다.
+ *               (사본이 아직 없으면 원본 경로)
+ *             - 가로 x 세로가 max-pixels 를 넘는 이미지는 디코딩하지 않고 FAILED (원본 사용)
+ *             - 큐가 가득 찼거나 실패한 이미지는 PENDING 으로 남아 주기적으로 다시 시도 (max-attempts 회까지)
+ *             - 기존 이미지는 backfill() 로 PENDING 으로 바꾸면 같은 경로로 병렬 처리된다.
+ *             - 사본 파일은 원본과 함께 FileService 가 마지막 참조가 풀릴 때 지운다.
+ * ============================================
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ItemImgVariantService {
+
+    private static final String IMG_URL_PREFIX = "/images/item/";
+
+    private static final String MARK_READY_SQL =
+            "update item_img set variant_status = 'READY', card_img_url = ?, detail_img_url = ?, full_img_url = ? " +
+            "where item_img_id = ? and img_name = ?";
+
+    //이미지가 그 사이에 바뀌었으면(img_name 이 다르면) 아무것도 하지 않는다
+    //MySQL 은 SET 을 왼쪽부터 적용하므로 case 의 variant_attempts 는 증가한 값
+    private static final String MARK_FAILED_SQL =
+            "update item_img set variant_attempts = variant_attempts + 1, " +
+            "variant_status = case when variant_attempts >= ? then 'FAILED' else 'PENDING' end " +
+            "where item_img_id = ? and img_name = ?";
+
+    //다시 시도해도 소용없는 이미지 (너무 큼) - 바로 FAILED
+    private static final String MARK_REJECTED_SQL =
+            "update item_img set variant_attempts = variant_attempts + 1, variant_status = 'FAILED' " +
+            "where item_img_id = ? and img_name = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FileService fileService;
+
+    @Value("${itemImgLocation}")
+    private String itemImgLocation;
+
+    @Value("${shop.image.variant.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${shop.image.variant.threads:2}")
+    private int threads = 2;
+
+    @Value("${shop.image.variant.queue-capacity:1000}")
+    private int queueCapacity = 1000;
+
+    @Value("${shop.image.variant.max-attempts:3}")
+    private int maxAttempts = 3;
+
+    @Value("${shop.image.variant.jpeg-quality:0.85}")
+    private float jpegQuality = 0.85f;
+
+    //디코딩할 최대 픽셀 수 (가로 x 세로) - 넘으면 읽지 않는다 (디코딩 메모리 = 픽셀 수 x 4바이트)
+    @Value("${shop.image.variant.max-pixels:40000000}")
+    private long maxPixels = 40_000_000L;
+
+    private ThreadPoolExecutor workers;
+
+    //작업 중이거나 큐에 들어간 이미지 (같은 이미지를 두 번 넣지 않도록)
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    //원본 경로 -> 사본 경로 (ImgVariant 순서), READY 인 이미지만
+    private final Map<String, String[]> variantsByUrl = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void start() {
+        //원본 파일이 지워지면 사본도 함께 지워지므로 사본 경로도 잊는다
+        fileService.addPurgeListener(fileName -> variantsByUrl.remove(IMG_URL_PREFIX + fileName));
+
+        workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+            Thread thread = new Thread(r, "img-variant");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    // -------------------- [화면용 경로] --------------------
+
+    public String card(String imgUrl) {
+        return variantUrl(imgUrl, ImgVariant.CARD);
+    }
+
+    public String detail(String imgUrl) {
+        return variantUrl(imgUrl, ImgVariant.DETAIL);
+    }
+
+    public String full(String imgUrl) {
+        return variantUrl(imgUrl, ImgVariant.FULL);
+    }
+
+    private String variantUrl(String imgUrl, ImgVariant variant) {
+        if (imgUrl == null) {
+            return null;
+        }
+        String[] variants = variantsByUrl.get(imgUrl);
+        return variants == null ? imgUrl : variants[variant.ordinal()];
+    }
+
+    // -------------------- [생성] --------------------
+
+    /**
+     * 업로드 커밋 후 사본 생성 작업을 큐에 넣는다. (롤백되면 넣지 않음)
+     */
+    public void generateAfterCommit(Long itemImgId, String imgName) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(itemImgId, imgName);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submit(itemImgId, imgName);
+            }
+        });
+    }
+
+    /**
+     * @return 큐에 넣었으면 true (이미 작업 중이거나 큐가 가득 찼으면 false - 재시도에서 다시 넣는다)
+     */
+    boolean submit(Long itemImgId, String imgName) {
+        if (!enabled || imgName == null || imgName.isEmpty() || !inFlight.add(itemImgId)) {
+            return false;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    generate(itemImgId, imgName);
+                } finally {
+                    inFlight.remove(itemImgId);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(itemImgId);
+            return false;
+        }
+    }
+
+    private void generate(Long itemImgId, String imgName) {
+        long start = System.currentTimeMillis();
+        Path dir = Paths.get(itemImgLocation);
+        String originalUrl = IMG_URL_PREFIX + imgName;
+
+        try {
+            BufferedImage source = read(dir.resolve(imgName), maxPixels);
+
+            //큰 사본부터 만들고, 다음 사본은 방금 만든 사본을 줄인다 (원본 디코딩은 한 번)
+            ImgVariant[] variants = ImgVariant.values();
+            String[] urls = new String[variants.length];
+            BufferedImage current = source;
+            for (int i = variants.length - 1; i >= 0; i--) {
+                ImgVariant variant = variants[i];
+                if (Math.max(current.getWidth(), current.getHeight()) <= variant.getMaxSize()) {
+                    //더 줄일 필요가 없으면 한 단계 큰 사본(없으면 원본)을 그대로 쓴다
+                    urls[i] = i == variants.length - 1 ? originalUrl : urls[i + 1];
+                    continue;
+                }
+                current = fit(current, variant.getMaxSize());
+                String fileName = variantFileName(imgName, variant);
+                //파일명이 내용 해시이므로 같은 사진의 사본이 이미 있으면 그대로 쓴다
+                if (!Files.exists(dir.resolve(fileName))) {
+                    writeJpeg(current, dir, fileName);
+                }
+                urls[i] = IMG_URL_PREFIX + fileName;
+            }
+
+            int updated = jdbcTemplate.update(MARK_READY_SQL,
+                    urls[ImgVariant.CARD.ordinal()], urls[ImgVariant.DETAIL.ordinal()],
+                    urls[ImgVariant.FULL.ordinal()], itemImgId, imgName);
+            if (updated > 0) {
+                variantsByUrl.put(originalUrl, urls);
+            }
+            log.info("이미지 사본 생성 : {} ({}x{}), {}ms", imgName,
+                    source.getWidth(), source.getHeight(), System.currentTimeMillis() - start);
+        } catch (ImageTooLargeException e) {
+            log.warn("이미지 사본 생성 제외 : {} ({})", imgName, e.getMessage());
+            jdbcTemplate.update(MARK_REJECTED_SQL, itemImgId, imgName);
+        } catch (IOException | RuntimeException e) {
+            log.warn("이미지 사본 생성 실패 : {} ({})", imgName, e.getMessage());
+            jdbcTemplate.update(MARK_FAILED_SQL, maxAttempts, itemImgId, imgName);
+        }
+    }
+
+    /**
+     * 대기 중(PENDING)인 이미지를 큐에 넣는다. (큐 여유만큼)
+     */
+    @Scheduled(fixedDelayString = "${shop.image.variant.retry-ms:10000}", initialDelay = 10_000)
+    public void retryPending() {
+        if (!enabled) {
+            return;
+        }
+        int room = workers.getQueue().remainingCapacity();
+        if (room == 0) {
+            return;
+        }
+        List<Object[]> pending = jdbcTemplate.query(
+                "select item_img_id, img_name from item_img where variant_status = 'PENDING' " +
+                "order by item_img_id limit ?",
+                (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getString(2)}, room + inFlight.size());
+
+        int submitted = 0;
+        for (Object[] row : pending) {
+            if (submit((Long) row[0], (String) row[1])) {
+                submitted++;
+            }
+        }
+        if (submitted > 0) {
+            log.info("이미지 사본 생성 대기 {}건 큐에 추가", submitted);
+        }
+    }
+
+    /**
+     * 사본이 없는 기존 이미지와 실패한 이미지를 다시 대기 상태로 (처리는 retryPending 에서 병렬로)
+     * @return 대기 상태로 바뀐 이미지 수
+     */
+    public int backfill() {
+        int marked = jdbcTemplate.update(
+                "update item_img set variant_status = 'PENDING', variant_attempts = 0 " +
+                "where img_name is not null and img_name <> '' " +
+                "and (variant_status is null or variant_status = 'FAILED')");
+        log.info("이미지 사본 생성 대상 {}건", marked);
+        retryPending();
+        return marked;
+    }
+
+    /**
+     * 기동 시 사본 경로 적재
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        jdbcTemplate.query(
+                "select img_url, card_img_url, detail_img_url, full_img_url from item_img " +
+                "where variant_status = 'READY'",
+                rs -> {
+                    variantsByUrl.put(rs.getString(1),
+                            new String[]{rs.getString(2), rs.getString(3), rs.getString(4)});
+                });
+        log.info("이미지 사본 경로 적재 : {}건", variantsByUrl.size());
+    }
+
+    // -------------------- [이미지 처리] --------------------
+
+    /**
+     * 헤더에서 가로/세로만 먼저 읽고, maxPixels 이하일 때만 디코딩한다.
+     * (작은 파일도 픽셀 수가 크면 디코딩에 수 GB 가 필요할 수 있음)
+     */
+    static BufferedImage read(Path file, long maxPixels) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("읽을 수 없는 이미지 형식");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new ImageTooLargeException(reader.getWidth(0) + "x" + reader.getHeight(0)
+                            + " 픽셀 수가 제한(" + maxPixels + ")을 넘음");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    static final class ImageTooLargeException extends IOException {
+        ImageTooLargeException(String message) {
+            super(message);
+        }
+    }
+
+    static String variantFileName(String imgName, ImgVariant variant) {
+        int dot = imgName.lastIndexOf('.');
+        String base = dot < 0 ? imgName : imgName.substring(0, dot);
+        return base + "_" + variant.suffix() + ".jpg";
+    }
+
+    /**
+     * 긴 변이 maxSize 가 되도록 줄인다. 한 번에 크게 줄이면 계단 현상이 생기므로 절반씩 줄인 뒤 마지막에 맞춘다.
+     * 결과는 JPEG 으로 저장할 수 있도록 흰 배경의 RGB 이미지
+     */
+    static BufferedImage fit(BufferedImage source, int maxSize) {
+        double scale = (double) maxSize / Math.max(source.getWidth(), source.getHeight());
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, width, height, Color.WHITE, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+
+        return current;
+    }
+
+    //같은 폴더의 임시 파일에 쓴 뒤 원자적 rename (쓰다 만 사본이 보이지 않도록)
+    private void writeJpeg(BufferedImage image, Path dir, String fileName) throws IOException {
+        Path temp = Files.createTempFile(dir, ".variant-", ".tmp");
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        try {
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(jpegQuality);
+                writer.setOutput(out);
+                writer.write(null, new IIOImage(image, null, null), param);
+            }
+            Files.move(temp, dir.resolve(fileName), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        } finally {
+            writer.dispose();
+        }
+    }
+}
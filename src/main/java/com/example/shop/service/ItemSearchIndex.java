@@ -0,0 +1,296 @@
+package com.example.shop.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * ============================================
+ * 클래스명   : ItemSearchIndex
+ * 설명       : 상품명(itemNm)/상품 상세(itemDetail) 메모리 역색인
+ *             - LIKE '%검색어%' 전체 스캔 대신 토큰 -> 상품 ID 목록(posting)으로 후보를 찾는다.
+ *             - 한글 n-gram 토크나이저(KoreanNgramTokenizer), BM25 점수로 정렬
+ *             - 상품 등록/수정 커밋 후 해당 상품만 다시 색인, 기동 시 전체를 병렬로 색인
+ * ============================================
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ItemSearchIndex {
+
+    //BM25 파라미터
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    //상품명에 일치하면 상세 설명보다 높은 점수
+    private static final double NAME_WEIGHT = 2.0;
+    private static final double DETAIL_WEIGHT = 1.0;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${shop.search.index.enabled:true}")
+    private boolean enabled = true;
+
+    //색인은 상품 수정 때만 바뀌므로 읽기/쓰기 락으로 충분
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final FieldIndex name = new FieldIndex();
+    private final FieldIndex detail = new FieldIndex();
+
+    private volatile boolean ready;
+
+    /**
+     * 필드 하나의 역색인
+     */
+    static final class FieldIndex {
+        final Map<String, Map<Long, Integer>> postings = new HashMap<>(); // 토큰 -> (상품 ID -> 빈도)
+        final Map<Long, Map<String, Integer>> docTerms = new HashMap<>(); // 상품 ID -> 토큰 빈도 (삭제용)
+        final Map<Long, Integer> lengths = new HashMap<>();               // 상품 ID -> 토큰 수
+        long totalLength;
+
+        void add(Long itemId, Map<String, Integer> terms, int length) {
+            remove(itemId);
+            terms.forEach((term, tf) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(itemId, tf));
+            docTerms.put(itemId, terms);
+            lengths.put(itemId, length);
+            totalLength += length;
+        }
+
+        void remove(Long itemId) {
+            Map<String, Integer> terms = docTerms.remove(itemId);
+            if (terms == null) {
+                return;
+            }
+            for (String term : terms.keySet()) {
+                Map<Long, Integer> posting = postings.get(term);
+                posting.remove(itemId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+            totalLength -= lengths.remove(itemId);
+        }
+
+        Map<Long, Integer> posting(String term) {
+            return postings.getOrDefault(term, Map.of());
+        }
+
+        double averageLength() {
+            return lengths.isEmpty() ? 0 : (double) totalLength / lengths.size();
+        }
+    }
+
+    /**
+     * 색인 전 분석 결과 (토큰 빈도)
+     */
+    static final class Analyzed {
+        final Long itemId;
+        final Map<String, Integer> nameTerms = new HashMap<>();
+        final Map<String, Integer> detailTerms = new HashMap<>();
+        int nameLength;
+        int detailLength;
+
+        Analyzed(Long itemId, String itemNm, String itemDetail) {
+            this.itemId = itemId;
+            for (String token : KoreanNgramTokenizer.tokenize(itemNm)) {
+                nameTerms.merge(token, 1, Integer::sum);
+                nameLength++;
+            }
+            for (String token : KoreanNgramTokenizer.tokenize(itemDetail)) {
+                detailTerms.merge(token, 1, Integer::sum);
+                detailLength++;
+            }
+        }
+    }
+
+    /**
+     * 색인이 만들어져 검색에 사용할 수 있는지 (기동 직후 색인 전에는 LIKE 검색 사용)
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * 상품 하나 색인 (이미 있으면 교체)
+     */
+    public void index(Long itemId, String itemNm, String itemDetail) {
+        if (!enabled) {
+            return;
+        }
+        Analyzed analyzed = new Analyzed(itemId, itemNm, itemDetail);
+
+        lock.writeLock().lock();
+        try {
+            add(analyzed);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 트랜잭션이 커밋된 뒤에 색인 (롤백된 상품이 검색되지 않도록)
+     */
+    public void indexAfterCommit(Long itemId, String itemNm, String itemDetail) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            index(itemId, itemNm, itemDetail);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                index(itemId, itemNm, itemDetail);
+            }
+        });
+    }
+
+    public void remove(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            name.remove(itemId);
+            detail.remove(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 검색 - 검색어의 모든 토큰을 포함하는 상품 전체를 BM25 점수 순으로 반환
+     * 날짜/판매 상태/가격 조건은 색인에 없으므로 자르지 않고 모두 넘긴다. (잘라서 거르면 뒤쪽 일치 상품이 빠짐)
+     * @param includeDetail false 면 상품명만 검색
+     */
+    public List<Long> search(String query, boolean includeDetail) {
+        return search(query, includeDetail, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param limit 최대 결과 수
+     */
+    public List<Long> search(String query, boolean includeDetail, int limit) {
+
+        Set<String> tokens = new LinkedHashSet<>(KoreanNgramTokenizer.tokenizeQuery(query));
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            //1. 후보: 모든 토큰을 포함하는 상품 (희귀한 토큰부터 교집합)
+            List<String> byRarity = new ArrayList<>(tokens);
+            byRarity.sort(Comparator.comparingInt(token -> documentFrequency(token, includeDetail)));
+
+            Set<Long> candidates = null;
+            for (String token : byRarity) {
+                Set<Long> matched = new HashSet<>(name.posting(token).keySet());
+                if (includeDetail) {
+                    matched.addAll(detail.posting(token).keySet());
+                }
+
+                if (candidates == null) {
+                    candidates = matched;
+                } else {
+                    candidates.retainAll(matched);
+                }
+                if (candidates.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            //2. BM25 점수 계산
+            Map<Long, Double> scores = new HashMap<>();
+            for (Long itemId : candidates) {
+                double score = 0;
+                for (String token : tokens) {
+                    score += NAME_WEIGHT * bm25(name, token, itemId);
+                    if (includeDetail) {
+                        score += DETAIL_WEIGHT * bm25(detail, token, itemId);
+                    }
+                }
+                scores.put(itemId, score);
+            }
+
+            //3. 점수 내림차순, 같으면 최신 상품 먼저
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed()))
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int documentFrequency(String token, boolean includeDetail) {
+        return name.posting(token).size() + (includeDetail ? detail.posting(token).size() : 0);
+    }
+
+    private double bm25(FieldIndex field, String token, Long itemId) {
+        Map<Long, Integer> posting = field.posting(token);
+        Integer tf = posting.get(itemId);
+        if (tf == null) {
+            return 0;
+        }
+
+        int documents = field.lengths.size();
+        double idf = Math.log(1 + (documents - posting.size() + 0.5) / (posting.size() + 0.5));
+        double lengthRatio = field.lengths.get(itemId) / Math.max(field.averageLength(), 1);
+
+        return idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * lengthRatio));
+    }
+
+    private void add(Analyzed analyzed) {
+        name.add(analyzed.itemId, analyzed.nameTerms, analyzed.nameLength);
+        detail.add(analyzed.itemId, analyzed.detailTerms, analyzed.detailLength);
+    }
+
+    /**
+     * 기동 시 전체 상품 색인 - 토큰 분석은 병렬로, 색인 반영은 한 번에
+     * 색인 중에 등록/수정된 상품은 이미 최신 내용으로 색인되어 있으므로 덮어쓰지 않는다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+
+        List<Object[]> rows = jdbcTemplate.query("select item_id, item_nm, item_detail from item",
+                (rs, rowNum) -> new Object[]{rs.getLong("item_id"),
+                        rs.getString("item_nm"), rs.getString("item_detail")});
+
+        List<Analyzed> analyzedList = rows.parallelStream()
+                .map(row -> new Analyzed((Long) row[0], (String) row[1], (String) row[2]))
+                .toList();
+
+        lock.writeLock().lock();
+        try {
+            for (Analyzed analyzed : analyzedList) {
+                if (!name.docTerms.containsKey(analyzed.itemId)) {
+                    add(analyzed);
+                }
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("상품 검색 색인 완료 : {}개 상품, {}개 토큰, {}ms", analyzedList.size(),
+                name.postings.size() + detail.postings.size(), System.currentTimeMillis() - start);
+    }
+}
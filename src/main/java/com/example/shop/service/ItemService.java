@@ -1,5 +1,10 @@
 package com.example.shop.service;
 
+import com.example.shop.constant.ItemSortType;
+import com.example.shop.dto.CacheStatsDto;
+import com.example.shop.dto.CatalogFacetDto;
+import com.example.shop.dto.CursorPage;
+import com.example.shop.dto.ItemCursor;
 import com.example.shop.dto.ItemFormDto;
 import com.example.shop.dto.ItemImgDto;
 import com.example.shop.dto.ItemSearchDto;
@@ -11,15 +16,25 @@ import com.example.shop.repository.ItemRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
 @Transactional
@@ -30,29 +45,54 @@ public class ItemService {
     private final ItemRepository itemRepository;
     private final ItemImgRepository itemImgRepository;
     private final ItemImgService itemImgService;
+    private final ItemCardService itemCardService;
+    private final SoldOutRegistry soldOutRegistry;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemSuggestIndex itemSuggestIndex;
+    private final ItemDetailCache itemDetailCache;
+    private final CatalogSnapshot catalogSnapshot;
+    private final MainPageCache mainPageCache;
+    private final CatalogCountCache catalogCountCache;
+    private final TransactionTemplate transactionTemplate;
 
-    public Long saveItem(ItemFormDto itemFormDto, List<MultipartFile> itemImgFileList) throws Exception {
+    //기동 시 상세 캐시에 미리 채울 조회수 상위 상품 수
+    @Value("${shop.cache.item-detail.preload-size:100}")
+    private int detailPreloadSize;
 
-        //상품 등록
-        Item item = itemFormDto.createItem();
-        itemRepository.save(item);
+    //true 면 목록 조회 시 count 쿼리 없이 pageSize + 1 건만 조회 (전체 건수는 CatalogCountCache)
+    @Value("${shop.catalog.slice.enabled:true}")
+    private boolean sliceEnabled;
 
-        //이미지 등록
-        for(MultipartFile multipartFile : itemImgFileList) {
+    /**
+     * 상품 등록
+     * - 이미지 파일은 트랜잭션을 열기 전에 병렬로 저장하고, 트랜잭션에서는 DB 쓰기만 한다.
+     *   (파일 쓰는 동안 DB 커넥션을 잡지 않음)
+     * - 롤백되면 저장해 둔 파일을 지운다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Long saveItem(ItemFormDto itemFormDto, List<MultipartFile> itemImgFileList) throws Exception {
 
-            ItemImg itemImg = new ItemImg();
+        List<FileService.StagedFile> stagedFiles = itemImgService.stageItemImgs(itemImgFileList);
+        try {
+            return transactionTemplate.execute(status -> {
 
-            itemImg.setItem(item);
+                //상품 등록
+                Item item = itemFormDto.createItem();
+                itemRepository.save(item);
+                itemCardService.syncItem(item);
+                itemSearchIndex.indexAfterCommit(item.getId(), item.getItemNm(), item.getItemDetail());
+                itemSuggestIndex.indexAfterCommit(item.getId(), item.getItemNm(), item.getSalesCount());
+                mainPageCache.invalidateAfterCommit(item.getId(), item.getItemNm(), item.getItemDetail());
+                catalogCountCache.markStaleAfterCommit();
 
-            if( itemImgFileList.get(0).equals(multipartFile)){
-                itemImg.setRepimgYn("Y");  // 메인페이지 보여줄 대표이미지
-            }else{
-                itemImg.setRepimgYn("N");
-            }
-            itemImgService.saveItemImg(itemImg, multipartFile);
-        }
+                //이미지 등록 (첫 번째 이미지가 메인페이지에 보여줄 대표이미지)
+                itemImgService.saveItemImgs(item, stagedFiles);
 
-        return item.getId();
+                return item.getId();
+            });
+        } finally {
+            itemImgService.settle(stagedFiles);
+        }
     }
 
 
@@ -70,6 +110,27 @@ public class ItemService {
      */
     @Transactional(readOnly = true)
     public ItemFormDto getItemDtl(Long itemId) {
+        //상품/이미지는 캐시(ItemDetailCache), 재고는 매번 현재 값
+        return itemDetailCache.get(itemId, this::loadItemDtl);
+    }
+
+    /**
+     * 기동 시 조회수 상위 상품의 상세 정보를 캐시에 미리 채운다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void preloadItemDtl() {
+        long start = System.currentTimeMillis();
+        int loaded = itemDetailCache.preload(detailPreloadSize, this::loadItemDtl);
+        log.info("상품 상세 캐시 미리 채우기 : {}개, {}ms", loaded, System.currentTimeMillis() - start);
+    }
+
+    @Transactional(readOnly = true)
+    public CacheStatsDto getItemDetailCacheStats() {
+        return itemDetailCache.stats();
+    }
+
+    private ItemFormDto loadItemDtl(Long itemId) {
 
         List<ItemImg> itemImgList = itemImgRepository.findByItemIdOrderByIdAsc(itemId);
 
@@ -92,35 +153,192 @@ public class ItemService {
         return itemFormDto;
     }
 
+    //상품 등록과 같은 순서: 파일 저장(트랜잭션 밖, 병렬) -> DB 수정 -> 롤백 시 파일 정리
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Long updateItem(ItemFormDto itemFormDto, List<MultipartFile> itemImgFileList) throws Exception {
 
-        //상품 수정
-        Item item = itemRepository.findById(itemFormDto.getId())
-                .orElseThrow(() -> new EntityNotFoundException());
+        List<FileService.StagedFile> stagedFiles = itemImgService.stageItemImgs(itemImgFileList);
+        try {
+            return transactionTemplate.execute(status -> {
 
-        //상품 데이타 수정
-        item.upateItem(itemFormDto);
-        
-        //상품 이미지 수정
-        List<Long> itemImgIds = itemFormDto.getItemImgIds();
+                //상품 수정
+                Item item = itemRepository.findById(itemFormDto.getId())
+                        .orElseThrow(() -> new EntityNotFoundException());
 
-        log.info("itemImgIds : {}",itemImgIds);
+                //상품 데이타 수정
+                item.upateItem(itemFormDto);
+                itemCardService.syncItem(item);
+                soldOutRegistry.replenishedAfterCommit(item.getId(), item.getStockNumber());
+                itemSearchIndex.indexAfterCommit(item.getId(), item.getItemNm(), item.getItemDetail());
+                itemSuggestIndex.indexAfterCommit(item.getId(), item.getItemNm(), item.getSalesCount());
+                mainPageCache.invalidateAfterCommit(item.getId(), item.getItemNm(), item.getItemDetail());
+                itemDetailCache.invalidateAfterCommit(item.getId());
+                catalogCountCache.markStaleAfterCommit();
 
-        for(int i=0; i<itemImgIds.size(); i++) {
-            itemImgService.updateItemImg(itemImgIds.get(i), itemImgFileList.get(i));
-        }
+                //상품 이미지 수정
+                List<Long> itemImgIds = itemFormDto.getItemImgIds();
+
+                log.info("itemImgIds : {}",itemImgIds);
+
+                itemImgService.updateItemImgs(itemImgIds, stagedFiles);
 
-        return item.getId();
+                return item.getId();
+            });
+        } finally {
+            itemImgService.settle(stagedFiles);
+        }
     }
 
     @Transactional(readOnly = true)
     public Page<Item> getAdminItemPage(ItemSearchDto searchDto, Pageable pageable) {
+
+        //상품명 검색은 검색 색인 사용 (등록자 검색, 색인 준비 전에는 LIKE)
+        if ("itemNm".equals(searchDto.getSearchBy()) && useSearchIndex(searchDto)) {
+            List<Long> rankedIds = itemSearchIndex.search(searchDto.getSearchQuery(), false);
+            return itemRepository.getAdminItemPage(searchDto, pageable, rankedIds);
+        }
+
+        if (sliceEnabled) {
+            Slice<Item> slice = itemRepository.getAdminItemSlice(searchDto, pageable);
+            long total = catalogCountCache.total("admin|" + searchDto.cacheKey(), slice,
+                    () -> itemRepository.countAdminItems(searchDto));
+            return new PageImpl<>(slice.getContent(), pageable, total);
+        }
         return itemRepository.getAdminItemPage(searchDto, pageable);
     }
 
+    /**
+     * 메인 검색어의 검색 색인 결과 (상품명 + 상세 설명, BM25 점수 순)
+     * 목록과 조건별 건수에 같이 넘겨서 요청 하나에 한 번만 검색한다.
+     * @return 검색어가 없거나 색인이 준비되기 전이면 null (상품명 LIKE 검색)
+     */
+    public List<Long> searchMainItemIds(ItemSearchDto searchDto) {
+        return useSearchIndex(searchDto) ? itemSearchIndex.search(searchDto.getSearchQuery(), true) : null;
+    }
+
+    /**
+     * 캐시에 있으면 트랜잭션(커넥션) 없이 바로 반환, 없을 때만 읽기 전용 트랜잭션을 열어 조회
+     * @param searchIds searchMainItemIds 결과
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Page<MainItemDto> getMainItemPage(ItemSearchDto searchDto, Pageable pageable, List<Long> searchIds) {
+        return mainPageCache.get(searchDto, pageable,
+                () -> readOnly(() -> loadMainItemPage(searchDto, pageable, searchIds)));
+    }
+
+    private <T> T readOnly(Supplier<T> work) {
+        TransactionTemplate template = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        template.setReadOnly(true);
+        return template.execute(status -> work.get());
+    }
+
+    /**
+     * 메인 페이지 검색 조건별 건수 (판매 상태, 등록일, 가격대) - 메모리 스냅샷에서 집계, DB 조회 없음
+     * @param searchIds searchMainItemIds 결과
+     * @return 스냅샷 적재 전이면 null
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CatalogFacetDto getMainFacets(ItemSearchDto searchDto, List<Long> searchIds) {
+        return catalogSnapshot.facets(searchDto, searchIds);
+    }
+
     @Transactional(readOnly = true)
-    public Page<MainItemDto> getMainItemPage(ItemSearchDto searchDto, Pageable pageable) {
+    public CacheStatsDto getMainPageCacheStats() {
+        return mainPageCache.stats();
+    }
+
+    private Page<MainItemDto> loadMainItemPage(ItemSearchDto searchDto, Pageable pageable, List<Long> searchIds) {
+        Page<MainItemDto> page = findMainItemPage(searchDto, pageable, searchIds);
+        page.getContent().forEach(item -> item.setSoldOut(soldOutRegistry.isSoldOut(item.getId())));
+        return page;
+    }
+
+    private Page<MainItemDto> findMainItemPage(ItemSearchDto searchDto, Pageable pageable, List<Long> searchIds) {
+
+        //메인 검색은 상품명 + 상세 설명을 BM25 점수 순으로
+        if (searchIds != null) {
+            return itemRepository.getMainItemPage(searchDto, pageable, searchIds);
+        }
+
+        if (sliceEnabled) {
+            Slice<MainItemDto> slice = itemRepository.getMainItemSlice(searchDto, pageable);
+            long total = catalogCountCache.total("main|" + searchDto.cacheKey(), slice,
+                    () -> itemRepository.countMainItems(searchDto));
+            return new PageImpl<>(slice.getContent(), pageable, total);
+        }
         return itemRepository.getMainItemPage(searchDto, pageable);
     }
 
+    /**
+     * 관리자 상품 목록 커서(keyset) 조회 - 정렬 기준 인덱스에서 커서 다음부터 읽으므로 페이지 깊이와 무관
+     * @param cursor 기준 커서 (null/빈 값이면 첫 페이지)
+     * @param prev   true 면 커서 이전 페이지
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Item> getAdminItemScroll(ItemSearchDto searchDto, String cursor, boolean prev, int size) {
+
+        ItemSortType sort = searchDto.sortOrDefault();
+        ItemCursor itemCursor = isFirstPage(cursor) ? null : ItemCursor.decode(cursor, sort);
+
+        List<Item> rows = itemRepository.getAdminItemScroll(searchDto, itemCursor, prev, size + 1);
+
+        return toCursorPage(rows, size, prev, isFirstPage(cursor),
+                item -> new ItemCursor(sort, sortValue(sort, item.getPrice(), item.getSalesCount()), item.getId()));
+    }
+
+    /**
+     * 메인 상품 목록 커서(keyset) 조회
+     * - searchIds(searchMainItemIds 결과)가 있으면 색인이 찾은 상품 중에서 정렬 기준 순서로 (점수순 아님)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<MainItemDto> getMainItemScroll(ItemSearchDto searchDto, String cursor, boolean prev, int size,
+                                                     List<Long> searchIds) {
+
+        ItemSortType sort = searchDto.sortOrDefault();
+        ItemCursor itemCursor = isFirstPage(cursor) ? null : ItemCursor.decode(cursor, sort);
+
+        List<MainItemDto> rows = itemRepository.getMainItemScroll(searchDto, searchIds, itemCursor, prev, size + 1);
+        rows.forEach(item -> item.setSoldOut(soldOutRegistry.isSoldOut(item.getId())));
+
+        return toCursorPage(rows, size, prev, isFirstPage(cursor),
+                item -> new ItemCursor(sort, sortValue(sort, item.getPrice(), item.getSalesCount()), item.getId()));
+    }
+
+    private boolean isFirstPage(String cursor) {
+        return cursor == null || cursor.isEmpty();
+    }
+
+    //size + 1 건을 읽었으면 그 방향으로 더 있음 (이전 페이지는 역순으로 읽었으므로 뒤집는다)
+    private <T> CursorPage<T> toCursorPage(List<T> rows, int size, boolean prev, boolean firstPage,
+                                           Function<T, ItemCursor> cursorOf) {
+        boolean hasMore = rows.size() > size;
+        rows = new ArrayList<>(rows.subList(0, Math.min(size, rows.size())));
+
+        if (prev) {
+            Collections.reverse(rows);
+        }
+
+        boolean hasPrev = prev ? hasMore : !firstPage;
+        boolean hasNext = prev || hasMore;
+
+        String prevCursor = rows.isEmpty() ? null : cursorOf.apply(rows.get(0)).encode();
+        String nextCursor = rows.isEmpty() ? null : cursorOf.apply(rows.get(rows.size() - 1)).encode();
+
+        return new CursorPage<>(rows, prevCursor, nextCursor, hasPrev, hasNext);
+    }
+
+    private Integer sortValue(ItemSortType sort, Integer price, int salesCount) {
+        return switch (sort) {
+            case NEWEST -> null;
+            case PRICE_ASC, PRICE_DESC -> price;
+            case BEST_SELLING -> salesCount;
+        };
+    }
+
+    private boolean useSearchIndex(ItemSearchDto searchDto) {
+        return itemSearchIndex.isReady()
+                && searchDto.getSearchQuery() != null
+                && !searchDto.getSearchQuery().isBlank();
+    }
+
 }
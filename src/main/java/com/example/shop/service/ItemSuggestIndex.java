@@ -0,0 +1,408 @@
+package com.example.shop.service;
+
+import com.example.shop.dto.ItemSuggestDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * ============================================
+ * 클래스명   : ItemSuggestIndex
+ * 설명       : 검색어 자동완성용 상품명 압축 접두어 트라이 (radix trie)
+ *             - 키는 자모로 분해한 상품명 (HangulJamo), 각 단어 시작 위치마다 키를 넣어 중간 단어로도 찾는다.
+ *             - 노드마다 하위 트리의 인기(판매량) 상위 상품 ID 를 미리 계산해 두어
+ *               조회는 접두어 길이만큼 내려가서 목록을 읽기만 한다. (DB 조회 없음)
+ *             - 상품 등록/수정 커밋 후, 판매량 집계 후 바뀐 경로의 노드만 다시 계산
+ * ============================================
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ItemSuggestIndex {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${shop.search.suggest.enabled:true}")
+    private boolean enabled = true;
+
+    //노드마다 보관하는 상위 상품 수 (한 번에 보여줄 수 있는 최대 자동완성 개수)
+    @Value("${shop.search.suggest.max-size:10}")
+    private int maxSize = 10;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Node root = new Node("");
+
+    private final Map<Long, Suggestion> suggestions = new HashMap<>();
+
+    //판매량 내림차순, 같으면 최신 상품 먼저
+    private final Comparator<Long> byPopularity = Comparator
+            .comparingInt((Long itemId) -> suggestions.get(itemId).popularity).reversed()
+            .thenComparing(Comparator.<Long>reverseOrder());
+
+    /**
+     * 트라이 노드 - label 은 부모에서 내려오는 간선 문자열 (자식이 하나뿐인 경로는 한 간선으로 압축)
+     */
+    static final class Node {
+        String label;
+        final Map<Character, Node> children = new HashMap<>(4);
+        Set<Long> items;         // 이 노드에서 끝나는 키의 상품 (없으면 null)
+        List<Long> top = List.of(); // 하위 트리 인기 상위 상품 ID
+
+        Node(String label) {
+            this.label = label;
+        }
+    }
+
+    /**
+     * 색인된 상품 (키는 삭제/인기 갱신 때 경로를 다시 찾는 용도)
+     */
+    static final class Suggestion {
+        final String itemNm;
+        final Set<String> keys;
+        int popularity;
+
+        Suggestion(String itemNm, Set<String> keys, int popularity) {
+            this.itemNm = itemNm;
+            this.keys = keys;
+            this.popularity = popularity;
+        }
+    }
+
+    /**
+     * 자동완성 - 입력 중인 검색어로 시작하는 (단어 단위) 상품명을 인기순으로 반환
+     */
+    public List<ItemSuggestDto> suggest(String query, int limit) {
+        String key = HangulJamo.decompose(query);
+        if (!enabled || key.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = find(key);
+            if (node == null) {
+                return List.of();
+            }
+            return node.top.stream()
+                    .limit(Math.min(limit, maxSize))
+                    .map(itemId -> new ItemSuggestDto(itemId, suggestions.get(itemId).itemNm))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 상품 하나 색인 (상품명이 바뀌었으면 이전 키를 지우고 다시 넣는다)
+     */
+    public void index(Long itemId, String itemNm, int popularity) {
+        if (!enabled) {
+            return;
+        }
+        Set<String> keys = keys(itemNm);
+
+        lock.writeLock().lock();
+        try {
+            Suggestion old = suggestions.get(itemId);
+            if (old != null) {
+                for (String key : old.keys) {
+                    recompute(remove(key, itemId));
+                }
+            }
+
+            suggestions.put(itemId, new Suggestion(itemNm, keys, popularity));
+            for (String key : keys) {
+                recompute(insert(key, itemId));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 트랜잭션이 커밋된 뒤에 색인 (롤백된 상품이 제안되지 않도록)
+     */
+    public void indexAfterCommit(Long itemId, String itemNm, int popularity) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            index(itemId, itemNm, popularity);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                index(itemId, itemNm, popularity);
+            }
+        });
+    }
+
+    public void remove(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            Suggestion old = suggestions.get(itemId);
+            if (old == null) {
+                return;
+            }
+            for (String key : old.keys) {
+                recompute(remove(key, itemId));
+            }
+            suggestions.remove(itemId); //정렬에 판매량이 필요하므로 트라이에서 모두 빠진 뒤에 삭제
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 판매량 갱신 (상품 ID -> 판매량) - 바뀐 상품의 키 경로에 있는 노드만 다시 계산
+     */
+    public void updatePopularity(Map<Long, Integer> popularity) {
+        if (!enabled || popularity.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            //트라이 구조는 그대로이므로 경로상의 위치가 곧 깊이
+            Map<Node, Integer> changed = new HashMap<>();
+            popularity.forEach((itemId, sold) -> {
+                Suggestion suggestion = suggestions.get(itemId);
+                if (suggestion == null || suggestion.popularity == sold) {
+                    return;
+                }
+                suggestion.popularity = sold;
+                for (String key : suggestion.keys) {
+                    List<Node> path = path(key);
+                    for (int depth = 0; depth < path.size(); depth++) {
+                        changed.put(path.get(depth), depth);
+                    }
+                }
+            });
+
+            //깊은 노드부터 (자식의 목록이 먼저 갱신되어야 함)
+            changed.entrySet().stream()
+                    .sorted(Map.Entry.<Node, Integer>comparingByValue().reversed())
+                    .forEach(entry -> recompute(entry.getKey()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //상품명 전체 + 두 번째 단어부터 각 단어 시작 위치 ("무선 블루투스 이어폰" -> 무선블루투스이어폰, 블루투스이어폰, 이어폰)
+    static Set<String> keys(String itemNm) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (itemNm == null) {
+            return keys;
+        }
+        String[] words = itemNm.trim().split("\\s+");
+        for (int i = 0; i < words.length; i++) {
+            String key = HangulJamo.decompose(String.join("", List.of(words).subList(i, words.length)));
+            if (!key.isEmpty()) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    //접두어로 끝나는 노드 (간선 중간에서 끝나면 그 간선 아래 노드)
+    private Node find(String key) {
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.children.get(key.charAt(i));
+            if (child == null) {
+                return null;
+            }
+            int common = commonPrefix(child.label, key, i);
+            if (i + common == key.length()) {
+                return child;
+            }
+            if (common < child.label.length()) {
+                return null;
+            }
+            node = child;
+            i += common;
+        }
+        return node;
+    }
+
+    //키와 정확히 일치하는 경로 (루트 포함)
+    private List<Node> path(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.children.get(key.charAt(i));
+            if (child == null || !key.startsWith(child.label, i)) {
+                return List.of();
+            }
+            node = child;
+            path.add(node);
+            i += child.label.length();
+        }
+        return path;
+    }
+
+    //키 삽입 - 간선 중간에서 갈라지면 간선을 나눈다. 반환값은 다시 계산할 경로
+    private List<Node> insert(String key, Long itemId) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.children.get(key.charAt(i));
+            if (child == null) {
+                child = new Node(key.substring(i));
+                node.children.put(key.charAt(i), child);
+                path.add(child);
+                node = child;
+                break;
+            }
+
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length()) {
+                Node split = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                split.children.put(child.label.charAt(0), child);
+                split.top = child.top;
+                node.children.put(split.label.charAt(0), split);
+                child = split;
+            }
+            path.add(child);
+            node = child;
+            i += common;
+        }
+
+        if (node.items == null) {
+            node.items = new HashSet<>(2);
+        }
+        node.items.add(itemId);
+        return path;
+    }
+
+    //키 삭제 - 빈 노드는 지우고, 자식이 하나만 남은 노드는 자식과 합친다. 반환값은 다시 계산할 경로
+    private List<Node> remove(String key, Long itemId) {
+        List<Node> path = new ArrayList<>(path(key));
+        if (path.isEmpty()) {
+            return path;
+        }
+
+        Node node = path.get(path.size() - 1);
+        if (node.items != null) {
+            node.items.remove(itemId);
+            if (node.items.isEmpty()) {
+                node.items = null;
+            }
+        }
+
+        for (int d = path.size() - 1; d > 0; d--) {
+            Node current = path.get(d);
+            Node parent = path.get(d - 1);
+            if (current.items != null) {
+                break;
+            }
+            if (current.children.isEmpty()) {
+                parent.children.remove(current.label.charAt(0));
+                path.remove(d);
+            } else if (current.children.size() == 1) {
+                Node only = current.children.values().iterator().next();
+                only.label = current.label + only.label;
+                parent.children.put(only.label.charAt(0), only);
+                path.remove(d);
+                break;
+            } else {
+                break;
+            }
+        }
+        return path;
+    }
+
+    //경로의 아래쪽 노드부터 상위 상품 목록을 다시 계산
+    private void recompute(List<Node> path) {
+        for (int d = path.size() - 1; d >= 0; d--) {
+            recompute(path.get(d));
+        }
+    }
+
+    private void recompute(Node node) {
+        Set<Long> candidates = new HashSet<>();
+        if (node.items != null) {
+            candidates.addAll(node.items);
+        }
+        for (Node child : node.children.values()) {
+            candidates.addAll(child.top);
+        }
+        node.top = candidates.stream()
+                .sorted(byPopularity)
+                .limit(maxSize)
+                .toList();
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * 기동 시 전체 상품 색인 - 키 분해는 병렬로, 트라이 반영 후 상위 목록은 한 번에 계산
+     * 색인 중에 등록/수정된 상품은 이미 최신 내용으로 색인되어 있으므로 덮어쓰지 않는다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+
+        List<Object[]> rows = jdbcTemplate.query("select item_id, item_nm, sales_count from item",
+                (rs, rowNum) -> new Object[]{rs.getLong("item_id"), rs.getString("item_nm"),
+                        rs.getInt("sales_count")});
+
+        List<Map.Entry<Long, Suggestion>> analyzed = rows.parallelStream()
+                .map(row -> Map.entry((Long) row[0],
+                        new Suggestion((String) row[1], keys((String) row[1]), (Integer) row[2])))
+                .toList();
+
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<Long, Suggestion> entry : analyzed) {
+                if (suggestions.putIfAbsent(entry.getKey(), entry.getValue()) == null) {
+                    for (String key : entry.getValue().keys) {
+                        insert(key, entry.getKey());
+                    }
+                }
+            }
+            recomputeAll(root);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("상품 자동완성 색인 완료 : {}개 상품, {}ms", analyzed.size(), System.currentTimeMillis() - start);
+    }
+
+    private void recomputeAll(Node node) {
+        for (Node child : node.children.values()) {
+            recomputeAll(child);
+        }
+        recompute(node);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.shop.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 상품 검색용 토크나이저
+ * - 한글: 음절 단위 1-gram + 2-gram ("무선이어폰" -> 무,선,이,어,폰,무선,선이,이어,어폰)
+ *   형태소 분석 없이도 "이어폰", "무선" 같은 부분 검색이 가능하도록 n-gram 사용
+ * - 영문/숫자: 소문자로 바꾼 뒤 1-gram + 2-gram + 3-gram ("15pro" -> 1,15,15p,5,5p,5pr,...)
+ *   "pro" 로 "15pro" 를 찾을 수 있도록, 한 글자 검색("a", "7")도 LIKE 처럼 단어 중간에서 찾도록
+ */
+public final class KoreanNgramTokenizer {
+
+    private KoreanNgramTokenizer() {
+    }
+
+    /**
+     * 색인용 토큰 (한글은 1-gram 과 2-gram, 영문/숫자는 1-gram 부터 3-gram 까지 모두)
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String word : words(text)) {
+            if (isHangul(word)) {
+                for (int i = 0; i < word.length(); i++) {
+                    tokens.add(word.substring(i, i + 1));
+                    if (i + 1 < word.length()) {
+                        tokens.add(word.substring(i, i + 2));
+                    }
+                }
+            } else {
+                for (int i = 0; i < word.length(); i++) {
+                    tokens.add(word.substring(i, i + 1));
+                    if (i + 1 < word.length()) {
+                        tokens.add(word.substring(i, i + 2));
+                    }
+                    if (i + 2 < word.length()) {
+                        tokens.add(word.substring(i, i + 3));
+                    }
+                }
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 검색어용 토큰 (한글은 2-gram, 영문/숫자는 3-gram, 그보다 짧으면 그대로)
+     */
+    public static List<String> tokenizeQuery(String query) {
+        List<String> tokens = new ArrayList<>();
+        for (String word : words(query)) {
+            int n = isHangul(word) ? 2 : 3;
+            if (word.length() > n) {
+                for (int i = 0; i + n <= word.length(); i++) {
+                    tokens.add(word.substring(i, i + n));
+                }
+            } else {
+                tokens.add(word);
+            }
+        }
+        return tokens;
+    }
+
+    //한글 음절 / 영문·숫자 경계에서 단어를 나눈다 ("아이폰15pro" -> 아이폰, 15pro)
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return words;
+        }
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+
+        StringBuilder current = new StringBuilder();
+        int currentType = 0; // 0: 없음, 1: 한글, 2: 영문/숫자
+
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            int type = isHangul(c) ? 1 : Character.isLetterOrDigit(c) ? 2 : 0;
+
+            if (type != currentType && current.length() > 0) {
+                words.add(current.toString());
+                current.setLength(0);
+            }
+            if (type != 0) {
+                current.append(c);
+            }
+            currentType = type;
+        }
+        if (current.length() > 0) {
+            words.add(current.toString());
+        }
+        return words;
+    }
+
+    private static boolean isHangul(String word) {
+        return isHangul(word.charAt(0));
+    }
+
+    private static boolean isHangul(char c) {
+        return c >= '가' && c <= '힣';
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.shop.service;
+
+import com.example.shop.constant.StockStrategyType;
+import com.example.shop.entity.Item;
+import com.example.shop.repository.ItemRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 메모리 재고 원장(StockLedger)에서 예약 - Item.removeStock 이 원장으로 위임한다.
+ */
+@RequiredArgsConstructor
+public class LedgerStockStrategy implements StockStrategy {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public StockStrategyType getType() {
+        return StockStrategyType.LEDGER;
+    }
+
+    @Override
+    public Item decrease(Long itemId, int count) {
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new EntityNotFoundException());
+
+        item.removeStock(count);
+        return item;
+    }
+}
@@ -0,0 +1,285 @@
+package com.example.shop.service;
+
+import com.example.shop.constant.ItemSortType;
+import com.example.shop.dto.CacheStatsDto;
+import com.example.shop.dto.ItemSearchDto;
+import com.example.shop.dto.MainItemDto;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * ============================================
+ * 클래스명   : MainPageCache
+ * 설명       : 메인 페이지 상품 목록 캐시 (검색 조건 + 페이지 단위)
+ *             - W-TinyLFU 방식: 새 항목은 작은 window(LRU)에 먼저 들어가고,
+ *               window 에서 밀려날 때 메인 영역의 희생 후보보다 자주 요청된 경우에만 메인 영역에 들어간다.
+ *               (한 번 보고 마는 검색어가 자주 보는 페이지를 밀어내지 않도록)
+ *             - 상품 등록/수정, 품절 상태 변경 시 영향을 받는 항목만 지운다.
+ * ============================================
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class MainPageCache {
+
+    private final SoldOutRegistry soldOutRegistry;
+
+    @Value("${shop.cache.main-page.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${shop.cache.main-page.max-size:500}")
+    private int maxSize = 500;
+
+    private int windowSize;
+
+    private FrequencySketch sketch;
+
+    //access-order LinkedHashMap = LRU (가장 오래 안 쓴 항목이 맨 앞)
+    private final LinkedHashMap<String, Entry> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Entry> main = new LinkedHashMap<>(16, 0.75f, true);
+
+    //상품 ID -> 그 상품이 들어 있는 캐시 키 (정확한 무효화용)
+    private final Map<Long, Set<String>> keysByItem = new HashMap<>();
+
+    //무효화 시 증가 - 조회 중에 무효화가 일어나면 그 결과는 캐시에 넣지 않는다.
+    private long generation;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long rejections;
+    private long invalidations;
+
+    static final class Entry {
+        final String key;
+        final String query;
+        final ItemSortType sort;
+        final Page<MainItemDto> page;
+
+        Entry(String key, String query, ItemSortType sort, Page<MainItemDto> page) {
+            this.key = key;
+            this.query = query;
+            this.sort = sort;
+            this.page = page;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        windowSize = Math.max(1, maxSize / 100);
+        sketch = new FrequencySketch(maxSize);
+        //품절 비트는 커밋 이후(또는 원장 예약 즉시) 바뀌므로 바로 무효화
+        soldOutRegistry.addChangeListener(this::invalidateItem);
+    }
+
+    /**
+     * 캐시 조회, 없으면 loader 로 조회해서 저장
+     */
+    public Page<MainItemDto> get(ItemSearchDto itemSearchDto, Pageable pageable,
+                                 Supplier<Page<MainItemDto>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        String query = itemSearchDto.normalizedQuery();
+        String key = itemSearchDto.cacheKey() + "|" + pageable.getPageNumber() + "|" + pageable.getPageSize();
+        long startGeneration;
+
+        synchronized (this) {
+            sketch.increment(key);
+
+            Entry entry = window.get(key);
+            if (entry == null) {
+                entry = main.get(key);
+            }
+            if (entry != null) {
+                hits++;
+                return entry.page;
+            }
+            misses++;
+            startGeneration = generation;
+        }
+
+        Page<MainItemDto> page = loader.get();
+
+        synchronized (this) {
+            if (startGeneration == generation && !window.containsKey(key) && !main.containsKey(key)) {
+                admit(new Entry(key, query, itemSearchDto.getSort(), page));
+            }
+        }
+        return page;
+    }
+
+    private void admit(Entry entry) {
+        window.put(entry.key, entry);
+        link(entry);
+
+        if (window.size() <= windowSize) {
+            return;
+        }
+
+        //window 에서 밀려난 후보
+        Entry candidate = removeEldest(window);
+
+        if (main.size() < maxSize - windowSize) {
+            main.put(candidate.key, candidate);
+            return;
+        }
+
+        //메인 영역의 희생 후보(LRU)와 빈도 비교
+        Entry victim = main.values().iterator().next();
+        if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+            main.remove(victim.key);
+            unlink(victim);
+            evictions++;
+            main.put(candidate.key, candidate);
+        } else {
+            unlink(candidate);
+            evictions++;
+            rejections++;
+        }
+    }
+
+    private Entry removeEldest(LinkedHashMap<String, Entry> segment) {
+        Iterator<Entry> iterator = segment.values().iterator();
+        Entry eldest = iterator.next();
+        iterator.remove();
+        return eldest;
+    }
+
+    private void link(Entry entry) {
+        for (MainItemDto item : entry.page.getContent()) {
+            keysByItem.computeIfAbsent(item.getId(), id -> new HashSet<>()).add(entry.key);
+        }
+    }
+
+    private void unlink(Entry entry) {
+        for (MainItemDto item : entry.page.getContent()) {
+            Set<String> keys = keysByItem.get(item.getId());
+            if (keys != null) {
+                keys.remove(entry.key);
+                if (keys.isEmpty()) {
+                    keysByItem.remove(item.getId());
+                }
+            }
+        }
+    }
+
+    /**
+     * 상품 등록/수정 - 그 상품이 들어 있는 항목 + 그 상품이 새로 나타날 수 있는 항목(검색어 일치)을 지운다.
+     */
+    public synchronized void invalidate(Long itemId, String itemNm, String itemDetail) {
+        generation++;
+
+        Set<String> keys = new HashSet<>(keysByItem.getOrDefault(itemId, Set.of()));
+
+        String text = normalize(itemNm) + " " + normalize(itemDetail);
+        Set<String> itemTokens = new HashSet<>(KoreanNgramTokenizer.tokenize(text));
+
+        for (Entry entry : allEntries()) {
+            if (matches(entry.query, text, itemTokens)) {
+                keys.add(entry.key);
+            }
+        }
+        keys.forEach(this::remove);
+    }
+
+    /**
+     * 품절 상태 변경 - 그 상품이 들어 있는 항목만 지운다.
+     */
+    public synchronized void invalidateItem(Long itemId) {
+        generation++;
+        new ArrayList<>(keysByItem.getOrDefault(itemId, Set.of())).forEach(this::remove);
+    }
+
+    /**
+     * 정렬 값 일괄 변경 (판매량 집계 등) - 그 정렬로 캐시된 항목을 모두 지운다.
+     */
+    public synchronized void invalidateSort(ItemSortType sort) {
+        generation++;
+        allEntries().stream()
+                .filter(entry -> entry.sort == sort)
+                .map(entry -> entry.key)
+                .toList()
+                .forEach(this::remove);
+    }
+
+    /**
+     * 기동 시 데이타 이관처럼 SQL 로 여러 상품을 한 번에 바꾼 경우 - 모두 지운다.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        allEntries().stream().map(entry -> entry.key).toList().forEach(this::remove);
+    }
+
+    public void invalidateAfterCommit(Long itemId, String itemNm, String itemDetail) {
+        afterCommit(() -> invalidate(itemId, itemNm, itemDetail));
+    }
+
+    private void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+    public synchronized CacheStatsDto stats() {
+        return new CacheStatsDto(hits, misses, evictions, rejections, invalidations,
+                window.size() + main.size(), maxSize);
+    }
+
+    private void remove(String key) {
+        Entry entry = window.remove(key);
+        if (entry == null) {
+            entry = main.remove(key);
+        }
+        if (entry != null) {
+            unlink(entry);
+            invalidations++;
+        }
+    }
+
+    private List<Entry> allEntries() {
+        List<Entry> entries = new ArrayList<>(window.values());
+        entries.addAll(main.values());
+        return entries;
+    }
+
+    //검색어가 없으면 모든 상품이 대상, 있으면 부분 문자열 또는 검색 색인 기준으로 일치
+    private boolean matches(String query, String text, Set<String> itemTokens) {
+        if (query.isEmpty() || text.contains(query)) {
+            return true;
+        }
+        List<String> queryTokens = KoreanNgramTokenizer.tokenizeQuery(query);
+        return !queryTokens.isEmpty() && itemTokens.containsAll(queryTokens);
+    }
+
+    //앞뒤 공백 제거, 연속 공백 하나로, 소문자
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.shop.service;
+
+import com.example.shop.constant.StockStrategyType;
+import com.example.shop.entity.Item;
+import com.example.shop.repository.ItemRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * @Version 으로 충돌을 감지 - 충돌 시 OrderService 가 트랜잭션 단위로 재시도한다.
+ */
+@RequiredArgsConstructor
+public class OptimisticStockStrategy implements StockStrategy {
+
+    private final ItemRepository itemRepository;
+    private final SoldOutRegistry soldOutRegistry;
+
+    @Override
+    public StockStrategyType getType() {
+        return StockStrategyType.OPTIMISTIC;
+    }
+
+    @Override
+    public Item decrease(Long itemId, int count) {
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new EntityNotFoundException());
+
+        item.removeStock(count);
+
+        //충돌을 커밋까지 미루지 않고 바로 확인
+        Item saved = itemRepository.saveAndFlush(item);
+        soldOutRegistry.updateAfterCommit(itemId, saved.getStockNumber());
+        return saved;
+    }
+
+    @Override
+    public void increase(Item item, int count) {
+        item.addStock(count);
+        soldOutRegistry.replenishedAfterCommit(item.getId(), item.getStockNumber());
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.shop.service;
+
+import com.example.shop.constant.BulkCancelStatus;
+import com.example.shop.constant.OrderStatus;
+import com.example.shop.dto.BulkCancelDto;
+import com.example.shop.dto.BulkCancelJobDto;
+import com.example.shop.entity.BulkCancelJob;
+import com.example.shop.repository.BulkCancelJobRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ============================================
+ * 클래스명   : OrderBulkCancelService
+ * 설명       : 관리자 일괄 주문 취소 (결제 장애로 하루치 주문 무효화 등)
+ *             - 주문 ID 목록 또는 주문일 범위로 대상을 고르고 청크 단위 트랜잭션으로 처리
+ *             - 청크마다 주문 상태는 한 번의 update, 재고는 상품별 합계로 묶어서 복구
+ *             - 진행 상황(체크포인트)을 청크와 같은 트랜잭션에 기록 -> 재기동 시 이어서 처리
+ * ============================================
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderBulkCancelService {
+
+    private static final String RESTORE_STOCK_SQL =
+            "update item set stock_number = stock_number + ?, version = version + 1 where item_id = ?";
+
+    private final BulkCancelJobRepository bulkCancelJobRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SoldOutRegistry soldOutRegistry;
+    private final SalesCountRefresher salesCountRefresher;
+
+    @Value("${shop.order.bulk-cancel.chunk-size:500}")
+    private int chunkSize;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "bulk-cancel"));
+
+    private volatile boolean stopping;
+
+    /**
+     * 일괄 취소 작업 등록 후 백그라운드에서 실행
+     * @return 작업 ID (진행 상황 조회용)
+     */
+    public Long start(BulkCancelDto bulkCancelDto) {
+
+        boolean byIds = bulkCancelDto.getOrderIds() != null && !bulkCancelDto.getOrderIds().isEmpty();
+
+        if (!byIds && (bulkCancelDto.getFrom() == null || bulkCancelDto.getTo() == null)) {
+            throw new IllegalArgumentException("취소할 주문 ID 목록 또는 주문일 범위를 입력해 주세요.");
+        }
+        if (bulkCancelDto.getOrderStatus() != OrderStatus.ORDER) {
+            throw new IllegalArgumentException("주문 상태(ORDER)인 주문만 취소할 수 있습니다.");
+        }
+
+        long totalCount = byIds
+                ? bulkCancelDto.getOrderIds().stream().distinct().count()
+                : jdbcTemplate.queryForObject(
+                        "select count(*) from orders " +
+                        "where order_status = 'ORDER' and order_date >= ? and order_date < ?",
+                        Long.class,
+                        Timestamp.valueOf(bulkCancelDto.getFrom()), Timestamp.valueOf(bulkCancelDto.getTo()));
+
+        BulkCancelJob job = bulkCancelJobRepository.save(BulkCancelJob.createJob(bulkCancelDto, totalCount));
+
+        log.info("일괄 주문 취소 시작 : job={}, 대상={}건", job.getId(), totalCount);
+        executor.submit(() -> run(job.getId()));
+
+        return job.getId();
+    }
+
+    public BulkCancelJobDto getJob(Long jobId) {
+        BulkCancelJob job = bulkCancelJobRepository.findById(jobId)
+                .orElseThrow(() -> new EntityNotFoundException());
+        return new BulkCancelJobDto(job);
+    }
+
+    /**
+     * 서버가 내려가서 끝나지 못한 작업을 체크포인트부터 이어서 처리
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resume() {
+        for (BulkCancelJob job : bulkCancelJobRepository.findByStatus(BulkCancelStatus.RUNNING)) {
+            log.info("일괄 주문 취소 재개 : job={}, lastOrderId={}", job.getId(), job.getLastOrderId());
+            executor.submit(() -> run(job.getId()));
+        }
+    }
+
+    private void run(Long jobId) {
+        try {
+            while (!stopping) {
+                Boolean hasMore = transactionTemplate.execute(status -> cancelChunk(jobId));
+                if (!Boolean.TRUE.equals(hasMore)) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("일괄 주문 취소 실패 : job={}", jobId, e);
+            transactionTemplate.executeWithoutResult(status ->
+                    bulkCancelJobRepository.findById(jobId).ifPresent(job -> job.fail(e.getMessage())));
+        }
+    }
+
+    /**
+     * 청크 하나 처리 (하나의 트랜잭션)
+     * @return 남은 주문이 더 있으면 true
+     */
+    private boolean cancelChunk(Long jobId) {
+
+        BulkCancelJob job = bulkCancelJobRepository.findByIdForUpdate(jobId)
+                .orElseThrow(() -> new EntityNotFoundException());
+
+        if (job.getStatus() != BulkCancelStatus.RUNNING) {
+            return false;
+        }
+
+        //1. 대상 주문 선택 + 행 잠금 (주문 ID 순)
+        List<Long> scanned;
+        List<Long> targets;
+
+        if (job.hasOrderIds()) {
+            scanned = job.nextOrderIds(chunkSize);
+            targets = scanned.isEmpty() ? List.of() : jdbcTemplate.queryForList(
+                    "select order_id from orders where order_status = 'ORDER' and order_id in ("
+                            + placeholders(scanned.size()) + ") order by order_id for update",
+                    Long.class, scanned.toArray());
+        } else {
+            scanned = jdbcTemplate.queryForList(
+                    "select order_id from orders " +
+                    "where order_status = 'ORDER' and order_id > ? and order_date >= ? and order_date < ? " +
+                    "order by order_id limit ? for update",
+                    Long.class, job.getLastOrderId(),
+                    Timestamp.valueOf(job.getFromDate()), Timestamp.valueOf(job.getToDate()), chunkSize);
+            targets = scanned;
+        }
+
+        if (scanned.isEmpty()) {
+            job.complete();
+            log.info("일괄 주문 취소 완료 : job={}, 취소={}건", jobId, job.getCanceledCount());
+            return false;
+        }
+
+        if (!targets.isEmpty()) {
+            String in = placeholders(targets.size());
+            Object[] ids = targets.toArray();
+
+            //2. 상품별 복구 수량 합계 (상품 ID 순 -> 재고 행 잠금 순서 고정)
+            Map<Long, Integer> restores = new LinkedHashMap<>();
+            jdbcTemplate.query(
+                    "select item_id, sum(count) from order_item where order_id in (" + in + ") " +
+                    "group by item_id order by item_id",
+                    rs -> {
+                        restores.put(rs.getLong(1), rs.getInt(2));
+                    }, ids);
+
+            //3. 주문 상태는 한 번에 변경
+            jdbcTemplate.update("update orders set order_status = 'CANCEL', update_time = now() " +
+                    "where order_id in (" + in + ")", ids);
+            jdbcTemplate.update("update order_history_view set order_status = 'CANCEL' " +
+                    "where order_id in (" + in + ")", ids);
+
+            //4. 재고 복구
+            restoreStock(restores);
+
+            //5. 판매량에서 빼기 (커밋 후)
+            Map<Long, Integer> canceled = new LinkedHashMap<>();
+            restores.forEach((itemId, count) -> canceled.put(itemId, -count));
+            salesCountRefresher.addAfterCommit(canceled);
+        }
+
+        job.progress(scanned.get(scanned.size() - 1), scanned, targets.size());
+        return true;
+    }
+
+    private void restoreStock(Map<Long, Integer> restores) {
+        if (restores.isEmpty()) {
+            return;
+        }
+
+        StockLedger ledger = StockLedger.current();
+
+        if (ledger == null) {
+            //상품별 update 를 하나의 배치로 전송
+            List<Object[]> batchArgs = new ArrayList<>();
+            restores.forEach((itemId, count) -> batchArgs.add(new Object[]{count, itemId}));
+            jdbcTemplate.batchUpdate(RESTORE_STOCK_SQL, batchArgs);
+        }
+
+        jdbcTemplate.query("select item_id, stock_number from item where item_id in ("
+                        + placeholders(restores.size()) + ")",
+                rs -> {
+                    long itemId = rs.getLong("item_id");
+                    int stockNumber = rs.getInt("stock_number");
+
+                    if (ledger != null) {
+                        //원장이 DB보다 앞서 있으므로 원장에 반납 (DB 반영은 원장의 flush 가 담당)
+                        ledger.release(itemId, restores.get(itemId), stockNumber);
+                    } else {
+                        soldOutRegistry.replenishedAfterCommit(itemId, stockNumber);
+                    }
+                },
+                restores.keySet().toArray());
+    }
+
+    private String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        //진행 중인 청크만 마치고 멈춘다 (남은 주문은 재기동 시 이어서 처리)
+        stopping = true;
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.shop.service;
+
+import com.example.shop.constant.OrderStatus;
+import com.example.shop.dto.CursorPage;
+import com.example.shop.dto.OrderCursor;
+import com.example.shop.dto.OrderHisDto;
+import com.example.shop.dto.OrderItemDto;
+import com.example.shop.entity.ItemCard;
+import com.example.shop.entity.Order;
+import com.example.shop.entity.OrderHistoryView;
+import com.example.shop.entity.OrderItem;
+import com.example.shop.repository.ItemCardRepository;
+import com.example.shop.repository.OrderHistoryViewRepository;
+import com.example.shop.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * ============================================
+ * 클래스명   : OrderHistoryService
+ * 설명       : 주문 이력 조회 테이블(order_history_view) 관리
+ *             - 주문/취소 시점에 미리 만들어 두고, 주문 이력 화면은 이 테이블만 조회
+ * ============================================
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class OrderHistoryService {
+
+    private static final int BACKFILL_CHUNK = 100;
+
+    private final OrderHistoryViewRepository orderHistoryViewRepository;
+    private final OrderRepository orderRepository;
+    private final ItemCardRepository itemCardRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 주문 생성 시 조회 테이블에 1행 추가 (주문과 같은 트랜잭션)
+     */
+    public void record(Order order) {
+        record(List.of(order));
+    }
+
+    public void record(List<Order> orders) {
+
+        List<OrderHistoryView> views = new ArrayList<>();
+        for (Order order : orders) {
+            List<OrderItemDto> orderItemDtoList = new ArrayList<>();
+            for (OrderItem orderItem : order.getOrderItems()) {
+                orderItemDtoList.add(new OrderItemDto(orderItem));
+            }
+            views.add(OrderHistoryView.of(order, orderItemDtoList));
+        }
+
+        orderHistoryViewRepository.saveAll(views);
+    }
+
+    /**
+     * 주문 취소 시 상태만 변경
+     */
+    public void markCanceled(Long orderId) {
+        orderHistoryViewRepository.updateOrderStatus(orderId, OrderStatus.CANCEL);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<OrderHisDto> getOrderList(Long memberId, Pageable pageable) {
+
+        List<OrderHisDto> orderHisDtoList = orderHistoryViewRepository
+                .findHistory(memberId, pageable)
+                .stream()
+                .map(OrderHisDto::new)
+                .toList();
+        fillImgUrls(orderHisDtoList);
+
+        Long totalCount = orderHistoryViewRepository.countByMemberId(memberId);
+
+        return new PageImpl<>(orderHisDtoList, pageable, totalCount);
+    }
+
+    /**
+     * 커서(keyset) 방식 주문 이력 조회 - count 쿼리 없이 size+1 건을 읽어 다음 페이지 여부 판단
+     * @param cursor 기준 커서 (null 이면 첫 페이지)
+     * @param prev   true 면 커서보다 최신 주문(이전 페이지), false 면 과거 주문(다음 페이지)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OrderHisDto> getOrderScroll(Long memberId, String cursor, boolean prev, int size) {
+
+        Pageable lookAhead = PageRequest.of(0, size + 1);
+        List<OrderHistoryView> rows;
+
+        if (cursor == null || cursor.isEmpty()) {
+            rows = orderHistoryViewRepository.findHistory(memberId, lookAhead);
+        } else {
+            OrderCursor orderCursor = OrderCursor.decode(cursor);
+            rows = prev
+                    ? orderHistoryViewRepository.findHistoryAfter(memberId,
+                            orderCursor.getOrderDate(), orderCursor.getOrderId(), lookAhead)
+                    : orderHistoryViewRepository.findHistoryBefore(memberId,
+                            orderCursor.getOrderDate(), orderCursor.getOrderId(), lookAhead);
+        }
+
+        boolean hasMore = rows.size() > size;
+        rows = new ArrayList<>(rows.subList(0, Math.min(size, rows.size())));
+
+        if (prev) {
+            Collections.reverse(rows); //화면은 항상 최신순
+        }
+
+        boolean firstPage = cursor == null || cursor.isEmpty();
+        boolean hasPrev = prev ? hasMore : !firstPage;
+        boolean hasNext = prev || hasMore;
+
+        String prevCursor = rows.isEmpty() ? null : toCursor(rows.get(0));
+        String nextCursor = rows.isEmpty() ? null : toCursor(rows.get(rows.size() - 1));
+
+        List<OrderHisDto> content = rows.stream().map(OrderHisDto::new).toList();
+        fillImgUrls(content);
+
+        return new CursorPage<>(content, prevCursor, nextCursor, hasPrev, hasNext);
+    }
+
+    /**
+     * 대표 이미지는 현재 목록 조회 테이블(item_card) 값으로 채운다. (페이지의 상품을 PK IN 으로 한 번에 조회)
+     * - 이미지를 교체하면 이전 파일은 지워지므로 주문 시점의 경로를 보여주면 깨진다.
+     */
+    private void fillImgUrls(List<OrderHisDto> orderHisDtoList) {
+        List<Long> itemIds = orderHisDtoList.stream()
+                .flatMap(orderHisDto -> orderHisDto.getOrderItemDtoList().stream())
+                .map(OrderItemDto::getItemId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (itemIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, String> imgUrls = new HashMap<>();
+        for (ItemCard card : itemCardRepository.findAllById(itemIds)) {
+            imgUrls.put(card.getItemId(), card.getImgUrl());
+        }
+
+        for (OrderHisDto orderHisDto : orderHisDtoList) {
+            for (OrderItemDto orderItemDto : orderHisDto.getOrderItemDtoList()) {
+                if (orderItemDto.getItemId() != null) {
+                    orderItemDto.setImgUrl(imgUrls.get(orderItemDto.getItemId()));
+                }
+            }
+        }
+    }
+
+    private String toCursor(OrderHistoryView view) {
+        return new OrderCursor(view.getOrderDate(), view.getOrderId()).encode();
+    }
+
+    /**
+     * 조회 테이블이 생기기 전의 주문을 기동 시 채워 넣는다 (100건 단위 트랜잭션)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void backfill() {
+        int total = 0;
+        while (true) {
+            Integer count = transactionTemplate.execute(status -> {
+                List<Order> orders = orderRepository.findOrdersWithoutHistory(
+                        PageRequest.of(0, BACKFILL_CHUNK));
+                if (!orders.isEmpty()) {
+                    record(orders);
+                }
+                return orders.size();
+            });
+
+            if (count == null || count == 0) {
+                break;
+            }
+            total += count;
+        }
+
+        if (total > 0) {
+            log.info("주문 이력 조회 테이블 이관 완료 : {}건", total);
+        }
+    }
+}
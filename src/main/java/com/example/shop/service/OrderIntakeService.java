@@ -0,0 +1,206 @@
+package com.example.shop.service;
+
+import com.example.shop.dto.OrderDto;
+import com.example.shop.dto.OrderResultDto;
+import com.example.shop.dto.OrderTicketDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ============================================
+ * 클래스명   : OrderIntakeService
+ * 설명       : 비동기 주문 접수
+ *             - 요청 스레드는 주문을 큐에 넣고 접수 번호(token)만 돌려준다.
+ *             - 소수의 writer 스레드가 큐에서 여러 주문을 꺼내 한 트랜잭션으로 커밋
+ *             - 종료 시 새 접수를 막고 큐에 남은 주문을 모두 처리한 뒤 내려간다.
+ * ============================================
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class OrderIntakeService {
+
+    private final OrderService orderService;
+
+    @Value("${shop.order.async.enabled:false}")
+    private boolean enabled;
+
+    @Value("${shop.order.async.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${shop.order.async.writer-threads:2}")
+    private int writerThreads;
+
+    @Value("${shop.order.async.group-size:50}")
+    private int groupSize;
+
+    @Value("${shop.order.async.result-ttl-minutes:10}")
+    private long resultTtlMinutes;
+
+    private BlockingQueue<OrderTicketDto> queue;
+
+    private ExecutorService writers;
+
+    private volatile boolean accepting;
+
+    //접수 번호 -> 처리 결과 (처리 전에는 미완료 상태)
+    private final Map<String, CompletableFuture<OrderResultDto>> results = new ConcurrentHashMap<>();
+
+    //완료 시각 (오래된 결과 정리용)
+    private final Map<String, Long> completedAt = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        writers = Executors.newFixedThreadPool(writerThreads, r -> {
+            Thread thread = new Thread(r, "order-writer");
+            thread.setDaemon(false);
+            return thread;
+        });
+
+        accepting = true;
+        for (int i = 0; i < writerThreads; i++) {
+            writers.submit(this::drain);
+        }
+
+        log.info("비동기 주문 접수 시작 (queue={}, writers={}, group={})",
+                queueCapacity, writerThreads, groupSize);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 주문 접수 - 큐가 가득 찼거나 종료 중이면 IllegalStateException
+     * @return 접수 번호
+     */
+    public String submit(String email, List<OrderDto> orderDtoList, List<Long> cartItemIds) {
+
+        String token = UUID.randomUUID().toString();
+        OrderTicketDto ticket = new OrderTicketDto(token, email, orderDtoList, cartItemIds);
+
+        CompletableFuture<OrderResultDto> future = new CompletableFuture<>();
+        results.put(token, future);
+
+        if (!accepting || !queue.offer(ticket)) {
+            results.remove(token);
+            throw new IllegalStateException("주문이 많아 접수할 수 없습니다. 잠시 후 다시 시도해 주세요.");
+        }
+
+        return token;
+    }
+
+    /**
+     * 처리 결과 조회 (없는 접수 번호면 null, 처리 전이면 PENDING)
+     */
+    public OrderResultDto getResult(String token) {
+        CompletableFuture<OrderResultDto> future = results.get(token);
+        if (future == null) {
+            return null;
+        }
+        return future.getNow(OrderResultDto.pending(token));
+    }
+
+    /**
+     * 처리 결과 구독 (롱 폴링용) - 없는 접수 번호면 null
+     */
+    public CompletableFuture<OrderResultDto> subscribe(String token) {
+        return results.get(token);
+    }
+
+    private void drain() {
+        List<OrderTicketDto> group = new ArrayList<>(groupSize);
+
+        //종료 신호를 받아도 큐가 빌 때까지 계속 처리
+        while (accepting || !queue.isEmpty()) {
+            try {
+                OrderTicketDto first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                group.add(first);
+                queue.drainTo(group, groupSize - 1);
+
+                complete(orderService.ordersInGroup(group));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("주문 그룹 처리 중 오류", e);
+                for (OrderTicketDto ticket : group) {
+                    complete(List.of(OrderResultDto.failed(ticket.getToken(), e.getMessage())));
+                }
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void complete(List<OrderResultDto> groupResults) {
+        long now = System.currentTimeMillis();
+        for (OrderResultDto result : groupResults) {
+            CompletableFuture<OrderResultDto> future = results.get(result.getToken());
+            if (future != null) {
+                future.complete(result);
+                completedAt.put(result.getToken(), now);
+            }
+        }
+    }
+
+    //조회되지 않고 남아 있는 오래된 결과 정리
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpiredResults() {
+        long expireBefore = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(resultTtlMinutes);
+        completedAt.entrySet().removeIf(entry -> {
+            if (entry.getValue() < expireBefore) {
+                results.remove(entry.getKey());
+                return true;
+            }
+            return false;
+        });
+    }
+
+    //새 접수만 막는다 (writer 는 큐가 빌 때까지 계속 처리)
+    void stopAccepting() {
+        accepting = false;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+
+        stopAccepting();
+        writers.shutdown();
+
+        if (!writers.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("비동기 주문 큐를 모두 처리하지 못했습니다. 남은 주문 : {}건", queue.size());
+        } else {
+            log.info("비동기 주문 큐 처리 완료");
+        }
+    }
+}
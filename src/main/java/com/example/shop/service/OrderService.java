@@ -1,17 +1,22 @@
 package com.example.shop.service; // 서비스 클래스가 위치한 패키지
 
 // -------------------- [DTO 및 엔티티 import] --------------------
+import com.example.shop.constant.OrderStatus;
+import com.example.shop.constant.StockStrategyType;
+import com.example.shop.dto.CursorPage;
 import com.example.shop.dto.OrderDto;
 import com.example.shop.dto.OrderHisDto;
-import com.example.shop.dto.OrderItemDto;
+import com.example.shop.dto.OrderResultDto;
+import com.example.shop.dto.OrderSummaryDto;
+import com.example.shop.dto.OrderTicketDto;
 import com.example.shop.entity.Item;
-import com.example.shop.entity.ItemImg;
 import com.example.shop.entity.Member;
 import com.example.shop.entity.Order;
 import com.example.shop.entity.OrderItem;
+import com.example.shop.exception.OutOfStockException;
 
 // -------------------- [JPA Repository import] --------------------
-import com.example.shop.repository.ItemImgRepository;
+import com.example.shop.repository.CartItemRepository;
 import com.example.shop.repository.ItemRepository;
 import com.example.shop.repository.MemberRepository;
 import com.example.shop.repository.OrderRepository;
@@ -22,15 +27,29 @@ import jakarta.persistence.EntityNotFoundException;
 // -------------------- [Lombok 및 스프링 import] --------------------
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.thymeleaf.util.StringUtils;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 /**
  * 주문 처리 로직을 담당하는 서비스 클래스
@@ -45,7 +64,14 @@ public class OrderService {
     private final OrderRepository orderRepository;       // 주문 저장소
     private final ItemRepository itemRepository;         // 상품 저장소
     private final MemberRepository memberRepository;     // 회원 저장소
-    private final ItemImgRepository itemImgRepository;   // 상품 이미지 저장소
+    private final CartItemRepository cartItemRepository; // 장바구니 상품 저장소 (비동기 장바구니 주문)
+    private final OrderHistoryService orderHistoryService; // 주문 이력 조회 테이블
+    private final StockStrategy stockStrategy;           // 재고 차감 전략
+    private final SalesCountRefresher salesCountRefresher; // 판매량순 정렬용 판매량
+    private final TransactionTemplate transactionTemplate; // 재시도 단위 트랜잭션
+
+    @Value("${shop.stock.optimistic-max-attempts:5}")
+    private int optimisticMaxAttempts;
 
     // -------------------- [주문 생성 메서드] --------------------
     /**
@@ -54,32 +80,9 @@ public class OrderService {
      * @param email 주문자 이메일 (회원 조회용)
      * @return 생성된 주문의 ID
      */
+    @Transactional(propagation = Propagation.SUPPORTS) // 트랜잭션은 시도(attempt) 단위로 직접 연다
     public Long order(OrderDto orderDto, String email) {
-
-        // 1. 상품 ID로 상품 조회 (없으면 예외 발생)
-        Item item = itemRepository.findById(orderDto.getItemId())
-                .orElseThrow(() -> new EntityNotFoundException());
-
-        // 2. 이메일로 회원 조회
-        Member member = memberRepository.findByEmail(email);
-
-        // 3. 주문 항목 리스트 생성
-        List<OrderItem> orderItemList = new ArrayList<>();
-
-        // 4. 주문 항목 객체 생성 (상품, 수량 포함)
-        OrderItem orderItem = OrderItem.createOrderItem(item, orderDto.getCount());
-
-        // 5. 리스트에 주문 항목 추가
-        orderItemList.add(orderItem);
-
-        // 6. 주문 생성 (정적 팩토리 메서드 사용)
-        Order order = Order.createOrder(member, orderItemList);
-
-        // 7. 주문 저장 (Cascade 설정으로 orderItem도 함께 저장됨)
-        orderRepository.save(order);
-
-        // 8. 주문 ID 반환
-        return order.getId();
+        return orders(List.of(orderDto), email);
     }
 
     // -------------------- [주문 이력 조회 메서드] --------------------
@@ -92,48 +95,42 @@ public class OrderService {
     @Transactional(readOnly = true) // 조회만 수행하므로 readOnly 설정
     public Page<OrderHisDto> getOrderList(String email, Pageable pageable){
 
-        // 1. 이메일로 해당 회원의 주문 리스트 조회 (페이징 적용됨)
-        List<Order> orders = orderRepository.findOrders(email, pageable);
-
-        log.info("-----------------------------------");
-        orders.forEach(order -> log.info(order.toString()));
-
-        // 2. 총 주문 수 조회 (페이지 계산용)
-        Long totalcount = orderRepository.countOrder(email);
-
-
-        // 3. 최종 반환할 주문 이력 DTO 리스트 생성
-        List<OrderHisDto> orderHisDtoList = new ArrayList<>();
-
-        // 4. 각 주문에 대해 DTO 변환 작업 수행
-        for (Order order : orders) {
-            OrderHisDto orderHisDto = new OrderHisDto(order); // 주문 → DTO
+        // 1. 이메일로 회원 조회
+        Member member = memberRepository.findByEmail(email);
 
-            Member member = order.getMember();
-            log.info(member.toString());
+        // 2. 주문 이력 조회 테이블에서 한 페이지 조회
+        //    (대표 이미지는 페이지의 상품을 item_card 에서 한 번에 조회해 현재 값으로 채움)
+        return orderHistoryService.getOrderList(member.getId(), pageable);
+    }
 
-            List<OrderItem> orderItems = order.getOrderItems(); // 주문 항목 목록 가져오기
+    /**
+     * 주문 이력 커서(keyset) 조회 - 페이지가 깊어져도 비용이 같고 count 쿼리가 없음
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OrderHisDto> getOrderScroll(String email, String cursor, boolean prev, int size) {
 
-            // 5. 각 주문 항목에 대해 상품 이미지 포함하여 DTO로 변환
-            for (OrderItem orderItem : orderItems) {
+        Member member = memberRepository.findByEmail(email);
 
-                // 대표 이미지 조회 (repimgYn이 'Y'인 이미지)
-                ItemImg itemImg = itemImgRepository
-                        .findByItemIdAndRepimgYn(orderItem.getItem().getId(), "Y");
+        return orderHistoryService.getOrderScroll(member.getId(), cursor, prev, size);
+    }
 
-                // 주문 상품 항목 DTO 생성 (상품 + 이미지 URL)
-                OrderItemDto orderItemDto = new OrderItemDto(orderItem, itemImg.getImgUrl());
+    /**
+     * 회원의 주문 합계 (취소 제외) - SQL 집계만 사용
+     */
+    @Transactional(readOnly = true)
+    public OrderSummaryDto getOrderSummary(String email) {
 
-                // 주문 이력 DTO에 항목 추가
-                orderHisDto.addOrderItemDto(orderItemDto);
-            }
+        Member member = memberRepository.findByEmail(email);
 
-            // 리스트에 완성된 주문 이력 DTO 추가
-            orderHisDtoList.add(orderHisDto);
-        }
+        return orderRepository.getOrderSummary(member.getId(), OrderStatus.ORDER);
+    }
 
-        // 6. PageImpl 객체로 래핑하여 반환 (Pageable + 총개수 포함)
-        return new PageImpl<>(orderHisDtoList, pageable, totalcount);
+    /**
+     * 기간별 주문 합계 (취소 제외, from 이상 ~ to 미만)
+     */
+    @Transactional(readOnly = true)
+    public OrderSummaryDto getSalesSummary(LocalDateTime from, LocalDateTime to) {
+        return orderRepository.getSalesSummary(from, to, OrderStatus.ORDER);
     }
 
     //email(로그인 사용자), orderId(주문번호)
@@ -156,35 +153,169 @@ public class OrderService {
 
 
 
-    //주문 취소
+    //주문 취소 - 주문 행을 잠그고 아직 주문 상태일 때만 재고 복구 (동시 취소, 일괄 취소와 겹쳐도 한 번만)
     public void cancelOrder(Long orderId) {
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findByIdForUpdate(orderId)
                 .orElseThrow(() -> new EntityNotFoundException());
 
-        order.cancelOrder();
+        if (order.getOrderStatus() != OrderStatus.ORDER) {
+            return;
+        }
+
+        order.cancelOrder(stockStrategy::increase);
+        salesCountRefresher.addAfterCommit(soldCounts(order, -1));
+
+        orderHistoryService.markCanceled(orderId);
     }
 
     //주문
+    /**
+     * 여러 상품 주문
+     * - OPTIMISTIC 전략은 버전 충돌 시 트랜잭션 전체를 다시 시도한다.
+     *   (이미 바깥 트랜잭션에 참여 중이면 재시도할 수 없으므로 1회만 시도)
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Long orders(List<OrderDto> orderDtoList, String email) {
+        return executeWithRetry(() -> placeOrder(orderDtoList, email));
+    } // end orders
+
+    /**
+     * 비동기 주문 접수 큐에서 꺼낸 여러 주문을 하나의 트랜잭션으로 커밋 (group commit)
+     * - 재고 부족 등 주문별 실패는 해당 주문만 FAILED 처리하고 나머지는 함께 커밋
+     * - 트랜잭션 자체가 실패하면(버전 충돌, DB 오류 등) 주문별 트랜잭션으로 다시 처리
+     * - 주문마다 주문자를 로그인 정보로 두고 처리 (동기 주문과 같은 등록자/수정자가 남도록)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<OrderResultDto> ordersInGroup(List<OrderTicketDto> tickets) {
+        try {
+            return transactionTemplate.execute(status -> {
+                List<OrderResultDto> results = new ArrayList<>();
+                for (OrderTicketDto ticket : tickets) {
+                    try {
+                        results.add(OrderResultDto.completed(ticket.getToken(), asMember(ticket.getEmail(), () -> {
+                            Long orderId = placeTicket(ticket);
+                            orderRepository.flush(); //수정 시각/수정자(@PreUpdate)도 이 주문자로 기록
+                            return orderId;
+                        })));
+                    } catch (OutOfStockException | EntityNotFoundException e) {
+                        results.add(OrderResultDto.failed(ticket.getToken(), e.getMessage()));
+                    }
+                }
+                return results;
+            });
+        } catch (RuntimeException e) {
+            log.warn("그룹 커밋 실패, 주문별로 다시 처리합니다. : {}", e.getMessage());
+
+            List<OrderResultDto> results = new ArrayList<>();
+            for (OrderTicketDto ticket : tickets) {
+                try {
+                    results.add(OrderResultDto.completed(ticket.getToken(),
+                            asMember(ticket.getEmail(), () -> executeWithRetry(() -> placeTicket(ticket)))));
+                } catch (RuntimeException ex) {
+                    results.add(OrderResultDto.failed(ticket.getToken(), ex.getMessage()));
+                }
+            }
+            return results;
+        }
+    }
+
+    private Long placeTicket(OrderTicketDto ticket) {
+        Long orderId = placeOrder(ticket.getOrderDtoList(), ticket.getEmail());
+
+        //장바구니 주문이면 주문과 같은 트랜잭션에서 장바구니 비우기
+        if (ticket.getCartItemIds() != null && !ticket.getCartItemIds().isEmpty()) {
+            cartItemRepository.deleteAllByIdInBatch(ticket.getCartItemIds());
+        }
+        return orderId;
+    }
+
+    //주문 writer 스레드에는 로그인 정보가 없으므로 처리하는 동안만 주문자로 설정 (AuditorAware 가 읽음)
+    private Long asMember(String email, Supplier<Long> work) {
+        SecurityContext previous = SecurityContextHolder.getContext();
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(email, null, List.of()));
+        SecurityContextHolder.setContext(context);
+        try {
+            return work.get();
+        } finally {
+            SecurityContextHolder.setContext(previous);
+        }
+    }
+
+    private Long executeWithRetry(Supplier<Long> work) {
+
+        boolean retryable = stockStrategy.getType() == StockStrategyType.OPTIMISTIC
+                && !TransactionSynchronizationManager.isActualTransactionActive();
+        int maxAttempts = retryable ? optimisticMaxAttempts : 1;
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.info("재고 버전 충돌, 재시도 : {}/{}", attempt, maxAttempts);
+                backoff(attempt);
+            }
+        }
+    }
+
+    private Long placeOrder(List<OrderDto> orderDtoList, String email) {
 
         Member member = memberRepository.findByEmail(email);
 
-        List<OrderItem> orderItemList = new ArrayList<>();
+        OrderItem[] orderItems = new OrderItem[orderDtoList.size()];
+
+        //데드락 방지를 위해 상품 ID 순서로 재고 차감 (주문 항목 순서는 그대로 유지)
+        int[] lockOrder = IntStream.range(0, orderDtoList.size())
+                .boxed()
+                .sorted(Comparator.comparing(i -> orderDtoList.get(i).getItemId()))
+                .mapToInt(Integer::intValue)
+                .toArray();
 
-        for (OrderDto orderDto : orderDtoList) {
-            Item item = itemRepository.findById(orderDto.getItemId())
-                    .orElseThrow(() -> new EntityNotFoundException());
+        //중간에 재고가 부족하면 이미 차감한 재고를 같은 트랜잭션 안에서 되돌린다.
+        //(그룹 커밋에서는 다른 주문과 함께 커밋되므로 롤백에 맡길 수 없음)
+        List<Runnable> compensations = new ArrayList<>();
+        try {
+            for (int i : lockOrder) {
+                OrderDto orderDto = orderDtoList.get(i);
 
-            OrderItem orderItem =
-                    OrderItem.createOrderItem(item, orderDto.getCount());
+                Item item = stockStrategy.decrease(orderDto.getItemId(), orderDto.getCount());
+                compensations.add(() -> stockStrategy.increase(item, orderDto.getCount()));
 
-            orderItemList.add(orderItem);
+                orderItems[i] = OrderItem.createPricedOrderItem(item, orderDto.getCount());
+            }
+        } catch (RuntimeException e) {
+            compensations.forEach(Runnable::run);
+            throw e;
         }
 
-        Order order = Order.createOrder(member, orderItemList);
+        Order order = Order.createOrder(member, List.of(orderItems));
 
         orderRepository.save(order);
 
+        // 주문 이력 조회 테이블에도 같은 트랜잭션으로 기록
+        orderHistoryService.record(order);
+        salesCountRefresher.addAfterCommit(soldCounts(order, 1));
+
         return order.getId();
-    } // end orders
+    }
+
+    //상품별 주문 수량 (sign 이 -1 이면 취소)
+    private Map<Long, Integer> soldCounts(Order order, int sign) {
+        Map<Long, Integer> sold = new HashMap<>();
+        for (OrderItem orderItem : order.getOrderItems()) {
+            sold.merge(orderItem.getItem().getId(), sign * orderItem.getCount(), Integer::sum);
+        }
+        return sold;
+    }
+
+    private void backoff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, 5L * attempt + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
@@ -0,0 +1,46 @@
+package com.example.shop.service;
+
+import com.example.shop.constant.StockStrategyType;
+import com.example.shop.entity.Item;
+import com.example.shop.repository.ItemRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.LockModeType;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * SELECT ... FOR UPDATE 로 상품 행을 잠그고 차감 (커밋 시 더티체킹으로 반영)
+ */
+@RequiredArgsConstructor
+public class PessimisticStockStrategy implements StockStrategy {
+
+    private final ItemRepository itemRepository;
+    private final SoldOutRegistry soldOutRegistry;
+    private final EntityManager entityManager;
+
+    @Override
+    public StockStrategyType getType() {
+        return StockStrategyType.PESSIMISTIC;
+    }
+
+    @Override
+    public Item decrease(Long itemId, int count) {
+        Item item = itemRepository.findByIdForUpdate(itemId)
+                .orElseThrow(() -> new EntityNotFoundException());
+
+        item.removeStock(count);
+        soldOutRegistry.updateAfterCommit(itemId, item.getStockNumber());
+        return item;
+    }
+
+    @Override
+    public void increase(Item item, int count) {
+        //주문 취소: 차감과 같은 행 잠금을 잡고 최신 재고로 다시 읽은 뒤 복구
+        //(같은 트랜잭션에서 이미 잠근 상품이면 - 주문 중 보상 - 메모리의 차감 결과를 그대로 사용)
+        if (entityManager.getLockMode(item) != LockModeType.PESSIMISTIC_WRITE) {
+            entityManager.refresh(item, LockModeType.PESSIMISTIC_WRITE);
+        }
+        item.addStock(count);
+        soldOutRegistry.replenishedAfterCommit(item.getId(), item.getStockNumber());
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.shop.service;
+
+import com.example.shop.constant.ItemSortType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ============================================
+ * 클래스명   : SalesCountRefresher
+ * 설명       : 판매량순 정렬용 item.sales_count / item_card.sales_count 반영
+ *             - 주문마다 상품 행을 갱신하면 인기 상품 행에 쓰기가 몰리므로
+ *               주문/취소가 커밋되면 상품별 증감분만 메모리에 모으고 주기적으로 한 번에 더한다.
+ *               (주문 테이블 전체 집계 없음, 판매량이 바뀐 상품만 PK 로 갱신)
+ *             - 재기동으로 잃은 증감분은 기동 시 한 번 전체 집계로 맞춘다. (요청/스케줄 시작 전)
+ *             - 갱신 후 판매량순 캐시 무효화, 자동완성 인기순(ItemSuggestIndex)도 같은 판매량으로 갱신
+ * ============================================
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SalesCountRefresher implements SmartInitializingSingleton {
+
+    private static final String CHANGED_SALES =
+            "select i.item_id, coalesce(s.sold, 0) " +
+            "from item i " +
+            "left join (select oi.item_id, sum(oi.count) as sold " +
+            "           from order_item oi join orders o on o.order_id = oi.order_id " +
+            "           where o.order_status = 'ORDER' " +
+            "           group by oi.item_id) s on s.item_id = i.item_id " +
+            "where i.sales_count <> coalesce(s.sold, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MainPageCache mainPageCache;
+    private final ItemSuggestIndex itemSuggestIndex;
+
+    //상품 ID -> 커밋됐지만 아직 반영하지 않은 판매량 증감분
+    private final Map<Long, AtomicInteger> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 주문(+) / 취소(-) 수량을 커밋 후 반영 대상으로 (롤백되면 버림)
+     */
+    public void addAfterCommit(Map<Long, Integer> sold) {
+        if (sold.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(sold);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(sold);
+            }
+        });
+    }
+
+    private void add(Map<Long, Integer> sold) {
+        sold.forEach(this::add);
+    }
+
+    private void add(Long itemId, int count) {
+        pending.computeIfAbsent(itemId, id -> new AtomicInteger()).addAndGet(count);
+    }
+
+    @Scheduled(fixedDelayString = "${shop.catalog.sales-refresh-ms:300000}", initialDelay = 10_000)
+    public void refresh() {
+        List<Object[]> deltas = new ArrayList<>();
+        pending.forEach((itemId, delta) -> {
+            int count = delta.getAndSet(0);
+            if (count != 0) {
+                deltas.add(new Object[]{count, itemId});
+            }
+        });
+
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Integer> salesCounts = new HashMap<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate("update item set sales_count = sales_count + ? where item_id = ?", deltas);
+                jdbcTemplate.batchUpdate("update item_card set sales_count = sales_count + ? where item_id = ?", deltas);
+
+                List<Object> ids = deltas.stream().map(row -> row[1]).toList();
+                jdbcTemplate.query("select item_id, sales_count from item where item_id in ("
+                                + String.join(",", Collections.nCopies(ids.size(), "?")) + ")",
+                        rs -> {
+                            salesCounts.put(rs.getLong(1), rs.getInt(2));
+                        }, ids.toArray());
+            });
+        } catch (RuntimeException e) {
+            //반영하지 못한 증감분은 다음 주기에 다시
+            for (Object[] row : deltas) {
+                add((Long) row[1], (Integer) row[0]);
+            }
+            log.error("판매량 반영 실패, 다음 주기에 재시도합니다.", e);
+            return;
+        }
+
+        mainPageCache.invalidateSort(ItemSortType.BEST_SELLING);
+        itemSuggestIndex.updatePopularity(salesCounts);
+        log.info("판매량 반영 : {}건", deltas.size());
+    }
+
+    /**
+     * 기동 시 1회 전체 집계 - 빈 생성이 끝나고 웹 서버/스케줄이 시작하기 전이라 이 사이에 커밋되는 주문이 없다.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<Object[]> changed = jdbcTemplate.query(CHANGED_SALES,
+                (rs, rowNum) -> new Object[]{rs.getInt(2), rs.getLong(1)});
+
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate("update item set sales_count = ? where item_id = ?", changed);
+        jdbcTemplate.batchUpdate("update item_card set sales_count = ? where item_id = ?", changed);
+        log.info("판매량 전체 집계 반영 : {}건", changed.size());
+    }
+}
@@ -0,0 +1,254 @@
+package com.example.shop.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+
+/**
+ * ============================================
+ * 클래스명   : SoldOutRegistry
+ * 설명       : 품절 상품 비트맵 (itemId 번째 비트 = 품절 여부)
+ *             - 주문 요청 시 DB 조회 전에 품절 여부를 바로 판단
+ *             - 재고가 0이 되거나 다시 채워질 때마다 갱신
+ *             - 커밋 후 콜백은 순서가 뒤바뀔 수 있으므로 넘겨받은 재고 값을 그대로 믿지 않고,
+ *               비트를 바꿀 때는 상품별 잠금 안에서 원장/DB 의 현재 재고를 다시 읽어 맞춘다.
+ *             - 비트는 힌트일 뿐 - 주문을 거절하기 전에 confirmSoldOut 으로 한 번 더 확인
+ * ============================================
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class SoldOutRegistry {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    //비트 set/clear 는 동시에(read lock), 배열 확장은 단독으로(write lock)
+    private final ReentrantReadWriteLock growLock = new ReentrantReadWriteLock();
+
+    private volatile AtomicLongArray words = new AtomicLongArray(1024); // 65,536개 상품
+
+    //상품별 비트 갱신 잠금 (현재 재고 읽기 + 비트 변경을 한 번에)
+    private final Object[] locks = new Object[64];
+
+    {
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    //재고가 다시 채워졌을 때 알림 받을 대상 (입장 제어 등)
+    private final List<BiConsumer<Long, Integer>> replenishListeners = new CopyOnWriteArrayList<>();
+
+    //품절 <-> 판매 가능 상태가 실제로 바뀌었을 때 알림 받을 대상 (화면 캐시 무효화 등)
+    private final List<Consumer<Long>> changeListeners = new CopyOnWriteArrayList<>();
+
+    public boolean isSoldOut(Long itemId) {
+        if (itemId == null || itemId < 0) {
+            return false;
+        }
+        AtomicLongArray current = words;
+        int index = (int) (itemId >>> 6);
+        return index < current.length() && (current.get(index) & (1L << itemId)) != 0;
+    }
+
+    /**
+     * 품절 비트가 켜져 있으면 원장/DB 의 현재 재고로 다시 확인 (주문 거절 전에 호출)
+     * - 실제로는 재고가 있으면 비트를 끄고 false
+     */
+    public boolean confirmSoldOut(Long itemId) {
+        if (!isSoldOut(itemId)) {
+            return false;
+        }
+        return apply(itemId, () -> currentStock(itemId, 0)) <= 0;
+    }
+
+    /**
+     * 재고 차감 후 갱신 - remaining 은 호출 시점의 값이라 오래됐을 수 있다.
+     * 판매 중 -> 판매 중 (가장 흔한 경우) 은 조회 없이 끝내고, 비트를 바꿔야 할 때만 현재 재고를 다시 읽는다.
+     */
+    public void update(Long itemId, int remaining) {
+        if (remaining > 0 && !isSoldOut(itemId)) {
+            return;
+        }
+        apply(itemId, () -> currentStock(itemId, remaining));
+    }
+
+    /**
+     * 현재 재고를 바로 읽을 수 있는 경우 (재고 원장)
+     */
+    public void update(Long itemId, IntSupplier stock) {
+        apply(itemId, stock);
+    }
+
+    /**
+     * 재고가 다시 채워진 경우 (주문 취소, 관리자 재고 수정)
+     */
+    public void replenished(Long itemId, int remaining) {
+        replenished(itemId, () -> currentStock(itemId, remaining));
+    }
+
+    public void replenished(Long itemId, IntSupplier stock) {
+        int current = apply(itemId, stock);
+        replenishListeners.forEach(listener -> listener.accept(itemId, current));
+    }
+
+    public void updateAfterCommit(Long itemId, int remaining) {
+        afterCommit(() -> update(itemId, remaining));
+    }
+
+    public void replenishedAfterCommit(Long itemId, int remaining) {
+        afterCommit(() -> replenished(itemId, remaining));
+    }
+
+    public void addReplenishListener(BiConsumer<Long, Integer> listener) {
+        replenishListeners.add(listener);
+    }
+
+    public void addChangeListener(Consumer<Long> listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * 현재 재고와 비트가 어긋나 있으면 잠금 안에서 다시 읽어 맞춘다.
+     * 비트를 바꾼 뒤 한 번 더 읽어서, 그 사이 바뀐 재고가 있으면 다시 맞춘다.
+     * (그 뒤에 바뀐 재고는 바꾼 쪽이 다시 apply 를 호출하므로 마지막 값으로 수렴)
+     * @return 마지막으로 읽은 재고
+     */
+    private int apply(Long itemId, IntSupplier stock) {
+        int current = stock.getAsInt();
+        if (itemId == null || itemId < 0 || (current <= 0) == isSoldOut(itemId)) {
+            return current;
+        }
+
+        boolean changed = false;
+        synchronized (locks[(int) (itemId & (locks.length - 1))]) {
+            while ((current <= 0) != isSoldOut(itemId)) {
+                changed |= current <= 0 ? setBit(itemId) : clearBit(itemId);
+                current = stock.getAsInt();
+            }
+        }
+
+        if (changed) {
+            changeListeners.forEach(listener -> listener.accept(itemId));
+        }
+        return current;
+    }
+
+    /**
+     * 지금 재고 - 원장이 켜져 있으면 원장, 아니면 DB (상품이 없으면 fallback)
+     */
+    int currentStock(Long itemId, int fallback) {
+        StockLedger ledger = StockLedger.current();
+        Integer available = ledger == null ? null : ledger.available(itemId);
+        if (available != null) {
+            return available;
+        }
+        return jdbcTemplate.queryForList("select stock_number from item where item_id = ?",
+                Integer.class, itemId).stream().findFirst().orElse(fallback);
+    }
+
+    private void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+    //비트가 실제로 바뀌었으면 true
+    private boolean setBit(long itemId) {
+        int index = (int) (itemId >>> 6);
+        long mask = 1L << itemId;
+
+        ensureCapacity(index);
+
+        growLock.readLock().lock();
+        try {
+            AtomicLongArray current = words;
+            long prev;
+            do {
+                prev = current.get(index);
+                if ((prev & mask) != 0) {
+                    return false;
+                }
+            } while (!current.compareAndSet(index, prev, prev | mask));
+            return true;
+        } finally {
+            growLock.readLock().unlock();
+        }
+    }
+
+    private boolean clearBit(long itemId) {
+        int index = (int) (itemId >>> 6);
+        long mask = 1L << itemId;
+
+        growLock.readLock().lock();
+        try {
+            AtomicLongArray current = words;
+            if (index >= current.length()) {
+                return false;
+            }
+            long prev;
+            do {
+                prev = current.get(index);
+                if ((prev & mask) == 0) {
+                    return false;
+                }
+            } while (!current.compareAndSet(index, prev, prev & ~mask));
+            return true;
+        } finally {
+            growLock.readLock().unlock();
+        }
+    }
+
+    private void ensureCapacity(int index) {
+        if (index < words.length()) {
+            return;
+        }
+
+        growLock.writeLock().lock();
+        try {
+            AtomicLongArray current = words;
+            if (index < current.length()) {
+                return;
+            }
+            AtomicLongArray grown = new AtomicLongArray(Math.max(index + 1, current.length() * 2));
+            for (int i = 0; i < current.length(); i++) {
+                grown.set(i, current.get(i));
+            }
+            words = grown;
+        } finally {
+            growLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 기동 시 재고가 없는 상품을 품절로 표시
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        jdbcTemplate.query("select item_id from item where stock_number <= 0",
+                rs -> {
+                    setBit(rs.getLong("item_id"));
+                });
+        log.info("품절 비트맵 초기화 완료");
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.shop.service;
+
+import com.example.shop.constant.StockStrategyType;
+import com.example.shop.exception.OutOfStockException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ============================================
+ * 클래스명   : StockLedger
+ * 설명       : 상품별 재고를 메모리 원장(ledger)에서 관리
+ *             - 상품 하나당 하나의 stripe(원자적 카운터)를 두어 CAS로 예약/반납 처리
+ *             - 커밋된 증감분(delta)만 모아서 주기적으로 item.stock_number 에 배치 반영
+ *             - 기동 시 DB의 stock_number 로 카운터를 다시 만든다 (복구)
+ *             - 재고가 0이 되거나 다시 채워지면 품절 비트맵(SoldOutRegistry) 갱신
+ * ============================================
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class StockLedger {
+
+    private static final String FLUSH_SQL =
+            "update item set stock_number = stock_number + ? where item_id = ?";
+
+    //엔티티(Item)에서 스프링 빈을 주입받을 수 없으므로 정적 참조로 노출
+    private static volatile StockLedger current;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SoldOutRegistry soldOutRegistry;
+
+    private final Map<Long, Stripe> stripes = new ConcurrentHashMap<>();
+
+    //재고 차감 전략이 LEDGER 일 때만 원장을 사용
+    @Value("${shop.stock.strategy:LEDGER}")
+    private StockStrategyType strategy;
+
+    private boolean enabled;
+
+    /**
+     * 상품 하나의 재고 카운터
+     * available : 지금 주문 가능한 수량 (예약 즉시 차감)
+     * pending   : 커밋되었지만 아직 DB에 반영되지 않은 증감분
+     */
+    static final class Stripe {
+        final AtomicInteger available;
+        final AtomicInteger pending = new AtomicInteger();
+
+        Stripe(int available) {
+            this.available = new AtomicInteger(available);
+        }
+    }
+
+    /**
+     * 원장이 활성화된 경우에만 인스턴스를 반환, 비활성이면 null
+     */
+    public static StockLedger current() {
+        return current;
+    }
+
+    @PostConstruct
+    public void register() {
+        enabled = strategy == StockStrategyType.LEDGER;
+        current = enabled ? this : null;
+
+        if (enabled) {
+            log.info("재고 원장(StockLedger) 활성화");
+        }
+    }
+
+    /**
+     * 재고 예약(차감)
+     * @param seed 원장에 아직 카운터가 없을 때 사용할 초기 재고 (보통 엔티티의 stockNumber)
+     */
+    public void reserve(Long itemId, int count, int seed) {
+        Stripe stripe = stripes.computeIfAbsent(itemId, id -> new Stripe(seed));
+
+        while (true) {
+            int cur = stripe.available.get();
+            if (cur < count) {
+                throw new OutOfStockException("상품의 재고가 부족합니다. (현재 재고 수량: "
+                        + cur + ")");
+            }
+            if (stripe.available.compareAndSet(cur, cur - count)) {
+                //마지막 수량이면 커밋을 기다리지 않고 바로 품절 표시 (원장의 현재 값으로 판단)
+                soldOutRegistry.update(itemId, stripe.available::get);
+                break;
+            }
+        }
+
+        //커밋되면 DB 반영 대상으로, 롤백되면 예약 수량 반납
+        afterCompletion(
+                () -> stripe.pending.addAndGet(-count),
+                () -> {
+                    stripe.available.addAndGet(count);
+                    soldOutRegistry.update(itemId, stripe.available::get);
+                });
+    }
+
+    /**
+     * 재고 반납(증가) - 주문 취소 시 사용
+     * 롤백될 수 있는 수량을 먼저 팔지 않도록 커밋 이후에 반영한다.
+     */
+    public void release(Long itemId, int count, int seed) {
+        Stripe stripe = stripes.computeIfAbsent(itemId, id -> new Stripe(seed));
+
+        afterCompletion(() -> {
+            stripe.available.addAndGet(count);
+            stripe.pending.addAndGet(count);
+            soldOutRegistry.replenished(itemId, stripe.available::get);
+        }, () -> { });
+    }
+
+    /**
+     * 관리자가 재고를 절대값으로 수정한 경우 (상품 수정 트랜잭션 안에서 호출)
+     * - 행을 잠그고 지금 DB 값을 읽어, 커밋되면 (수정값 - 읽은 값) 만큼만 원장에 더한다.
+     * - 커밋됐지만 아직 DB에 반영되지 않은 증감분(pending)은 버리지 않고 수정값 위에 반영된다.
+     * - 수정값은 잠근 상태에서 직접 쓴다. 엔티티 값이 로딩한 값과 같으면 변경 감지(@DynamicUpdate)가
+     *   stock_number 를 쓰지 않으므로, 그 사이 flush 로 바뀐 DB 값이 남아 원장과 어긋난다.
+     */
+    public void reset(Long itemId, int stockNumber) {
+        Integer locked = jdbcTemplate.queryForList(
+                "select stock_number from item where item_id = ? for update",
+                Integer.class, itemId).stream().findFirst().orElse(null);
+        if (locked == null) {
+            return;
+        }
+        jdbcTemplate.update("update item set stock_number = ? where item_id = ?", stockNumber, itemId);
+
+        afterCompletion(() -> applyReset(itemId, locked, stockNumber), () -> { });
+    }
+
+    //DB 재고가 lockedStock -> stockNumber 로 바뀐 만큼 원장 조정
+    void applyReset(Long itemId, int lockedStock, int stockNumber) {
+        Stripe stripe = stripes.get(itemId);
+        if (stripe == null) {
+            return; // 원장에 없으면 다음 주문 때 엔티티 재고로 만들어진다
+        }
+        stripe.available.addAndGet(stockNumber - lockedStock);
+        soldOutRegistry.replenished(itemId, stripe.available::get);
+    }
+
+    /**
+     * 현재 주문 가능한 수량 (원장에 없으면 null)
+     */
+    public Integer available(Long itemId) {
+        Stripe stripe = stripes.get(itemId);
+        return stripe == null ? null : stripe.available.get();
+    }
+
+    private void afterCompletion(Runnable onCommit, Runnable onRollback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            onCommit.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    onCommit.run();
+                } else {
+                    onRollback.run();
+                }
+            }
+        });
+    }
+
+    // -------------------- [DB 반영: 비동기 배치] --------------------
+
+    /**
+     * 커밋된 증감분을 모아서 한 번의 배치로 item.stock_number 에 반영
+     */
+    @Scheduled(fixedDelayString = "${shop.stock.ledger.flush-interval-ms:200}")
+    public void flush() {
+        if (!enabled || stripes.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batchArgs = new ArrayList<>();
+        List<Stripe> flushed = new ArrayList<>();
+
+        stripes.forEach((itemId, stripe) -> {
+            int delta = stripe.pending.getAndSet(0);
+            if (delta != 0) {
+                batchArgs.add(new Object[]{delta, itemId});
+                flushed.add(stripe);
+            }
+        });
+
+        if (batchArgs.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batchArgs);
+            log.debug("재고 증감분 반영 : {}건", batchArgs.size());
+        } catch (RuntimeException e) {
+            //실패한 증감분은 다음 주기에 다시 반영
+            for (int i = 0; i < flushed.size(); i++) {
+                flushed.get(i).pending.addAndGet((Integer) batchArgs.get(i)[0]);
+            }
+            log.error("재고 증감분 반영 실패, 다음 주기에 재시도합니다.", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+
+        if (current == this) {
+            current = null;
+        }
+    }
+
+    // -------------------- [복구: DB에서 카운터 재구성] --------------------
+
+    /**
+     * 기동 시 DB의 stock_number 로 카운터를 다시 만든다.
+     * 이미 요청이 들어와 만들어진 카운터는 덮어쓰지 않는다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        if (!enabled) {
+            return;
+        }
+
+        jdbcTemplate.query("select item_id, stock_number from item", rs -> {
+            stripes.putIfAbsent(rs.getLong("item_id"), new Stripe(rs.getInt("stock_number")));
+        });
+
+        log.info("재고 원장 복구 완료 : {}개 상품", stripes.size());
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.shop.service;
+
+import com.example.shop.constant.StockStrategyType;
+import com.example.shop.entity.Item;
+
+/**
+ * 주문 시 재고 차감 전략
+ * - 여러 상품을 주문하는 경우 OrderService 가 상품 ID 순으로 호출한다 (락 순서 고정)
+ */
+public interface StockStrategy {
+
+    StockStrategyType getType();
+
+    /**
+     * 재고를 차감하고 차감된 상품을 반환
+     * 재고가 부족하면 OutOfStockException 발생
+     */
+    Item decrease(Long itemId, int count);
+
+    /**
+     * 주문 취소 시 재고 복구
+     */
+    default void increase(Item item, int count) {
+        item.addStock(count);
+    }
+}
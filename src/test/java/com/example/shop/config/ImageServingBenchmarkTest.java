@@ -0,0 +1,170 @@
+package com.example.shop.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * /images/** 이미지 응답 헤더 확인 + 처리량 벤치마크 (requests/s)
+ * - 측정 전에 별도 파일로 WARMUP_ROUNDS 번 요청해 JIT/커넥션을 데운다.
+ * - first-open : 측정용 파일마다 처음 요청 (서버가 파일을 처음 열어서 보냄)
+ *   방금 쓴 파일이라 OS 페이지 캐시에는 있으므로 디스크에서 읽는 진짜 cold 값은 아니다.
+ * - warm : 같은 파일을 ROUNDS 번 다시 전체 요청 (200)
+ * - revalidate : 브라우저 캐시가 있는 경우처럼 If-None-Match 로 ROUNDS 번 요청 (304, 본문 없음)
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Slf4j
+class ImageServingBenchmarkTest {
+
+    private static final int FILES = 1000;
+    private static final int WARMUP_FILES = 200;
+    private static final int FILE_SIZE = 64 * 1024;
+    private static final int CLIENTS = 8;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 5;
+
+    //UPLOAD_DIR 을 만들면서 채우므로 먼저 선언
+    private static final List<String> FILE_NAMES = new ArrayList<>();
+    private static final List<String> WARMUP_FILE_NAMES = new ArrayList<>();
+
+    private static final Path UPLOAD_DIR = createUploadDir();
+
+    @LocalServerPort
+    int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @DynamicPropertySource
+    static void uploadPath(DynamicPropertyRegistry registry) {
+        registry.add("uploadPath", () -> UPLOAD_DIR.toUri().toString());
+        registry.add("itemImgLocation", () -> UPLOAD_DIR.resolve("item").toString());
+    }
+
+    @AfterAll
+    static void cleanUp() throws IOException {
+        FileSystemUtils.deleteRecursively(UPLOAD_DIR);
+    }
+
+    @Test
+    @DisplayName("강한 ETag, Last-Modified, immutable 캐시, Range, 세션 없음, nosniff")
+    public void headersTest() throws Exception {
+        String fileName = FILE_NAMES.get(0);
+        String hash = fileName.substring(0, 64);
+
+        HttpResponse<byte[]> response = get(fileName, Function.identity());
+        assertEquals(200, response.statusCode());
+        assertEquals(FILE_SIZE, response.body().length);
+        assertEquals("\"" + hash + "\"", response.headers().firstValue("ETag").orElseThrow());
+        assertTrue(response.headers().firstValue("Last-Modified").isPresent());
+        String cacheControl = response.headers().firstValue("Cache-Control").orElseThrow();
+        assertTrue(cacheControl.contains("max-age=31536000"));
+        assertTrue(cacheControl.contains("immutable"));
+        assertTrue(response.headers().firstValue("Set-Cookie").isEmpty());
+        assertEquals("nosniff", response.headers().firstValue("X-Content-Type-Options").orElseThrow());
+
+        HttpResponse<byte[]> notModified = get(fileName, b -> b.header("If-None-Match", "\"" + hash + "\""));
+        assertEquals(304, notModified.statusCode());
+
+        HttpResponse<byte[]> partial = get(fileName, b -> b.header("Range", "bytes=100-199"));
+        assertEquals(206, partial.statusCode());
+        assertEquals(100, partial.body().length);
+
+        assertEquals(404, get("missing.jpg", Function.identity()).statusCode());
+    }
+
+    @Test
+    @DisplayName("이미지 처리량 벤치마크 (first-open / warm / revalidate)")
+    public void benchmark() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            //측정하지 않는 파일로 데우기 (200, 304 경로 모두)
+            run(executor, null, WARMUP_FILE_NAMES, WARMUP_ROUNDS, false);
+            run(executor, null, WARMUP_FILE_NAMES, WARMUP_ROUNDS, true);
+
+            run(executor, "first-open (page cache warm)", FILE_NAMES, 1, false);
+            run(executor, "warm", FILE_NAMES, ROUNDS, false);
+            run(executor, "revalidate", FILE_NAMES, ROUNDS, true);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    //name 이 null 이면 결과를 남기지 않는다 (데우기)
+    private void run(ExecutorService executor, String name, List<String> fileNames, int rounds,
+                     boolean revalidate) throws Exception {
+        int expectedStatus = revalidate ? 304 : 200;
+        long start = System.nanoTime();
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int round = 0; round < rounds; round++) {
+            for (String fileName : fileNames) {
+                String etag = "\"" + fileName.substring(0, 64) + "\"";
+                results.add(executor.submit(() -> get(fileName,
+                        b -> revalidate ? b.header("If-None-Match", etag) : b).statusCode()));
+            }
+        }
+        for (Future<Integer> result : results) {
+            assertEquals(expectedStatus, result.get());
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        if (name != null) {
+            log.info("[이미지 벤치마크] {} : {}건, {} clients, {} req/s",
+                    name, results.size(), CLIENTS, String.format("%.0f", results.size() / seconds));
+        }
+    }
+
+    private HttpResponse<byte[]> get(String fileName,
+                                     Function<HttpRequest.Builder, HttpRequest.Builder> customizer) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/images/item/" + fileName)).GET();
+        return client.send(customizer.apply(builder).build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    //FileService 와 같은 이름 규칙 (SHA-256 + 확장자)으로 임의 이미지 파일을 만든다
+    private static Path createUploadDir() {
+        try {
+            Path dir = Files.createTempDirectory("shop-images");
+            Path itemDir = Files.createDirectories(dir.resolve("item"));
+            Random random = new Random(1);
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (int i = 0; i < FILES + WARMUP_FILES; i++) {
+                byte[] data = new byte[FILE_SIZE];
+                random.nextBytes(data);
+                String fileName = HexFormat.of().formatHex(digest.digest(data)) + ".jpg";
+                Files.write(itemDir.resolve(fileName), data);
+                (i < FILES ? FILE_NAMES : WARMUP_FILE_NAMES).add(fileName);
+            }
+            return dir;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
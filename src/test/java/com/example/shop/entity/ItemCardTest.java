@@ -0,0 +1,47 @@
+package com.example.shop.entity;
+
+import com.example.shop.constant.ItemSellStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemCardTest {
+
+    @Test
+    @DisplayName("상세 설명 요약 - 공백 정리 후 길이 제한, setItemDetail 시 함께 계산")
+    public void summarizeTest() {
+        assertNull(Item.summarize(null));
+        assertEquals("첫 줄 둘째 줄", Item.summarize("  첫 줄\n\n둘째   줄 "));
+
+        String summary = Item.summarize("가".repeat(Item.SUMMARY_LENGTH + 50));
+        assertEquals(Item.SUMMARY_LENGTH + 1, summary.length());
+        assertTrue(summary.endsWith("…"));
+
+        Item item = new Item();
+        item.setItemDetail("상세\n설명");
+        assertEquals("상세 설명", item.getItemSummary());
+    }
+
+    @Test
+    @DisplayName("상품 정보로 카드 생성/갱신")
+    public void ofTest() {
+        Item item = new Item();
+        item.setId(7L);
+        item.setItemNm("테스트 상품");
+        item.setPrice(10000);
+        item.setItemDetail("상세 설명");
+        item.setItemSellStatus(ItemSellStatus.SELL);
+
+        ItemCard card = ItemCard.of(item);
+        assertEquals(7L, card.getItemId());
+        assertEquals("상세 설명", card.getItemSummary()); //상품의 요약 컬럼을 그대로 사용
+        assertTrue(card.isNew());
+
+        item.setPrice(20000);
+        item.setItemSellStatus(ItemSellStatus.SOLD_OUT);
+        card.update(item);
+        assertEquals(20000, card.getPrice());
+        assertEquals(ItemSellStatus.SOLD_OUT, card.getItemSellStatus());
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.shop.entity;
 
 import com.example.shop.constant.ItemSellStatus;
+import com.example.shop.constant.OrderStatus;
 import com.example.shop.dto.MemberFormDto;
+import com.example.shop.dto.OrderSummaryDto;
 import com.example.shop.repository.ItemRepository;
 import com.example.shop.repository.MemberRepository;
 import com.example.shop.repository.OrderItemRepository;
@@ -17,6 +19,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -137,4 +141,34 @@ class OrderTest {
                 .orElseThrow(()-> new EntityNotFoundException("ID 없음"));
         assertEquals(3, savedOrder.getOrderItems().size());
     }
+
+    @Test
+    @DisplayName("주문 총액/상품 수 저장 및 SQL 집계 테스트")
+    public void totalPriceTest(){
+        Member member = new Member();
+        memberRepository.save(member);
+
+        List<OrderItem> orderItemList = new ArrayList<>();
+        for(int i=0; i<3; i++){
+            Item item = createItem();
+            itemRepository.save(item);
+            orderItemList.add(OrderItem.createPricedOrderItem(item, 2));
+        }
+
+        Order order = Order.createOrder(member, orderItemList);
+        orderRepository.save(order);
+
+        em.flush();
+        em.clear();
+
+        Order savedOrder = orderRepository.findById(order.getId())
+                .orElseThrow(()-> new EntityNotFoundException("ID 없음"));
+        assertEquals(savedOrder.calculateTotalPrice(), savedOrder.getTotalPrice());
+        assertEquals(3, savedOrder.getLineCount());
+
+        OrderSummaryDto summary = orderRepository.getOrderSummary(member.getId(), OrderStatus.ORDER);
+        assertEquals(1, summary.getOrderCount());
+        assertEquals(order.getTotalPrice(), summary.getTotalPrice());
+        assertEquals(3, summary.getLineCount());
+    }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.example.shop.repository;
 
 import com.example.shop.constant.ItemSellStatus;
+import com.example.shop.constant.ItemSortType;
+import com.example.shop.dto.ItemCursor;
 import com.example.shop.dto.ItemSearchDto;
 import com.example.shop.entity.Item;
 import jakarta.persistence.EntityManager;
@@ -12,7 +14,10 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 
+import org.springframework.transaction.annotation.Transactional;
+
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import static  org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -133,4 +138,47 @@ class ItemRepositoryTest {
 
         result.getContent().forEach(item-> log.info("item : {}", item.toString()));
     }
-}
\ No newline at end of file
+
+    @Test
+    @Transactional
+    @DisplayName("가격순 커서 조회 - 같은 가격이 있어도 누락/중복 없이 이어짐")
+    public void getAdminItemScrollTest(){
+        String prefix = "커서 테스트 " + System.nanoTime();
+        for(int i=1; i<=7; i++) {
+            Item item = new Item();
+            item.setItemNm(prefix + i);
+            item.setPrice(50000 + (i / 2) * 100); // 같은 가격 2개씩
+            item.setItemDetail("커서 테스트 상품 상세 설명" + i);
+            item.setItemSellStatus(ItemSellStatus.SELL);
+            item.setStockNumber(100);
+            itemRepository.save(item);
+        }
+
+        ItemSearchDto searchDto = new ItemSearchDto();
+        searchDto.setSearchBy("itemNm");
+        searchDto.setSearchQuery(prefix);
+        searchDto.setSort(ItemSortType.PRICE_ASC);
+
+        List<Item> pages = new ArrayList<>();
+        ItemCursor cursor = null;
+        while (true) {
+            List<Item> rows = itemRepository.getAdminItemScroll(searchDto, cursor, false, 3);
+            pages.addAll(rows);
+            if (rows.size() < 3) {
+                break;
+            }
+            Item last = rows.get(rows.size() - 1);
+            cursor = new ItemCursor(ItemSortType.PRICE_ASC, last.getPrice(), last.getId());
+        }
+
+        List<Item> all = itemRepository.getAdminItemScroll(searchDto, null, false, 100);
+        assertEquals(7, pages.size());
+        assertEquals(all.stream().map(Item::getId).toList(), pages.stream().map(Item::getId).toList());
+
+        //이전 방향은 커서 바로 앞 행부터 역순으로 읽음
+        Item fourth = all.get(3);
+        List<Item> prev = itemRepository.getAdminItemScroll(searchDto,
+                new ItemCursor(ItemSortType.PRICE_ASC, fourth.getPrice(), fourth.getId()), true, 2);
+        assertEquals(List.of(all.get(2).getId(), all.get(1).getId()), prev.stream().map(Item::getId).toList());
+    }
+}
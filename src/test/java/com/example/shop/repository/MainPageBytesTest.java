@@ -0,0 +1,122 @@
+package com.example.shop.repository;
+
+import com.example.shop.constant.ItemSellStatus;
+import com.example.shop.dto.ItemSearchDto;
+import com.example.shop.entity.Item;
+import com.example.shop.entity.ItemImg;
+import com.example.shop.service.ItemCardService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 메인 페이지 1회 렌더링 시 MySQL 이 보낸 바이트 수 측정 (세션 Bytes_sent 차이)
+ * - before : 기존 쿼리 (item_img + item 조인, itemDetail LOB 포함)
+ * - after  : item_card 의 itemSummary 만 조회
+ * 트랜잭션 안에서는 JPA 와 JdbcTemplate 이 같은 커넥션을 쓰므로 같은 세션 값을 비교할 수 있다.
+ */
+@SpringBootTest
+@Transactional
+@Slf4j
+class MainPageBytesTest {
+
+    private static final int DETAIL_LENGTH = 20_000;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    ItemImgRepository itemImgRepository;
+
+    @Autowired
+    ItemCardService itemCardService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    EntityManager em;
+
+    private final Pageable pageable = PageRequest.of(0, 6);
+
+    @BeforeEach
+    public void createItems() {
+        for (int i = 1; i <= 12; i++) {
+            Item item = new Item();
+            item.setItemNm("측정 상품" + i);
+            item.setPrice(10000 + i);
+            item.setItemDetail("긴 상세 설명 ".repeat(DETAIL_LENGTH / 7));
+            item.setItemSellStatus(ItemSellStatus.SELL);
+            item.setStockNumber(100);
+            item.setRegTime(LocalDateTime.now());
+            item.setUpdateTime(LocalDateTime.now());
+            itemRepository.save(item);
+            itemCardService.syncItem(item);
+
+            ItemImg itemImg = new ItemImg();
+            itemImg.setItem(item);
+            itemImg.setRepimgYn("Y");
+            itemImg.updateItemImg("test.jpg", "test.jpg", "/images/item/test.jpg");
+            itemImgRepository.save(itemImg);
+            itemCardService.syncRepImg(item.getId(), itemImg.getImgUrl());
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    @DisplayName("메인 페이지 조회 시 전송 바이트 비교")
+    public void mainPageBytesTest() {
+
+        long before = bytesSent(() -> em.createQuery(
+                        "select i.id, i.itemNm, i.itemDetail, im.imgUrl, i.price " +
+                        "from ItemImg im join im.item i " +
+                        "where im.repimgYn = 'Y' order by i.id desc")
+                .setMaxResults(pageable.getPageSize())
+                .getResultList());
+
+        long after = bytesSent(() -> itemRepository.getMainItemSlice(new ItemSearchDto(), pageable));
+
+        log.info("메인 페이지 1회 전송 바이트 - before(itemDetail) : {}, after(itemSummary) : {}", before, after);
+        assertTrue(after * 10 < before);
+    }
+
+    @Test
+    @DisplayName("관리자 목록 조회 시 itemDetail 미조회")
+    public void adminListLazyDetailTest() {
+
+        Slice<Item> slice = itemRepository.getAdminItemSlice(new ItemSearchDto(), pageable);
+
+        assertFalse(slice.getContent().isEmpty());
+        for (Item item : slice.getContent()) {
+            assertFalse(Hibernate.isPropertyInitialized(item, "itemDetail"));
+            assertNotNull(item.getItemSummary());
+        }
+    }
+
+    private long bytesSent(Runnable query) {
+        long start = sessionBytesSent();
+        query.run();
+        return sessionBytesSent() - start;
+    }
+
+    private long sessionBytesSent() {
+        return jdbcTemplate.queryForObject("show session status like 'Bytes_sent'",
+                (rs, rowNum) -> rs.getLong(2));
+    }
+}
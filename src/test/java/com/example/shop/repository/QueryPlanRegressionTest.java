@@ -0,0 +1,325 @@
+package com.example.shop.repository;
+
+import com.example.shop.constant.BulkCancelStatus;
+import com.example.shop.constant.ItemSellStatus;
+import com.example.shop.constant.ItemSortType;
+import com.example.shop.constant.OrderStatus;
+import com.example.shop.constant.Role;
+import com.example.shop.dto.ItemCursor;
+import com.example.shop.dto.ItemSearchDto;
+import com.example.shop.entity.Cart;
+import com.example.shop.entity.CartItem;
+import com.example.shop.entity.Item;
+import com.example.shop.entity.ItemCard;
+import com.example.shop.entity.ItemImg;
+import com.example.shop.entity.Member;
+import com.example.shop.entity.Order;
+import com.example.shop.entity.OrderItem;
+import com.example.shop.service.OrderHistoryService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 리포지토리 쿼리 실행 계획 회귀 테스트
+ * - 로컬 DB 에 테이블별 SEED_ROWS 건을 채운 뒤 모든 리포지토리 쿼리(파생, JPQL, 네이티브, QueryDSL)를 실행
+ *   (채운 데이터는 테스트가 끝나면 지운다. 이전 실행이 중간에 끊겨 남은 데이터도 시작 전에 지움)
+ * - 실제로 나간 SQL 을 바인딩 값까지 채워서 EXPLAIN 하고,
+ *   max-full-scan-rows 보다 큰 테이블을 풀 스캔(type=ALL) 하면 실패
+ * - 리포지토리에 쿼리 메서드를 추가하면 cases() 에도 추가해야 통과 (누락 검사)
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Slf4j
+class QueryPlanRegressionTest {
+
+    private static final int SEED_ROWS = 2000;
+    private static final String SEED_PREFIX = "plan-seed-";
+
+    private static final long MAX_FULL_SCAN_ROWS =
+            Long.getLong("explain.max-full-scan-rows", 1000L);
+
+    //풀 스캔을 허용하는 쿼리와 이유
+    private static final Map<String, String> FULL_SCAN_ALLOWED = Map.of(
+            "ItemRepository.findByItemNm/1", "학습용 예제 쿼리 (운영 코드 미사용)",
+            "ItemRepository.findByItemNmLike/1", "학습용 예제 쿼리 (운영 코드 미사용)",
+            "ItemRepository.findByPriceLessThan/1", "학습용 예제 쿼리 (운영 코드 미사용)",
+            "ItemRepository.findByItemDetail/1", "학습용 예제 쿼리 (운영 코드 미사용)",
+            "ItemRepository.findByItemDetailByNative/1", "학습용 예제 쿼리 (운영 코드 미사용)",
+            "ItemRepositoryCustom.getMainItemPage/2", "전체 건수 count - slice 모드에서는 CatalogCountCache 가 캐시",
+            "ItemRepositoryCustom.countMainItems/1", "전체 건수 count - CatalogCountCache 가 캐시",
+            "OrderRepository.findOrdersWithoutHistory/1", "기동 시 1회 이관 (OrderHistoryService.backfill)"
+    );
+
+    private static final List<Class<?>> REPOSITORIES = List.of(
+            BulkCancelJobRepository.class, CartItemRepository.class, CartRepository.class,
+            ItemCardRepository.class, ItemImgRepository.class, ItemRepository.class,
+            ItemRepositoryCustom.class, MemberRepository.class, OrderHistoryViewRepository.class,
+            OrderItemRepository.class, OrderRepository.class);
+
+    @TestConfiguration
+    static class CaptureConfig {
+        @Bean
+        static BeanPostProcessor sqlCaptureDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? SqlCapture.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired ItemRepository itemRepository;
+    @Autowired ItemImgRepository itemImgRepository;
+    @Autowired ItemCardRepository itemCardRepository;
+    @Autowired MemberRepository memberRepository;
+    @Autowired CartRepository cartRepository;
+    @Autowired CartItemRepository cartItemRepository;
+    @Autowired OrderRepository orderRepository;
+    @Autowired OrderHistoryViewRepository orderHistoryViewRepository;
+    @Autowired BulkCancelJobRepository bulkCancelJobRepository;
+    @Autowired OrderHistoryService orderHistoryService;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    private final Pageable pageable = PageRequest.of(0, 6);
+
+    private Member member;
+    private Long cartId;
+    private Long itemId;
+
+    @BeforeAll
+    public void seed() {
+        String email = SEED_PREFIX + "1@test.com";
+
+        removeSeed();
+        for (int from = 1; from <= SEED_ROWS; from += 500) {
+            int start = from;
+            transactionTemplate.executeWithoutResult(status -> seedChunk(start, Math.min(start + 499, SEED_ROWS)));
+        }
+
+        //등록일을 1년에 걸쳐 분산 (BaseTimeEntity 가 저장 시점으로 채우므로 저장 후 변경)
+        jdbcTemplate.update("update item set reg_time = now() - interval (item_id % 365) day, " +
+                "item_sell_status = if(item_id % 10 = 0, 'SOLD_OUT', 'SELL') " +
+                "where item_nm like '" + SEED_PREFIX + "%'");
+
+        jdbcTemplate.queryForList("analyze table item, item_img, item_card, member, cart, cart_item, " +
+                "orders, order_item, order_history_view");
+
+        member = memberRepository.findByEmail(email);
+        cartId = cartRepository.findByMemberId(member.getId()).getId();
+        itemId = itemRepository.findByItemNm(SEED_PREFIX + "1").get(0).getId();
+    }
+
+    @AfterAll
+    public void removeSeed() {
+        String item = "select item_id from item where item_nm like '" + SEED_PREFIX + "%'";
+        String member = "select member_id from member where email like '" + SEED_PREFIX + "%'";
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("delete from order_history_view where member_id in (" + member + ")");
+            jdbcTemplate.update("delete from order_item where order_id in " +
+                    "(select order_id from orders where member_id in (" + member + "))");
+            jdbcTemplate.update("delete from orders where member_id in (" + member + ")");
+            jdbcTemplate.update("delete from cart_item where cart_id in " +
+                    "(select cart_id from cart where member_id in (" + member + "))");
+            jdbcTemplate.update("delete from cart where member_id in (" + member + ")");
+            jdbcTemplate.update("delete from member where email like '" + SEED_PREFIX + "%'");
+            jdbcTemplate.update("delete from item_card where item_id in (" + item + ")");
+            jdbcTemplate.update("delete from item_img where item_id in (" + item + ")");
+            jdbcTemplate.update("delete from item where item_nm like '" + SEED_PREFIX + "%'");
+        });
+    }
+
+    private void seedChunk(int from, int to) {
+        List<Order> orders = new ArrayList<>();
+
+        for (int i = from; i <= to; i++) {
+            Item item = new Item();
+            item.setItemNm(SEED_PREFIX + i);
+            item.setPrice(1000 + i);
+            item.setItemDetail("실행 계획 테스트 상품 " + i);
+            item.setItemSellStatus(ItemSellStatus.SELL);
+            item.setStockNumber(1000);
+            itemRepository.save(item);
+
+            ItemImg itemImg = new ItemImg();
+            itemImg.setItem(item);
+            itemImg.setRepimgYn("Y");
+            itemImg.updateItemImg("seed.jpg", "seed.jpg", "/images/item/seed.jpg");
+            itemImgRepository.save(itemImg);
+
+            ItemCard card = ItemCard.of(item);
+            card.setImgUrl(itemImg.getImgUrl());
+            itemCardRepository.save(card);
+
+            Member seedMember = new Member();
+            seedMember.setName(SEED_PREFIX + i);
+            seedMember.setEmail(SEED_PREFIX + i + "@test.com");
+            seedMember.setRole(Role.USER);
+            memberRepository.save(seedMember);
+
+            Cart cart = Cart.create(seedMember);
+            cartRepository.save(cart);
+            cartItemRepository.save(CartItem.createCartItem(cart, item, 1));
+
+            Order order = Order.createOrder(seedMember, List.of(OrderItem.createPricedOrderItem(item, 1)));
+            orderRepository.save(order);
+            orders.add(order);
+        }
+
+        orderHistoryService.record(orders);
+    }
+
+    /**
+     * 리포지토리 쿼리별 실행 코드 - 키는 "리포지토리.메서드/파라미터 수"
+     */
+    private Map<String, Runnable> cases() {
+        ItemSearchDto all = new ItemSearchDto();
+
+        ItemSearchDto admin = new ItemSearchDto();
+        admin.setSearchDateType("1w");
+        admin.setItemSellStatus(ItemSellStatus.SELL);
+
+        ItemSearchDto main = new ItemSearchDto();
+        main.setSearchQuery(SEED_PREFIX + "1");
+
+        ItemSearchDto sorted = new ItemSearchDto();
+        sorted.setSort(ItemSortType.PRICE_ASC);
+        sorted.setMinPrice(1000);
+        ItemCursor priceCursor = new ItemCursor(ItemSortType.PRICE_ASC, 1500, itemId);
+
+        List<Long> rankedIds = List.of(itemId, itemId - 1, itemId - 2);
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<String, Runnable> cases = new LinkedHashMap<>();
+
+        cases.put("BulkCancelJobRepository.findByStatus/1", () -> bulkCancelJobRepository.findByStatus(BulkCancelStatus.RUNNING));
+        cases.put("BulkCancelJobRepository.findByIdForUpdate/1", () -> bulkCancelJobRepository.findByIdForUpdate(1L));
+
+        cases.put("CartItemRepository.findByCartIdAndItemId/2", () -> cartItemRepository.findByCartIdAndItemId(cartId, itemId));
+        cases.put("CartItemRepository.findCartDetailDtolist/1", () -> cartItemRepository.findCartDetailDtolist(cartId));
+        cases.put("CartRepository.findByMemberId/1", () -> cartRepository.findByMemberId(member.getId()));
+
+        cases.put("ItemCardRepository.updateImgUrl/2", () -> itemCardRepository.updateImgUrl(itemId, "/images/item/seed.jpg"));
+
+        cases.put("ItemImgRepository.findByItemIdOrderByIdAsc/1", () -> itemImgRepository.findByItemIdOrderByIdAsc(itemId));
+        cases.put("ItemImgRepository.findByItemIdAndRepimgYn/2", () -> itemImgRepository.findByItemIdAndRepimgYn(itemId, "Y"));
+        cases.put("ItemImgRepository.findByItemIdInAndRepimgYn/2", () -> itemImgRepository.findByItemIdInAndRepimgYn(rankedIds, "Y"));
+
+        cases.put("ItemRepository.findByItemNm/1", () -> itemRepository.findByItemNm(SEED_PREFIX + "1"));
+        cases.put("ItemRepository.findByItemNmLike/1", () -> itemRepository.findByItemNmLike(SEED_PREFIX + "1%"));
+        cases.put("ItemRepository.findByPriceLessThan/1", () -> itemRepository.findByPriceLessThan(1100));
+        cases.put("ItemRepository.findByItemDetail/1", () -> itemRepository.findByItemDetail("상품 1"));
+        cases.put("ItemRepository.findByItemDetailByNative/1", () -> itemRepository.findByItemDetailByNative("상품 1"));
+        cases.put("ItemRepository.findByIdForUpdate/1", () -> itemRepository.findByIdForUpdate(itemId));
+        cases.put("ItemRepository.decreaseStock/2", () -> itemRepository.decreaseStock(itemId, 1));
+        cases.put("ItemRepository.increaseStock/2", () -> itemRepository.increaseStock(itemId, 1));
+        cases.put("ItemRepository.findStockNumber/1", () -> itemRepository.findStockNumber(itemId));
+
+        cases.put("ItemRepositoryCustom.getAdminItemPage/2", () -> itemRepository.getAdminItemPage(admin, pageable));
+        cases.put("ItemRepositoryCustom.getAdminItemSlice/2", () -> itemRepository.getAdminItemSlice(admin, pageable));
+        cases.put("ItemRepositoryCustom.countAdminItems/1", () -> itemRepository.countAdminItems(admin));
+        cases.put("ItemRepositoryCustom.getAdminItemPage/3", () -> itemRepository.getAdminItemPage(admin, pageable, rankedIds));
+        cases.put("ItemRepositoryCustom.getMainItemPage/2", () -> itemRepository.getMainItemPage(all, pageable));
+        cases.put("ItemRepositoryCustom.getMainItemSlice/2", () -> itemRepository.getMainItemSlice(all, pageable));
+        cases.put("ItemRepositoryCustom.countMainItems/1", () -> itemRepository.countMainItems(main));
+        cases.put("ItemRepositoryCustom.getMainItemPage/3", () -> itemRepository.getMainItemPage(all, pageable, rankedIds));
+        cases.put("ItemRepositoryCustom.getAdminItemScroll/4", () -> itemRepository.getAdminItemScroll(sorted, priceCursor, false, 4));
+        cases.put("ItemRepositoryCustom.getMainItemScroll/5", () -> itemRepository.getMainItemScroll(sorted, null, priceCursor, false, 4));
+
+        cases.put("MemberRepository.findByEmail/1", () -> memberRepository.findByEmail(member.getEmail()));
+
+        cases.put("OrderHistoryViewRepository.findHistory/2", () -> orderHistoryViewRepository.findHistory(member.getId(), pageable));
+        cases.put("OrderHistoryViewRepository.countByMemberId/1", () -> orderHistoryViewRepository.countByMemberId(member.getId()));
+        cases.put("OrderHistoryViewRepository.findHistoryBefore/4", () -> orderHistoryViewRepository.findHistoryBefore(member.getId(), now, Long.MAX_VALUE, pageable));
+        cases.put("OrderHistoryViewRepository.findHistoryAfter/4", () -> orderHistoryViewRepository.findHistoryAfter(member.getId(), now.minusYears(1), 0L, pageable));
+        cases.put("OrderHistoryViewRepository.updateOrderStatus/2", () -> orderHistoryViewRepository.updateOrderStatus(0L, OrderStatus.CANCEL));
+
+        cases.put("OrderRepository.findOrders/2", () -> orderRepository.findOrders(member.getEmail(), pageable));
+        cases.put("OrderRepository.countOrder/1", () -> orderRepository.countOrder(member.getEmail()));
+        cases.put("OrderRepository.findOrdersWithoutHistory/1", () -> orderRepository.findOrdersWithoutHistory(pageable));
+        cases.put("OrderRepository.getOrderSummary/2", () -> orderRepository.getOrderSummary(member.getId(), OrderStatus.ORDER));
+        cases.put("OrderRepository.getSalesSummary/3", () -> orderRepository.getSalesSummary(now.minusDays(1), now, OrderStatus.ORDER));
+
+        return cases;
+    }
+
+    @Test
+    @DisplayName("모든 리포지토리 쿼리 메서드가 실행 계획 검사 대상에 포함되어 있는지")
+    public void coverageTest() {
+        Set<String> declared = new TreeSet<>();
+        for (Class<?> repository : REPOSITORIES) {
+            for (Method method : repository.getDeclaredMethods()) {
+                if (!method.isSynthetic() && !method.isDefault()) {
+                    declared.add(repository.getSimpleName() + "." + method.getName() + "/" + method.getParameterCount());
+                }
+            }
+        }
+
+        declared.removeAll(cases().keySet());
+        assertTrue(declared.isEmpty(), "실행 계획 검사 대상에 없는 쿼리 : " + declared);
+    }
+
+    @Test
+    @DisplayName("큰 테이블 풀 스캔 회귀 검사")
+    public void fullScanTest() {
+        List<String> violations = new ArrayList<>();
+
+        cases().forEach((name, query) -> transactionTemplate.executeWithoutResult(status -> {
+            status.setRollbackOnly(); //update 쿼리도 실행 후 되돌린다.
+
+            for (String sql : SqlCapture.capture(query)) {
+                if (!isExplainable(sql)) {
+                    continue;
+                }
+
+                for (Map<String, Object> row : jdbcTemplate.queryForList("explain " + sql)) {
+                    String table = String.valueOf(row.get("table"));
+                    long rows = row.get("rows") == null ? 0 : ((Number) row.get("rows")).longValue();
+
+                    log.info("[{}] table={}, type={}, key={}, rows={}, extra={}",
+                            name, table, row.get("type"), row.get("key"), rows, row.get("Extra"));
+
+                    if ("ALL".equals(row.get("type")) && !table.startsWith("<") && rows > MAX_FULL_SCAN_ROWS
+                            && !FULL_SCAN_ALLOWED.containsKey(name)) {
+                        violations.add(name + " : " + table + " 풀 스캔 (rows=" + rows + ")\n    " + sql);
+                    }
+                }
+            }
+        }));
+
+        assertTrue(violations.isEmpty(), "풀 스캔 쿼리 :\n" + String.join("\n", violations));
+    }
+
+    private boolean isExplainable(String sql) {
+        String head = sql.stripLeading().toLowerCase();
+        return Arrays.stream(new String[]{"select", "update", "delete", "with"}).anyMatch(head::startsWith);
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.shop.repository;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 실행된 SQL 을 바인딩 값이 채워진 형태로 수집 (EXPLAIN 회귀 테스트용)
+ * - DataSource 를 감싸서 PreparedStatement 의 setXxx 값을 기록했다가 실행 시점에 '?' 자리에 넣는다.
+ * - capture() 를 호출한 스레드에서 실행된 SQL 만 수집
+ */
+class SqlCapture {
+
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    private SqlCapture() {
+    }
+
+    static DataSource wrap(DataSource dataSource) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return connection(super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return connection(super.getConnection(username, password));
+            }
+        };
+    }
+
+    /**
+     * work 실행 중에 나간 SQL 목록
+     */
+    static List<String> capture(Runnable work) {
+        List<String> statements = new ArrayList<>();
+        CAPTURED.set(statements);
+        try {
+            work.run();
+            return statements;
+        } finally {
+            CAPTURED.remove();
+        }
+    }
+
+    private static void record(String sql) {
+        List<String> statements = CAPTURED.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+    }
+
+    private static Connection connection(Connection target) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+
+            if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                return preparedStatement(statement, (String) args[0]);
+            }
+            if (method.getName().equals("createStatement") && result instanceof Statement statement) {
+                return statement(statement);
+            }
+            return result;
+        });
+    }
+
+    private static PreparedStatement preparedStatement(PreparedStatement target, String sql) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+
+        return proxy(PreparedStatement.class, (proxy, method, args) -> {
+            String name = method.getName();
+
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if ((name.startsWith("execute") || name.equals("addBatch")) && (args == null || args.length == 0)) {
+                record(render(sql, parameters));
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    private static Statement statement(Statement target) {
+        return proxy(Statement.class, (proxy, method, args) -> {
+            if (method.getName().startsWith("execute") && args != null && args.length > 0 && args[0] instanceof String sql) {
+                record(sql);
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    /**
+     * '?' 자리에 바인딩 값을 SQL 리터럴로 넣는다. (문자열 리터럴 안의 '?' 는 건너뜀)
+     */
+    static String render(String sql, Map<Integer, Object> parameters) {
+        StringBuilder sb = new StringBuilder(sql.length() + 16 * parameters.size());
+        boolean quoted = false;
+        int index = 1;
+
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            if (c == '?' && !quoted) {
+                sb.append(literal(parameters.get(index++)));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String literal(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof Number) {
+            return value.toString();
+        }
+        if (value instanceof Boolean bool) {
+            return bool ? "1" : "0";
+        }
+        if (value instanceof Enum<?> e) {
+            return quote(e.name());
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return quote(dateTime.toString().replace('T', ' '));
+        }
+        return quote(value.toString());
+    }
+
+    private static String quote(String value) {
+        return "'" + value.replace("\\", "\\\\").replace("'", "''") + "'";
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SqlCapture.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
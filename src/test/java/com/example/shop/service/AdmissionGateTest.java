@@ -0,0 +1,59 @@
+package com.example.shop.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionGateTest {
+
+    private final SoldOutRegistry soldOutRegistry = new SoldOutRegistry(null);
+
+    @Test
+    @DisplayName("토큰이 없으면 기다리지 않고 거절, 재고를 줄이면 토큰도 줄어든다")
+    public void failFastAndResizeTest() throws InterruptedException {
+        AdmissionGate gate = gate(2, 0);
+
+        assertTrue(gate.enter(1L, 1));
+        assertTrue(gate.enter(1L, 1));
+        assertFalse(gate.enter(1L, 1)); // max-wait-ms 0 - 바로 거절
+
+        gate.leave(1L, 1, false);        // 주문 실패 - 토큰 반납 (처리 중 1)
+
+        //관리자가 재고를 1로 낮춤 - 처리 중인 1개가 전부
+        soldOutRegistry.replenished(1L, () -> 1);
+        assertFalse(gate.enter(1L, 1));
+
+        //재고를 3으로 올림 - 처리 중 1개를 빼고 2개 입장 가능
+        soldOutRegistry.replenished(1L, () -> 3);
+        assertTrue(gate.enter(1L, 2));
+        assertFalse(gate.enter(1L, 1));
+    }
+
+    @Test
+    @DisplayName("전체 대기 한도를 넘으면 기다리지 않는다")
+    public void maxParkedTest() throws InterruptedException {
+        AdmissionGate gate = gate(0, 5_000);
+        ReflectionTestUtils.setField(gate, "maxParked", 0);
+
+        long begin = System.nanoTime();
+        assertFalse(gate.enter(2L, 1));
+        assertTrue(System.nanoTime() - begin < 1_000_000_000L);
+    }
+
+    private AdmissionGate gate(int stock, long maxWaitMs) {
+        AdmissionGate gate = new AdmissionGate(soldOutRegistry, null) {
+            @Override
+            int currentStock(Long itemId) {
+                return stock;
+            }
+        };
+        ReflectionTestUtils.setField(gate, "enabled", true);
+        ReflectionTestUtils.setField(gate, "waitingRoomSize", 200);
+        ReflectionTestUtils.setField(gate, "maxWaitMs", maxWaitMs);
+        ReflectionTestUtils.setField(gate, "maxParked", 32);
+        gate.init();
+        return gate;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.shop.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogCountCacheTest {
+
+    @Test
+    @DisplayName("count 쿼리 실행 횟수 테스트")
+    public void totalTest() {
+        //백그라운드 count 는 큐에 모았다가 테스트가 직접 실행
+        List<Runnable> refreshes = new ArrayList<>();
+        CatalogCountCache cache = new CatalogCountCache(refreshes::add);
+        AtomicInteger counts = new AtomicInteger();
+
+        Slice<Integer> firstPage = new SliceImpl<>(Collections.nCopies(6, 1), PageRequest.of(0, 6), true);
+        Slice<Integer> secondPage = new SliceImpl<>(Collections.nCopies(6, 1), PageRequest.of(1, 6), true);
+
+        //처음 보는 조건만 count
+        assertEquals(40, cache.total("main|", firstPage, () -> { counts.incrementAndGet(); return 40; }));
+        assertEquals(40, cache.total("main|", secondPage, () -> { counts.incrementAndGet(); return 40; }));
+        assertEquals(1, counts.get());
+
+        //마지막 페이지는 count 없이 정확한 값
+        Slice<Integer> lastPage = new SliceImpl<>(Collections.nCopies(3, 1), PageRequest.of(2, 6), false);
+        assertEquals(15, cache.total("main|노트북", lastPage, () -> { counts.incrementAndGet(); return 99; }));
+        assertEquals(1, counts.get());
+
+        //상품이 바뀌면 이전 값으로 응답하고 백그라운드에서 다시 센다
+        cache.markStale();
+        assertEquals(40, cache.total("main|", firstPage, () -> { counts.incrementAndGet(); return 41; }));
+        assertEquals(1, counts.get());
+
+        //갱신 중에는 같은 조건을 다시 세지 않는다
+        assertEquals(40, cache.total("main|", firstPage, () -> { counts.incrementAndGet(); return 99; }));
+        assertEquals(1, refreshes.size());
+
+        refreshes.remove(0).run();
+        assertEquals(41, cache.total("main|", firstPage, () -> { counts.incrementAndGet(); return 42; }));
+        assertEquals(2, counts.get());
+    }
+}
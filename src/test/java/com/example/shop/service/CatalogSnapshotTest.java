@@ -0,0 +1,92 @@
+package com.example.shop.service;
+
+import com.example.shop.constant.ItemSellStatus;
+import com.example.shop.dto.CatalogFacetDto;
+import com.example.shop.dto.ItemSearchDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CatalogSnapshotTest {
+
+    @Autowired
+    CatalogSnapshot catalogSnapshot;
+
+    //스냅샷은 싱글톤이므로 테스트용 행을 남기지 않는다
+    @AfterEach
+    public void tearDown() {
+        for (long itemId = -101L; itemId >= -105L; itemId--) {
+            catalogSnapshot.remove(itemId);
+        }
+    }
+
+    @Test
+    @DisplayName("검색 조건별 건수 - 각 항목은 자기 조건만 빼고 센다")
+    public void facetsTest() {
+        //DB 에 없는 음수 ID 로 스냅샷에만 넣는다
+        LocalDateTime now = LocalDateTime.now();
+        catalogSnapshot.upsert(-101L, "패싯테스트 상품1", 1000, 10, ItemSellStatus.SELL, now);
+        catalogSnapshot.upsert(-102L, "패싯테스트 상품2", 2500, 0, ItemSellStatus.SOLD_OUT, now.minusDays(3));
+        catalogSnapshot.upsert(-103L, "패싯테스트 상품3", 4000, 5, ItemSellStatus.SELL, now.minusMonths(2));
+        catalogSnapshot.upsert(-104L, "패싯테스트 상품4", 9000, 5, ItemSellStatus.SELL, now.minusYears(1));
+        catalogSnapshot.upsert(-105L, "패싯테스트 상품5", 3000, 5, ItemSellStatus.SELL, now); // 대표 이미지 없음
+        for (long itemId = -101L; itemId >= -104L; itemId--) {
+            catalogSnapshot.updateRepImg(itemId, "/images/item/test.jpg");
+        }
+
+        ItemSearchDto searchDto = new ItemSearchDto();
+        searchDto.setSearchQuery("패싯테스트");
+        CatalogFacetDto facets = catalogSnapshot.facets(searchDto, null);
+        assertNotNull(facets);
+        assertEquals(4, facets.getTotal());
+        assertEquals(3, facets.getInStock());
+        assertEquals(3L, facets.getStatusCounts().get(ItemSellStatus.SELL));
+        assertEquals(1L, facets.getStatusCounts().get(ItemSellStatus.SOLD_OUT));
+        assertEquals(1L, facets.getRegDateCounts().get("1d"));
+        assertEquals(2L, facets.getRegDateCounts().get("1w"));
+        assertEquals(3L, facets.getRegDateCounts().get("6m"));
+        assertEquals(4L, facets.getRegDateCounts().get("all"));
+        assertEquals(4, facets.getPriceBuckets().stream().mapToLong(CatalogFacetDto.PriceBucket::getCount).sum());
+
+        //판매 상태를 골라도 판매 상태별 건수는 그대로, 나머지 항목은 줄어든다
+        searchDto.setItemSellStatus(ItemSellStatus.SOLD_OUT);
+        facets = catalogSnapshot.facets(searchDto, null);
+        assertEquals(1, facets.getTotal());
+        assertEquals(3L, facets.getStatusCounts().get(ItemSellStatus.SELL));
+        assertEquals(1L, facets.getRegDateCounts().get("all"));
+
+        //검색 색인 결과가 있으면 상품명 대신 그 결과로 거른다
+        searchDto.setItemSellStatus(null);
+        facets = catalogSnapshot.facets(searchDto, List.of(-101L, -105L));
+        assertEquals(1, facets.getTotal());
+
+        //품절 알림 반영
+        catalogSnapshot.updateStock(-101L, 0);
+        facets = catalogSnapshot.facets(searchDto, null);
+        assertEquals(2, facets.getInStock());
+
+        //제거하면 빈자리로 옮겨진 행도 그대로 집계된다
+        catalogSnapshot.remove(-102L);
+        facets = catalogSnapshot.facets(searchDto, null);
+        assertEquals(3, facets.getTotal());
+        assertEquals(0L, facets.getStatusCounts().get(ItemSellStatus.SOLD_OUT));
+        assertEquals(1, catalogSnapshot.facets(searchDto, List.of(-101L, -105L)).getTotal());
+    }
+
+    @Test
+    @DisplayName("가격대 구간 폭은 1, 2, 5 x 10^n")
+    public void niceWidthTest() {
+        assertEquals(1000, CatalogSnapshot.niceWidth(8000, 8));
+        assertEquals(2000, CatalogSnapshot.niceWidth(9001, 8));
+        assertEquals(5000, CatalogSnapshot.niceWidth(30000, 8));
+        assertEquals(1, CatalogSnapshot.niceWidth(1, 8));
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.shop.service;
+
+import com.example.shop.constant.ItemSellStatus;
+import com.example.shop.constant.Role;
+import com.example.shop.dto.OrderDto;
+import com.example.shop.entity.Item;
+import com.example.shop.entity.Member;
+import com.example.shop.repository.ItemRepository;
+import com.example.shop.repository.MemberRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 장바구니 주문 1건당 실행되는 SQL 문장 수 측정
+ * - IDENTITY 방식: insert 마다 DB 왕복 (주문 1 + 주문상품 N = N+1 번의 insert 실행)
+ * - id_sequence(pooled-lo) + JDBC 배치: orders insert 1번, order_item insert 1번(배치)
+ * - DataSource 를 감싸서 DB 왕복(execute / executeBatch) 단위로 센다.
+ *   (엔티티 insert 수는 배치 여부와 관계없이 같으므로 검증에 쓰지 않음)
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Slf4j
+@WithMockUser(username = "batch@test.com", roles = "ADMIN")
+class CheckoutStatementCountTest {
+
+    private static final int LINES = 20;
+
+    @TestConfiguration
+    static class RoundTripConfig {
+        @Bean
+        static BeanPostProcessor roundTripDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? RoundTrips.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("주문 1건(20개 상품) 당 SQL 문장 수 측정")
+    public void statementsPerCheckoutTest() {
+
+        //given
+        String email = UUID.randomUUID() + "@test.com";
+        memberRepository.save(Member.builder()
+                .email(email)
+                .name("배치")
+                .role(Role.USER)
+                .build());
+
+        List<OrderDto> orderDtoList = new ArrayList<>();
+        for (int i = 0; i < LINES; i++) {
+            Item item = itemRepository.save(createItem(i));
+
+            OrderDto orderDto = new OrderDto();
+            orderDto.setItemId(item.getId());
+            orderDto.setCount(1);
+            orderDtoList.add(orderDto);
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //when
+        List<RoundTrips.RoundTrip> roundTrips = RoundTrips.capture(() -> orderService.orders(orderDtoList, email));
+
+        //then
+        List<RoundTrips.RoundTrip> orderInserts = inserts(roundTrips, "orders");
+        List<RoundTrips.RoundTrip> orderItemInserts = inserts(roundTrips, "order_item");
+
+        log.info("DB round trips      : {}", roundTrips.size());
+        log.info("orders inserts      : {}", orderInserts);
+        log.info("order_item inserts  : {}", orderItemInserts);
+        log.info("prepared statements : {}", statistics.getPrepareStatementCount());
+        log.info("entity inserts      : {}", statistics.getEntityInsertCount());
+
+        //배치가 꺼지면 order_item 은 LINES 번의 executeUpdate 로 나간다
+        assertEquals(1, orderInserts.size());
+        assertEquals(1, orderItemInserts.size());
+        assertTrue(orderItemInserts.get(0).batch());
+        assertEquals(LINES, orderItemInserts.get(0).rows());
+    }
+
+    private List<RoundTrips.RoundTrip> inserts(List<RoundTrips.RoundTrip> roundTrips, String table) {
+        return roundTrips.stream()
+                .filter(roundTrip -> roundTrip.sql().toLowerCase(Locale.ROOT).startsWith("insert into " + table + " "))
+                .toList();
+    }
+
+    private Item createItem(int i) {
+        Item item = new Item();
+        item.setItemNm("배치 상품" + i);
+        item.setPrice(1000 * (i + 1));
+        item.setItemDetail("배치 상품 상세 설명" + i);
+        item.setItemSellStatus(ItemSellStatus.SELL);
+        item.setStockNumber(100);
+        item.setRegTime(LocalDateTime.now());
+        item.setUpdateTime(LocalDateTime.now());
+        return item;
+    }
+
+    /**
+     * DB 왕복 기록 - execute* 는 1행 1왕복, executeBatch 는 addBatch 한 행 수만큼 1왕복
+     * (capture() 를 호출한 스레드에서 실행된 것만)
+     */
+    static final class RoundTrips {
+
+        record RoundTrip(String sql, int rows, boolean batch) {
+        }
+
+        private static final ThreadLocal<List<RoundTrip>> CAPTURED = new ThreadLocal<>();
+
+        static List<RoundTrip> capture(Runnable work) {
+            List<RoundTrip> roundTrips = new ArrayList<>();
+            CAPTURED.set(roundTrips);
+            try {
+                work.run();
+                return roundTrips;
+            } finally {
+                CAPTURED.remove();
+            }
+        }
+
+        static DataSource wrap(DataSource dataSource) {
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return connection(super.getConnection());
+                }
+            };
+        }
+
+        private static void record(String sql, int rows, boolean batch) {
+            List<RoundTrip> roundTrips = CAPTURED.get();
+            if (roundTrips != null) {
+                roundTrips.add(new RoundTrip(sql, rows, batch));
+            }
+        }
+
+        private static Connection connection(Connection target) {
+            return proxy(Connection.class, (proxy, method, args) -> {
+                Object result = invoke(target, method, args);
+                if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                    return preparedStatement(statement, (String) args[0]);
+                }
+                return result;
+            });
+        }
+
+        private static PreparedStatement preparedStatement(PreparedStatement target, String sql) {
+            int[] batched = new int[1];
+            return proxy(PreparedStatement.class, (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.equals("addBatch") && args == null) {
+                    batched[0]++;
+                } else if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                    record(sql, batched[0], true);
+                    batched[0] = 0;
+                } else if (name.startsWith("execute") && args == null) {
+                    record(sql, 1, false);
+                }
+                return invoke(target, method, args);
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+            return (T) Proxy.newProxyInstance(RoundTrips.class.getClassLoader(), new Class<?>[]{type}, handler);
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
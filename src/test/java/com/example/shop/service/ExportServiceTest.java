@@ -0,0 +1,108 @@
+package com.example.shop.service;
+
+import com.example.shop.constant.ExportFormat;
+import com.example.shop.constant.ItemSellStatus;
+import com.example.shop.entity.Item;
+import com.example.shop.repository.ItemRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class ExportServiceTest {
+
+    @Autowired
+    ExportService exportService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    EntityManager em;
+
+    @Test
+    @DisplayName("상품 CSV 내보내기 - 쉼표/따옴표가 있는 값은 따옴표로 감싼다")
+    public void exportItemsCsvTest() throws Exception {
+        Long itemId = createItem("내보내기, \"테스트\" 상품");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.exportItems(ExportFormat.CSV, out);
+        String csv = out.toString(StandardCharsets.UTF_8);
+
+        assertEquals(itemRepository.count(), rows);
+        assertTrue(csv.startsWith("﻿item_id,item_nm,price"));
+        assertTrue(csv.contains(itemId + ",\"내보내기, \"\"테스트\"\" 상품\",12000,"));
+        assertFalse(csv.contains("item_detail"));
+    }
+
+    @Test
+    @DisplayName("상품 CSV 내보내기 - 수식으로 시작하는 값은 ' 를 붙여 문자열로")
+    public void exportItemsCsvFormulaTest() throws Exception {
+        Long itemId = createItem("=HYPERLINK(\"http://example.com\")");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportItems(ExportFormat.CSV, out);
+        String csv = out.toString(StandardCharsets.UTF_8);
+
+        assertTrue(csv.contains(itemId + ",\"'=HYPERLINK(\"\"http://example.com\"\")\",12000,"));
+        assertEquals("'@SUM(A1)", ExportService.escapeFormula("@SUM(A1)"));
+        assertEquals("'-1+2", ExportService.escapeFormula("-1+2"));
+        assertEquals("'+82", ExportService.escapeFormula("+82"));
+        assertEquals("상품 = 1", ExportService.escapeFormula("상품 = 1"));
+    }
+
+    @Test
+    @DisplayName("상품 NDJSON 내보내기 - 한 줄에 한 상품")
+    public void exportItemsNdjsonTest() throws Exception {
+        Long itemId = createItem("내보내기 NDJSON 상품");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.exportItems(ExportFormat.NDJSON, out);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(rows, lines.length);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode found = null;
+        for (String line : lines) {
+            JsonNode node = objectMapper.readTree(line);
+            if (node.get("item_id").asLong() == itemId) {
+                found = node;
+            }
+        }
+        assertNotNull(found);
+        assertEquals("내보내기 NDJSON 상품", found.get("item_nm").asText());
+        assertEquals(12000, found.get("price").asInt());
+    }
+
+    @Test
+    @DisplayName("주문 내보내기 - 기간이 잘못되면 예외")
+    public void exportOrdersRangeTest() {
+        LocalDateTime now = LocalDateTime.now();
+        assertThrows(IllegalArgumentException.class,
+                () -> exportService.exportOrders(now, now.minusDays(1), ExportFormat.CSV, new ByteArrayOutputStream()));
+    }
+
+    private Long createItem(String itemNm) {
+        Item item = new Item();
+        item.setItemNm(itemNm);
+        item.setPrice(12000);
+        item.setItemDetail("내보내기 테스트 상품 설명");
+        item.setItemSellStatus(ItemSellStatus.SELL);
+        item.setStockNumber(10);
+        itemRepository.save(item);
+        em.flush();
+        return item.getId();
+    }
+}
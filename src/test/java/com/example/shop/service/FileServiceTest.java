@@ -0,0 +1,183 @@
+package com.example.shop.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class FileServiceTest {
+
+    @Autowired
+    FileService fileService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @TempDir
+    Path dir;
+
+    List<String> savedFileNames = new ArrayList<>();
+
+    @AfterEach
+    public void cleanUp() {
+        for (String fileName : savedFileNames) {
+            jdbcTemplate.update("delete from img_file_ref where img_name = ?", fileName);
+        }
+    }
+
+    @Test
+    @DisplayName("스트림 업로드 - 버퍼보다 큰 파일도 그대로 저장되고, 파일명은 내용의 SHA-256")
+    public void uploadStreamTest() throws Exception {
+        byte[] data = randomBytes(300 * 1024 + 7);
+
+        String savedFileName = upload("sample.JPG", new ByteArrayInputStream(data));
+
+        assertTrue(savedFileName.matches("[0-9a-f]{64}\\.jpg"));
+        assertArrayEquals(data, Files.readAllBytes(dir.resolve(savedFileName)));
+        try (var files = Files.list(dir)) {
+            assertEquals(1, files.count()); // 임시 파일이 남지 않음
+        }
+    }
+
+    @Test
+    @DisplayName("같은 내용은 한 파일을 함께 쓰고, 마지막 참조가 풀릴 때 사본과 함께 삭제")
+    public void dedupeAndReleaseTest() throws Exception {
+        byte[] data = randomBytes(200 * 1024);
+        Path source = Files.write(Files.createTempFile("upload-source", ".png"), data);
+
+        String first;
+        try (InputStream in = new FileInputStream(source.toFile())) {
+            first = upload("sample.png", in);
+        } finally {
+            Files.deleteIfExists(source);
+        }
+        String second = upload("copy.png", new ByteArrayInputStream(data));
+        assertEquals(first, second);
+        assertEquals(2, refCount(first));
+
+        Path file = dir.resolve(first);
+        Path variant = Files.write(dir.resolve(first.replace(".png", "_card.jpg")), new byte[]{1});
+
+        fileService.deleteFile(file.toString());
+        assertTrue(Files.exists(file));
+        assertEquals(1, refCount(first));
+
+        fileService.deleteFile(file.toString());
+        assertFalse(Files.exists(file));
+        assertFalse(Files.exists(variant));
+        assertEquals(0, refCount(first));
+    }
+
+    @Test
+    @DisplayName("미리 저장한 파일 - 참조를 잡지 못하고(롤백) 정리되면 삭제, 참조를 잡으면 유지")
+    public void stageAndSettleTest() throws Exception {
+        FileService.StagedFile rolledBack = fileService.stageFile(dir.toString(), "rollback.jpg",
+                new ByteArrayInputStream(randomBytes(10 * 1024)));
+        savedFileNames.add(rolledBack.getFileName());
+        assertTrue(Files.exists(rolledBack.getPath()));
+
+        fileService.settle(List.of(rolledBack));
+        assertFalse(Files.exists(rolledBack.getPath()));
+
+        FileService.StagedFile committed = fileService.stageFile(dir.toString(), "commit.jpg",
+                new ByteArrayInputStream(randomBytes(10 * 1024)));
+        savedFileNames.add(committed.getFileName());
+        List<FileService.StagedFile> stagedFiles = new ArrayList<>();
+        stagedFiles.add(committed);
+        stagedFiles.add(null); // 빈 파일 자리
+
+        fileService.acquireAll(stagedFiles);
+        fileService.settle(stagedFiles);
+        assertTrue(Files.exists(committed.getPath()));
+        assertEquals(1, refCount(committed.getFileName()));
+    }
+
+    @Test
+    @DisplayName("정리(purge)가 행 락을 기다리는 동안에도 락을 가진 트랜잭션이 같은 파일을 다시 올릴 수 있음 (교착 없음)")
+    public void purgeWaitingForRowLockTest() throws Exception {
+        byte[] data = randomBytes(10 * 1024);
+        String fileName = upload("lock.jpg", new ByteArrayInputStream(data));
+        Path file = dir.resolve(fileName);
+
+        List<FileService.StagedFile> stagedFiles = new ArrayList<>();
+        List<CompletableFuture<Void>> purges = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            //참조를 풀어서 행 락을 잡은 상태
+            fileService.deleteFile(file.toString());
+
+            CompletableFuture<Void> purge = CompletableFuture.runAsync(() -> fileService.purgeIfUnused(file));
+            purges.add(purge);
+            awaitLockWait(purge);
+
+            //같은 트랜잭션에서 같은 내용을 다시 올린다 - 정리 쪽이 이름별 락을 잡고 기다리면 여기서 멈춤
+            try {
+                stagedFiles.add(fileService.stageFile(dir.toString(), "again.jpg", new ByteArrayInputStream(data)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            fileService.acquireAll(stagedFiles);
+        });
+        fileService.settle(stagedFiles);
+        purges.get(0).get(10, TimeUnit.SECONDS);
+
+        assertTrue(Files.exists(file));
+        assertEquals(1, refCount(fileName));
+    }
+
+    //purge 가 행 락 대기에 들어갈 때까지 (최대 10초)
+    private void awaitLockWait(CompletableFuture<Void> purge) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline && !purge.isDone()) {
+            Integer waiting = jdbcTemplate.queryForObject(
+                    "select count(*) from information_schema.innodb_trx where trx_state = 'LOCK WAIT'", Integer.class);
+            if (waiting != null && waiting > 0) {
+                return;
+            }
+            Thread.onSpinWait();
+        }
+        fail("purge 가 행 락을 기다리지 않음");
+    }
+
+    //상품 등록과 같은 순서로 저장하고 참조를 잡는다 (stageFile -> acquireAll -> settle)
+    private String upload(String originalFileName, InputStream in) throws Exception {
+        List<FileService.StagedFile> stagedFiles = List.of(fileService.stageFile(dir.toString(), originalFileName, in));
+        savedFileNames.add(stagedFiles.get(0).getFileName());
+        fileService.acquireAll(stagedFiles);
+        fileService.settle(stagedFiles);
+        return stagedFiles.get(0).getFileName();
+    }
+
+    private int refCount(String fileName) {
+        return jdbcTemplate.queryForList("select ref_count from img_file_ref where img_name = ?",
+                Integer.class, fileName).stream().findFirst().orElse(0);
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] data = new byte[size];
+        new Random().nextBytes(data);
+        return data;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.shop.service;
+
+import com.example.shop.constant.ItemSellStatus;
+import com.example.shop.dto.ItemFormDto;
+import com.example.shop.entity.Item;
+import com.example.shop.repository.ItemRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class ItemDetailCacheTest {
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    ItemDetailCache itemDetailCache;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("재고가 바뀌어도 캐시 항목은 유지되고 재고만 현재 값으로 보임")
+    public void stockOverlayTest() {
+        Long itemId = createItem();
+
+        long misses = itemDetailCache.stats().getMisses();
+        long hits = itemDetailCache.stats().getHits();
+
+        ItemFormDto first = itemService.getItemDtl(itemId);
+        assertEquals(100, first.getStockNumber());
+
+        itemRepository.decreaseStock(itemId, 3);
+
+        ItemFormDto second = itemService.getItemDtl(itemId);
+        assertEquals(97, second.getStockNumber());
+        assertEquals(first.getItemNm(), second.getItemNm());
+        assertEquals(misses + 1, itemDetailCache.stats().getMisses());
+        assertEquals(hits + 1, itemDetailCache.stats().getHits());
+
+        //반환값을 바꿔도 캐시된 항목에는 영향 없음
+        second.setItemNm("변경");
+        assertEquals("상세 캐시 테스트", itemService.getItemDtl(itemId).getItemNm());
+    }
+
+    @Test
+    @DisplayName("수정으로 버전이 바뀌면 항목을 지우고, 조회 중에 바뀐 결과는 캐시하지 않음")
+    public void versionInvalidateTest() {
+        Long itemId = createItem();
+        itemService.getItemDtl(itemId);
+
+        long misses = itemDetailCache.stats().getMisses();
+        itemDetailCache.invalidate(itemId);
+        itemService.getItemDtl(itemId);
+        assertEquals(misses + 1, itemDetailCache.stats().getMisses());
+
+        //조회 도중에 수정이 커밋된 경우 (이전 내용이 캐시에 남지 않아야 함)
+        itemDetailCache.invalidate(itemId);
+        itemDetailCache.get(itemId, id -> {
+            ItemFormDto stale = new ItemFormDto();
+            stale.setId(id);
+            stale.setItemNm("수정 전");
+            itemDetailCache.invalidate(id);
+            return stale;
+        });
+        misses = itemDetailCache.stats().getMisses();
+        assertEquals("상세 캐시 테스트", itemService.getItemDtl(itemId).getItemNm());
+        assertEquals(misses + 1, itemDetailCache.stats().getMisses());
+    }
+
+    @Test
+    @DisplayName("조회수는 있는 상품만 세고, DB 에 더한 뒤에는 다시 더하지 않음")
+    public void viewCountTest() {
+        Long itemId = createItem();
+        itemService.getItemDtl(itemId);
+        itemService.getItemDtl(itemId);
+
+        //없는 상품 - loader 가 예외를 던지면 조회수도 남지 않는다
+        assertThrows(EntityNotFoundException.class, () -> itemDetailCache.get(-1L, id -> {
+            throw new EntityNotFoundException();
+        }));
+
+        itemDetailCache.flushViews();
+        itemDetailCache.flushViews();
+
+        assertEquals(2L, viewCount(itemId));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from item_view_count where item_id = -1", Integer.class));
+    }
+
+    private Long viewCount(Long itemId) {
+        return jdbcTemplate.queryForObject(
+                "select view_count from item_view_count where item_id = ?", Long.class, itemId);
+    }
+
+    private Long createItem() {
+        Item item = new Item();
+        item.setItemNm("상세 캐시 테스트");
+        item.setPrice(10000);
+        item.setItemDetail("상세 캐시 테스트 상품 설명");
+        item.setItemSellStatus(ItemSellStatus.SELL);
+        item.setStockNumber(100);
+        itemRepository.save(item);
+        em.flush();
+        return item.getId();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.shop.service;
+
+import com.example.shop.constant.ImgVariant;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemImgVariantServiceTest {
+
+    @Test
+    @DisplayName("긴 변 기준으로 비율을 유지하며 줄이고, 투명 배경은 흰색 RGB 로")
+    public void fitTest() {
+        BufferedImage source = new BufferedImage(3000, 1500, BufferedImage.TYPE_INT_ARGB);
+
+        BufferedImage card = ItemImgVariantService.fit(source, ImgVariant.CARD.getMaxSize());
+        assertEquals(400, card.getWidth());
+        assertEquals(200, card.getHeight());
+        assertEquals(BufferedImage.TYPE_INT_RGB, card.getType());
+        assertEquals(0xFFFFFF, card.getRGB(10, 10) & 0xFFFFFF);
+
+        BufferedImage tall = ItemImgVariantService.fit(new BufferedImage(500, 2001, BufferedImage.TYPE_INT_RGB), 800);
+        assertEquals(800, tall.getHeight());
+        assertEquals(200, tall.getWidth());
+    }
+
+    @Test
+    @DisplayName("사본 파일명 / 사본이 없으면 원본 경로")
+    public void variantUrlTest() {
+        assertEquals("abc_card.jpg", ItemImgVariantService.variantFileName("abc.png", ImgVariant.CARD));
+        assertEquals("abc_full.jpg", ItemImgVariantService.variantFileName("abc", ImgVariant.FULL));
+
+        ItemImgVariantService service = new ItemImgVariantService(null, null);
+        assertEquals("/images/item/abc.png", service.card("/images/item/abc.png"));
+        assertNull(service.detail(null));
+    }
+
+    @Test
+    @DisplayName("픽셀 수 제한 - 헤더의 크기만 보고 디코딩 전에 거부")
+    public void maxPixelsTest(@TempDir Path dir) throws IOException {
+        Path png = dir.resolve("big.png");
+        ImageIO.write(new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB), "png", png.toFile());
+
+        assertThrows(ItemImgVariantService.ImageTooLargeException.class,
+                () -> ItemImgVariantService.read(png, 19_999));
+        assertEquals(200, ItemImgVariantService.read(png, 20_000).getWidth());
+
+        Path text = dir.resolve("text.png");
+        Files.writeString(text, "not an image");
+        IOException e = assertThrows(IOException.class, () -> ItemImgVariantService.read(text, 20_000));
+        assertFalse(e instanceof ItemImgVariantService.ImageTooLargeException);
+    }
+}
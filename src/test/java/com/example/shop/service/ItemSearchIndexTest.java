@@ -0,0 +1,73 @@
+package com.example.shop.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemSearchIndexTest {
+
+    @Test
+    @DisplayName("한글 n-gram 토큰 테스트")
+    public void tokenizeTest() {
+        assertEquals(List.of("무", "무선", "선", "선이", "이", "이어", "어", "어폰", "폰"),
+                KoreanNgramTokenizer.tokenize("무선이어폰"));
+        assertEquals(List.of("이어", "어폰"), KoreanNgramTokenizer.tokenizeQuery("이어폰"));
+        assertEquals(List.of("아이", "이폰", "15p", "5pr", "pro"), KoreanNgramTokenizer.tokenizeQuery("아이폰15Pro"));
+        assertEquals(List.of("1", "15", "15p", "5", "5p", "5pr", "p", "pr", "pro", "r", "ro", "o"),
+                KoreanNgramTokenizer.tokenize("15Pro"));
+        assertEquals(List.of("5", "3"), KoreanNgramTokenizer.tokenize("5.3"));
+    }
+
+    @Test
+    @DisplayName("영문/숫자 부분 검색 테스트 (LIKE 와 같이 단어 중간도 검색)")
+    public void alphanumericSearchTest() {
+        ItemSearchIndex index = new ItemSearchIndex(null);
+
+        index.index(1L, "아이폰15Pro 케이스", "");
+        index.index(2L, "갤럭시 S24", "");
+
+        assertEquals(List.of(1L), index.search("pro", false));
+        assertEquals(List.of(1L), index.search("15", false));
+        assertEquals(List.of(1L), index.search("폰15p", false));
+        assertEquals(List.of(2L), index.search("s24", false));
+        assertEquals(List.of(), index.search("15max", false));
+    }
+
+    @Test
+    @DisplayName("영문/숫자 한 글자 검색 - LIKE '%q%' 처럼 긴 단어 중간에서도 찾음")
+    public void singleCharSearchTest() {
+        ItemSearchIndex index = new ItemSearchIndex(null);
+
+        index.index(1L, "아이폰15Pro 케이스", "");
+        index.index(2L, "갤럭시 S24", "");
+        index.index(3L, "에어팟 맥스", "");
+
+        assertEquals(List.of(1L), index.search("p", false));
+        assertEquals(List.of(2L), index.search("4", false));
+        assertEquals(List.of(), index.search("7", false));
+        assertEquals(List.of(1L, 2L), index.search("s", false).stream().sorted().toList());
+    }
+
+    @Test
+    @DisplayName("부분 검색 및 BM25 정렬 테스트")
+    public void searchTest() {
+        ItemSearchIndex index = new ItemSearchIndex(null);
+
+        index.index(1L, "무선 이어폰", "블루투스 5.3 지원");
+        index.index(2L, "유선 헤드폰", "이어폰 변환 잭 포함");
+        index.index(3L, "노트북 파우치", "13인치");
+
+        //상품명에 있는 상품이 상세 설명에만 있는 상품보다 먼저
+        assertEquals(List.of(1L, 2L), index.search("이어폰", true, 10));
+        assertEquals(List.of(1L), index.search("이어폰", false, 10));
+        assertEquals(List.of(), index.search("키보드", true, 10));
+
+        //수정하면 이전 토큰은 검색되지 않음
+        index.index(1L, "무선 키보드", "블루투스 5.3 지원");
+        assertEquals(List.of(1L), index.search("키보드", true, 10));
+        assertEquals(List.of(2L), index.search("이어폰", true, 10));
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.shop.service;
+
+import com.example.shop.constant.ItemSellStatus;
+import com.example.shop.dto.ItemFormDto;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 상품 등록/수정의 이미지 파일 처리
+ * - 파일은 트랜잭션 밖에서 병렬로 저장되고, 참조(img_file_ref)는 트랜잭션 안에서 한 번에 잡는다.
+ * - 롤백되면 새로 저장한 파일은 지워지고 기존 파일의 참조 수는 그대로여야 한다.
+ */
+@SpringBootTest
+class ItemServiceTest {
+
+    private static final Path IMG_DIR = createImgDir();
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    FileService fileService;
+
+    @Autowired
+    CatalogSnapshot catalogSnapshot;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    List<Long> savedItemIds = new ArrayList<>();
+    List<String> savedFileNames = new ArrayList<>();
+
+    @DynamicPropertySource
+    static void itemImgLocation(DynamicPropertyRegistry registry) {
+        registry.add("itemImgLocation", IMG_DIR::toString);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        for (Long itemId : savedItemIds) {
+            jdbcTemplate.update("delete from item_card where item_id = ?", itemId);
+            jdbcTemplate.update("delete from item_img where item_id = ?", itemId);
+            jdbcTemplate.update("delete from item where item_id = ?", itemId);
+            catalogSnapshot.remove(itemId);
+        }
+        for (String fileName : savedFileNames) {
+            jdbcTemplate.update("delete from img_file_ref where img_name = ?", fileName);
+        }
+    }
+
+    @AfterAll
+    static void removeImgDir() throws IOException {
+        FileSystemUtils.deleteRecursively(IMG_DIR);
+    }
+
+    @Test
+    @DisplayName("등록 롤백 - 이미지 여러 장을 저장한 뒤 커밋이 실패하면 새 파일은 지우고 기존 파일 참조 수는 그대로")
+    public void saveItemRollbackTest() throws Exception {
+        //다른 상품이 이미 쓰고 있는 파일 (참조 1)
+        byte[] shared = randomBytes(20 * 1024);
+        String sharedName = commitFile("shared.jpg", shared);
+
+        List<MultipartFile> files = List.of(
+                image("shared.jpg", shared),
+                image("new1.jpg", randomBytes(20 * 1024)),
+                image("new2.jpg", randomBytes(20 * 1024)),
+                image("new3.jpg", randomBytes(20 * 1024)));
+        List<String> newNames = List.of(hashName(files.get(1)), hashName(files.get(2)), hashName(files.get(3)));
+        savedFileNames.addAll(newNames);
+
+        //상세 설명이 not null 컬럼이라 참조를 잡은 뒤 커밋(flush) 시점에 실패한다
+        ItemFormDto itemFormDto = itemForm("롤백 테스트");
+        itemFormDto.setItemDetail(null);
+
+        assertThrows(RuntimeException.class, () -> itemService.saveItem(itemFormDto, files));
+
+        assertTrue(Files.exists(IMG_DIR.resolve(sharedName)));
+        assertEquals(1, refCount(sharedName));
+        for (String newName : newNames) {
+            assertFalse(Files.exists(IMG_DIR.resolve(newName)), newName);
+            assertEquals(0, refCount(newName));
+        }
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from item_img where img_name = ?", Integer.class, newNames.get(0)));
+        assertOnlyCommittedFiles(sharedName);
+    }
+
+    @Test
+    @DisplayName("수정 롤백 - 기존 이미지 참조 해제와 새 파일 참조가 모두 취소되고 새 파일은 삭제")
+    public void updateItemRollbackTest() throws Exception {
+        Long itemId = saveItem(3);
+        List<Long> itemImgIds = itemImgIds(itemId);
+        List<String> oldNames = itemImgNames(itemId);
+
+        //마지막 이미지 ID 가 없는 값이라 앞의 이미지를 바꾼 뒤 실패한다
+        List<Long> ids = new ArrayList<>(itemImgIds);
+        ids.set(2, -1L);
+        List<MultipartFile> files = List.of(
+                image("a.jpg", randomBytes(20 * 1024)),
+                image("b.jpg", randomBytes(20 * 1024)),
+                image("c.jpg", randomBytes(20 * 1024)));
+        List<String> newNames = new ArrayList<>();
+        for (MultipartFile file : files) {
+            newNames.add(hashName(file));
+        }
+        savedFileNames.addAll(newNames);
+
+        ItemFormDto itemFormDto = itemForm("수정 롤백 테스트");
+        itemFormDto.setId(itemId);
+        itemFormDto.setItemImgIds(ids);
+
+        assertThrows(EntityNotFoundException.class, () -> itemService.updateItem(itemFormDto, files));
+
+        assertEquals(oldNames, itemImgNames(itemId));
+        for (String oldName : oldNames) {
+            assertTrue(Files.exists(IMG_DIR.resolve(oldName)), oldName);
+            assertEquals(1, refCount(oldName));
+        }
+        for (String newName : newNames) {
+            assertFalse(Files.exists(IMG_DIR.resolve(newName)), newName);
+            assertEquals(0, refCount(newName));
+        }
+        assertOnlyCommittedFiles(oldNames.toArray(String[]::new));
+    }
+
+    @Test
+    @DisplayName("수정 - 여러 이미지를 한 번에 교체하면 새 파일 참조 1, 기존 파일은 커밋 후 삭제")
+    public void updateItemTest() throws Exception {
+        Long itemId = saveItem(3);
+        List<String> oldNames = itemImgNames(itemId);
+
+        List<MultipartFile> files = List.of(
+                image("a.jpg", randomBytes(20 * 1024)),
+                image("b.jpg", randomBytes(20 * 1024)),
+                image("c.jpg", randomBytes(20 * 1024)));
+        ItemFormDto itemFormDto = itemForm("수정 테스트");
+        itemFormDto.setId(itemId);
+        itemFormDto.setItemImgIds(itemImgIds(itemId));
+
+        itemService.updateItem(itemFormDto, files);
+
+        List<String> newNames = itemImgNames(itemId);
+        savedFileNames.addAll(newNames);
+        for (int i = 0; i < files.size(); i++) {
+            assertEquals(hashName(files.get(i)), newNames.get(i));
+            assertTrue(Files.exists(IMG_DIR.resolve(newNames.get(i))));
+            assertEquals(1, refCount(newNames.get(i)));
+        }
+        for (String oldName : oldNames) {
+            assertFalse(Files.exists(IMG_DIR.resolve(oldName)), oldName);
+            assertEquals(0, refCount(oldName));
+        }
+    }
+
+    //이미지 count 장으로 상품을 등록 (커밋)
+    private Long saveItem(int count) throws Exception {
+        List<MultipartFile> files = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            files.add(image("img" + i + ".jpg", randomBytes(20 * 1024)));
+        }
+        Long itemId = itemService.saveItem(itemForm("이미지 테스트"), files);
+        savedItemIds.add(itemId);
+        savedFileNames.addAll(itemImgNames(itemId));
+        return itemId;
+    }
+
+    //상품 등록과 같은 순서로 파일을 저장하고 참조를 커밋한다
+    private String commitFile(String originalFileName, byte[] data) throws IOException {
+        List<FileService.StagedFile> stagedFiles = List.of(
+                fileService.stageFile(IMG_DIR.toString(), originalFileName, new ByteArrayInputStream(data)));
+        savedFileNames.add(stagedFiles.get(0).getFileName());
+        fileService.acquireAll(stagedFiles);
+        fileService.settle(stagedFiles);
+        return stagedFiles.get(0).getFileName();
+    }
+
+    //이 테스트의 파일 중 expected 만 남아 있어야 함 (롤백된 파일, 임시 파일 없음)
+    private void assertOnlyCommittedFiles(String... expected) throws IOException {
+        try (var files = Files.list(IMG_DIR)) {
+            List<String> names = files.map(path -> path.getFileName().toString())
+                    .filter(name -> savedFileNames.contains(name) || name.startsWith(".upload-"))
+                    .sorted()
+                    .toList();
+            assertEquals(List.of(expected).stream().sorted().toList(), names);
+        }
+    }
+
+    private List<Long> itemImgIds(Long itemId) {
+        return jdbcTemplate.queryForList("select item_img_id from item_img where item_id = ? order by item_img_id",
+                Long.class, itemId);
+    }
+
+    private List<String> itemImgNames(Long itemId) {
+        return jdbcTemplate.queryForList("select img_name from item_img where item_id = ? order by item_img_id",
+                String.class, itemId);
+    }
+
+    private int refCount(String fileName) {
+        return jdbcTemplate.queryForList("select ref_count from img_file_ref where img_name = ?",
+                Integer.class, fileName).stream().findFirst().orElse(0);
+    }
+
+    private static ItemFormDto itemForm(String itemNm) {
+        ItemFormDto itemFormDto = new ItemFormDto();
+        itemFormDto.setItemNm(itemNm);
+        itemFormDto.setPrice(10000);
+        itemFormDto.setStockNumber(100);
+        itemFormDto.setItemDetail("이미지 테스트 상품 상세 설명");
+        itemFormDto.setItemSellStatus(ItemSellStatus.SELL);
+        return itemFormDto;
+    }
+
+    private static MultipartFile image(String originalFileName, byte[] data) {
+        return new MockMultipartFile("itemImgFile", originalFileName, "image/jpeg", data);
+    }
+
+    //저장될 파일명 (SHA-256 + 확장자)
+    private static String hashName(MultipartFile file) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(file.getBytes())) + ".jpg";
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] data = new byte[size];
+        new Random().nextBytes(data);
+        return data;
+    }
+
+    private static Path createImgDir() {
+        try {
+            return Files.createTempDirectory("item-service-test");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.shop.service;
+
+import com.example.shop.dto.ItemSuggestDto;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+class ItemSuggestIndexTest {
+
+    @Test
+    @DisplayName("한글 자모 분해 테스트")
+    public void decomposeTest() {
+        assertEquals("ㄷㅏㄹㄱ", HangulJamo.decompose("닭"));
+        assertEquals("ㄱㅗㅏㅈㅏ", HangulJamo.decompose("과자"));
+        assertEquals("ㅁㅜㅅㅓㄴㅇㅣㅇㅓㅍㅗㄴ", HangulJamo.decompose("무선 이어폰"));
+        assertEquals("ㄹㄱ", HangulJamo.decompose("ㄺ"));
+        assertEquals("ipㅎㅗㄴ15", HangulJamo.decompose("iP혼 15"));
+    }
+
+    @Test
+    @DisplayName("입력 중인 음절/중간 단어 자동완성 및 인기순 정렬 테스트")
+    public void suggestTest() {
+        ItemSuggestIndex index = new ItemSuggestIndex(null);
+
+        index.index(1L, "무선 이어폰", 5);
+        index.index(2L, "무선 키보드", 30);
+        index.index(3L, "무지 티셔츠", 10);
+        index.index(4L, "닭가슴살", 0);
+
+        //"무" 까지 입력 -> 판매량 순
+        assertEquals(List.of(2L, 3L, 1L), ids(index.suggest("무", 10)));
+        //"뭇" (무 + ㅅ 입력 중) -> "무선" 으로 시작하는 상품
+        assertEquals(List.of(2L, 1L), ids(index.suggest("뭇", 10)));
+        //겹받침 입력 중 ("달" -> "닭")
+        assertEquals(List.of(4L), ids(index.suggest("달", 10)));
+        //두 번째 단어, 띄어쓰기 없는 입력
+        assertEquals(List.of(1L), ids(index.suggest("이어", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("무선이", 10)));
+        assertEquals(List.of(2L), ids(index.suggest("무선", 1)));
+        assertEquals(List.of(), ids(index.suggest("키캡", 10)));
+
+        //판매량 갱신
+        index.updatePopularity(Map.of(1L, 100));
+        assertEquals(List.of(1L, 2L, 3L), ids(index.suggest("무", 10)));
+
+        //상품명 수정 - 이전 이름으로는 더 이상 제안되지 않음
+        index.index(1L, "블루투스 스피커", 100);
+        assertEquals(List.of(2L), ids(index.suggest("무선", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("블루", 10)));
+
+        index.remove(2L);
+        assertEquals(List.of(3L), ids(index.suggest("무", 10)));
+        assertEquals("무지 티셔츠", index.suggest("무", 10).get(0).getItemNm());
+    }
+
+    @Test
+    @DisplayName("자동완성 응답 시간 (p99 1ms 미만)")
+    public void latencyTest() {
+        ItemSuggestIndex index = new ItemSuggestIndex(null);
+        String[] words = {"무선", "블루투스", "이어폰", "키보드", "마우스", "노트북", "파우치", "충전기", "케이블", "스피커"};
+
+        for (long id = 1; id <= 20_000; id++) {
+            String name = words[(int) (id % 10)] + " " + words[(int) (id / 10 % 10)] + " " + id;
+            index.index(id, name, (int) (id * 7919 % 1000));
+        }
+
+        String[] queries = {"무", "뭇", "무선", "블루", "이어포", "키", "노트북 파", "충전", "케이", "스피"};
+        for (int i = 0; i < 10_000; i++) {
+            index.suggest(queries[i % queries.length], 10); //warm-up
+        }
+
+        long[] elapsed = new long[20_000];
+        for (int i = 0; i < elapsed.length; i++) {
+            long start = System.nanoTime();
+            index.suggest(queries[i % queries.length], 10);
+            elapsed[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(elapsed);
+        long p99 = elapsed[(int) (elapsed.length * 0.99)];
+
+        log.info("자동완성 p50 {}us, p99 {}us", elapsed[elapsed.length / 2] / 1000, p99 / 1000);
+        assertTrue(p99 < 1_000_000, "p99 " + p99 + "ns");
+    }
+
+    private List<Long> ids(List<ItemSuggestDto> suggestions) {
+        return suggestions.stream().map(ItemSuggestDto::getId).toList();
+    }
+}
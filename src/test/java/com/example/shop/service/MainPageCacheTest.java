@@ -0,0 +1,98 @@
+package com.example.shop.service;
+
+import com.example.shop.dto.CacheStatsDto;
+import com.example.shop.dto.ItemSearchDto;
+import com.example.shop.dto.MainItemDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MainPageCacheTest {
+
+    @Test
+    @DisplayName("검색어 정규화 및 정확한 무효화 테스트")
+    public void invalidateTest() {
+        SoldOutRegistry soldOutRegistry = new SoldOutRegistry(null);
+        MainPageCache cache = new MainPageCache(soldOutRegistry);
+        cache.init();
+
+        AtomicInteger loads = new AtomicInteger();
+        Pageable pageable = PageRequest.of(0, 6);
+
+        ItemSearchDto keyboard = search("  무선   키보드 ");
+        ItemSearchDto keyboardSame = search("무선 키보드");
+        ItemSearchDto mouse = search("마우스");
+
+        cache.get(keyboard, pageable, () -> page(loads, 1L));
+        cache.get(keyboardSame, pageable, () -> page(loads, 1L));
+        cache.get(mouse, pageable, () -> page(loads, 2L));
+        assertEquals(2, loads.get());
+
+        //마우스 상품 수정 -> 키보드 검색 결과는 유지
+        cache.invalidate(2L, "게이밍 마우스", "");
+        cache.get(keyboard, pageable, () -> page(loads, 1L));
+        cache.get(mouse, pageable, () -> page(loads, 2L));
+        assertEquals(3, loads.get());
+
+        //새 키보드 상품 등록 -> 키보드 검색 결과만 무효화
+        cache.invalidate(3L, "무선 키보드 미니", "");
+        cache.get(keyboard, pageable, () -> page(loads, 1L, 3L));
+        cache.get(mouse, pageable, () -> page(loads, 2L));
+        assertEquals(4, loads.get());
+
+        //품절 상태가 바뀌면 그 상품이 있는 페이지만 무효화
+        soldOutRegistry.update(2L, 0);
+        cache.get(keyboard, pageable, () -> page(loads, 1L, 3L));
+        cache.get(mouse, pageable, () -> page(loads, 2L));
+        assertEquals(5, loads.get());
+
+        CacheStatsDto stats = cache.stats();
+        assertEquals(5, stats.getMisses());
+        assertEquals(4, stats.getHits());
+        assertEquals(3, stats.getInvalidations());
+    }
+
+    @Test
+    @DisplayName("기동 시 이관 후 전체 무효화 - 이관 전에 캐시된 목록을 다시 조회")
+    public void invalidateAllTest() {
+        MainPageCache cache = new MainPageCache(new SoldOutRegistry(null));
+        cache.init();
+
+        AtomicInteger loads = new AtomicInteger();
+        Pageable pageable = PageRequest.of(0, 6);
+
+        cache.get(search(""), pageable, () -> page(loads)); // 이관 전 빈 목록
+        cache.get(search("키보드"), pageable, () -> page(loads, 1L));
+        assertEquals(2, loads.get());
+
+        cache.invalidateAll();
+
+        assertEquals(2, cache.get(search(""), pageable, () -> page(loads, 1L, 2L)).getContent().size());
+        cache.get(search("키보드"), pageable, () -> page(loads, 1L));
+        assertEquals(4, loads.get());
+        assertEquals(0, cache.stats().getHits());
+    }
+
+    private ItemSearchDto search(String query) {
+        ItemSearchDto itemSearchDto = new ItemSearchDto();
+        itemSearchDto.setSearchQuery(query);
+        return itemSearchDto;
+    }
+
+    private Page<MainItemDto> page(AtomicInteger loads, Long... ids) {
+        loads.incrementAndGet();
+        List<MainItemDto> content = Arrays.stream(ids)
+                .map(id -> new MainItemDto(id, "상품" + id, "", "/images/" + id, 1000))
+                .toList();
+        return new PageImpl<>(content, PageRequest.of(0, 6), content.size());
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.shop.service;
+
+import com.example.shop.constant.BulkCancelStatus;
+import com.example.shop.constant.ItemSellStatus;
+import com.example.shop.constant.OrderStatus;
+import com.example.shop.constant.Role;
+import com.example.shop.dto.BulkCancelDto;
+import com.example.shop.dto.BulkCancelJobDto;
+import com.example.shop.dto.OrderDto;
+import com.example.shop.entity.Item;
+import com.example.shop.entity.Member;
+import com.example.shop.repository.ItemRepository;
+import com.example.shop.repository.MemberRepository;
+import com.example.shop.repository.OrderRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "shop.stock.strategy=CONDITIONAL_UPDATE",
+        "shop.order.bulk-cancel.chunk-size=2"})
+@WithMockUser(username = "admin@test.com", roles = "ADMIN")
+class OrderBulkCancelServiceTest {
+
+    @Autowired
+    private OrderBulkCancelService orderBulkCancelService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Test
+    @DisplayName("주문 ID 목록 일괄 취소 테스트")
+    public void bulkCancelByIdsTest() throws InterruptedException {
+
+        //given
+        String email = UUID.randomUUID() + "@test.com";
+        memberRepository.save(Member.builder()
+                .email(email)
+                .name("일괄취소")
+                .role(Role.USER)
+                .build());
+
+        Item item = itemRepository.save(createItem());
+
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            OrderDto orderDto = new OrderDto();
+            orderDto.setItemId(item.getId());
+            orderDto.setCount(2);
+            orderIds.add(orderService.order(orderDto, email));
+        }
+        assertEquals(90, itemRepository.findStockNumber(item.getId()));
+
+        BulkCancelDto bulkCancelDto = new BulkCancelDto();
+        bulkCancelDto.setOrderIds(orderIds);
+
+        //when
+        Long jobId = orderBulkCancelService.start(bulkCancelDto);
+
+        BulkCancelJobDto job = orderBulkCancelService.getJob(jobId);
+        for (int i = 0; i < 100 && job.getStatus() == BulkCancelStatus.RUNNING; i++) {
+            Thread.sleep(100);
+            job = orderBulkCancelService.getJob(jobId);
+        }
+
+        //then
+        assertEquals(BulkCancelStatus.COMPLETED, job.getStatus());
+        assertEquals(5, job.getCanceledCount());
+        assertEquals(100, job.getProgress());
+        assertEquals(100, itemRepository.findStockNumber(item.getId()));
+        for (Long orderId : orderIds) {
+            assertEquals(OrderStatus.CANCEL, orderRepository.findById(orderId).get().getOrderStatus());
+        }
+    }
+
+    private Item createItem() {
+        Item item = new Item();
+        item.setItemNm("일괄 취소 상품");
+        item.setPrice(10000);
+        item.setItemDetail("일괄 취소 상품 상세 설명");
+        item.setItemSellStatus(ItemSellStatus.SELL);
+        item.setStockNumber(100);
+        item.setRegTime(LocalDateTime.now());
+        item.setUpdateTime(LocalDateTime.now());
+        return item;
+    }
+}
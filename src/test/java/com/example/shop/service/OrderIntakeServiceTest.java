@@ -0,0 +1,169 @@
+package com.example.shop.service;
+
+import com.example.shop.constant.OrderIntakeStatus;
+import com.example.shop.dto.OrderDto;
+import com.example.shop.dto.OrderResultDto;
+import com.example.shop.dto.OrderTicketDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 비동기 주문 접수 - 큐/그룹 처리만 검증 (OrderService.ordersInGroup 은 가짜로 대체)
+ * 그룹 안에서 일부 주문만 실패하는 DB 처리는 OrderServiceTest 에서 검증
+ */
+class OrderIntakeServiceTest {
+
+    private final List<Integer> groupSizes = new CopyOnWriteArrayList<>();
+    private final CountDownLatch firstGroupEntered = new CountDownLatch(1);
+    private final CountDownLatch releaseFirstGroup = new CountDownLatch(1);
+
+    private OrderIntakeService intake;
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        releaseFirstGroup.countDown();
+        if (intake != null) {
+            intake.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("writer 가 처리 중일 때 쌓인 주문은 group-size 단위로 묶어서 처리")
+    public void groupTest() throws Exception {
+        intake = start(5, this::completeAll);
+
+        List<String> tokens = new ArrayList<>();
+        tokens.add(submit());
+        assertTrue(firstGroupEntered.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 10; i++) {
+            tokens.add(submit()); // 첫 그룹이 끝나지 않았으므로 큐에 쌓인다
+        }
+        releaseFirstGroup.countDown();
+
+        for (String token : tokens) {
+            assertEquals(OrderIntakeStatus.COMPLETED, await(token).getStatus());
+        }
+        assertEquals(List.of(1, 5, 5), groupSizes);
+    }
+
+    @Test
+    @DisplayName("그룹 안에서 한 주문만 실패하면 그 주문만 FAILED, 그룹 처리 자체가 실패하면 모두 FAILED")
+    public void failureInGroupTest() throws Exception {
+        List<String> failTokens = new CopyOnWriteArrayList<>();
+        intake = start(5, tickets -> {
+            if (tickets.stream().anyMatch(t -> t.getEmail().equals("error@test.com"))) {
+                throw new IllegalStateException("DB 오류");
+            }
+            return tickets.stream()
+                    .map(t -> failTokens.contains(t.getToken())
+                            ? OrderResultDto.failed(t.getToken(), "재고 부족")
+                            : OrderResultDto.completed(t.getToken(), 1L))
+                    .toList();
+        });
+
+        String first = submit();
+        assertTrue(firstGroupEntered.await(5, TimeUnit.SECONDS));
+        String ok = submit();
+        String outOfStock = submit();
+        failTokens.add(outOfStock);
+        releaseFirstGroup.countDown();
+
+        //ok, outOfStock 은 같은 그룹
+        assertEquals(OrderIntakeStatus.COMPLETED, await(first).getStatus());
+        assertEquals(OrderIntakeStatus.COMPLETED, await(ok).getStatus());
+        OrderResultDto failed = await(outOfStock);
+        assertEquals(OrderIntakeStatus.FAILED, failed.getStatus());
+        assertEquals("재고 부족", failed.getMessage());
+        assertEquals(List.of(1, 2), groupSizes);
+
+        //그룹 처리 중 예외 - 결과를 기다리는 주문이 남지 않는다
+        String error = submit("error@test.com");
+        OrderResultDto errorResult = await(error);
+        assertEquals(OrderIntakeStatus.FAILED, errorResult.getStatus());
+        assertEquals("DB 오류", errorResult.getMessage());
+    }
+
+    @Test
+    @DisplayName("종료 시 새 접수는 막고, 큐에 남은 주문은 모두 처리한 뒤 내려간다")
+    public void shutdownDrainsQueueTest() throws Exception {
+        intake = start(3, this::completeAll);
+
+        List<String> tokens = new ArrayList<>();
+        tokens.add(submit());
+        assertTrue(firstGroupEntered.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 7; i++) {
+            tokens.add(submit());
+        }
+
+        //shutdown 의 첫 단계 - writer 가 막혀 있는 동안 접수 중단
+        intake.stopAccepting();
+        assertThrows(IllegalStateException.class, this::submit);
+
+        releaseFirstGroup.countDown();
+        intake.shutdown();
+
+        for (String token : tokens) {
+            OrderResultDto result = intake.getResult(token);
+            assertEquals(OrderIntakeStatus.COMPLETED, result.getStatus(), token);
+        }
+        assertEquals(8, groupSizes.stream().mapToInt(Integer::intValue).sum());
+        intake = null;
+    }
+
+    //writer 1개, 첫 그룹은 releaseFirstGroup 까지 붙잡아 둔다
+    private OrderIntakeService start(int groupSize, Function<List<OrderTicketDto>, List<OrderResultDto>> handler) {
+        OrderService orderService = new OrderService(null, null, null, null, null, null, null, null) {
+            @Override
+            public List<OrderResultDto> ordersInGroup(List<OrderTicketDto> tickets) {
+                groupSizes.add(tickets.size());
+                if (firstGroupEntered.getCount() > 0) {
+                    firstGroupEntered.countDown();
+                    try {
+                        releaseFirstGroup.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return handler.apply(tickets);
+            }
+        };
+
+        OrderIntakeService service = new OrderIntakeService(orderService);
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "queueCapacity", 100);
+        ReflectionTestUtils.setField(service, "writerThreads", 1);
+        ReflectionTestUtils.setField(service, "groupSize", groupSize);
+        service.start();
+        return service;
+    }
+
+    private List<OrderResultDto> completeAll(List<OrderTicketDto> tickets) {
+        return tickets.stream().map(t -> OrderResultDto.completed(t.getToken(), 1L)).toList();
+    }
+
+    private String submit() {
+        return submit("intake@test.com");
+    }
+
+    private String submit(String email) {
+        OrderDto orderDto = new OrderDto();
+        orderDto.setItemId(1L);
+        orderDto.setCount(1);
+        return intake.submit(email, List.of(orderDto), null);
+    }
+
+    private OrderResultDto await(String token) throws Exception {
+        return intake.subscribe(token).get(5, TimeUnit.SECONDS);
+    }
+}
@@ -12,6 +12,22 @@ import com.example.shop.entity.Order;
 // 주문 저장소 (JPA Repository)
 import com.example.shop.repository.OrderRepository;
 
+// 그룹 커밋 테스트용
+import com.example.shop.constant.ItemSellStatus;
+import com.example.shop.constant.OrderIntakeStatus;
+import com.example.shop.constant.Role;
+import com.example.shop.dto.OrderResultDto;
+import com.example.shop.dto.OrderTicketDto;
+import com.example.shop.entity.Item;
+import com.example.shop.entity.ItemCard;
+import com.example.shop.repository.ItemCardRepository;
+import com.example.shop.repository.ItemRepository;
+import com.example.shop.repository.MemberRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
 // 로그 출력을 위한 Lombok 어노테이션
 import lombok.extern.slf4j.Slf4j;
 
@@ -56,6 +72,18 @@ class OrderServiceTest {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private ItemCardRepository itemCardRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     // 테스트 메서드에만 트랜잭션 적용 (→ 세션을 유지해서 LAZY 로딩 가능하게 함)
     @Transactional
     // @Rollback(false)
@@ -113,4 +141,147 @@ class OrderServiceTest {
         log.info("totalCount : {}", orderHisDtoList.getTotalElements());
     }
 
+    // 그룹 커밋: 한 주문만 재고 부족이면 그 주문만 실패하고 나머지는 함께 커밋
+    @Test
+    public void ordersInGroupPartialFailureTest() {
+        String email = "group-" + UUID.randomUUID() + "@test.com";
+        Member member = memberRepository.save(Member.builder()
+                .name("그룹").email(email).password("x").address("-").role(Role.USER).build());
+        Item inStock = itemRepository.save(createItem("그룹 커밋 상품", 5));
+        Item soldOut = itemRepository.save(createItem("그룹 커밋 품절 상품", 0));
+
+        try {
+            List<OrderTicketDto> tickets = List.of(
+                    ticket("t1", email, inStock.getId(), 1),
+                    ticket("t2", email, soldOut.getId(), 1),
+                    ticket("t3", email, inStock.getId(), 2));
+
+            List<OrderResultDto> results = orderService.ordersInGroup(tickets);
+
+            assertEquals(OrderIntakeStatus.COMPLETED, results.get(0).getStatus());
+            assertEquals(OrderIntakeStatus.FAILED, results.get(1).getStatus());
+            assertEquals(OrderIntakeStatus.COMPLETED, results.get(2).getStatus());
+
+            // 성공한 두 주문은 커밋되고, 실패한 주문은 흔적이 없다
+            assertTrue(orderRepository.findById(results.get(0).getOrderId()).isPresent());
+            assertTrue(orderRepository.findById(results.get(2).getOrderId()).isPresent());
+            assertEquals(3, jdbcTemplate.queryForObject(
+                    "select coalesce(sum(count), 0) from order_item where item_id = ?", Integer.class, inStock.getId()));
+            assertEquals(0, jdbcTemplate.queryForObject(
+                    "select count(*) from order_item where item_id = ?", Integer.class, soldOut.getId()));
+
+            // writer 스레드에서 처리해도 등록자/수정자는 주문자 (테스트의 로그인 사용자가 아님)
+            assertEquals(List.of(email), jdbcTemplate.queryForList(
+                    "select distinct created_by from orders where member_id = ?", String.class, member.getId()));
+            assertEquals(List.of(email), jdbcTemplate.queryForList(
+                    "select distinct modified_by from order_item where item_id = ?", String.class, inStock.getId()));
+        } finally {
+            for (Long itemId : List.of(inStock.getId(), soldOut.getId())) {
+                jdbcTemplate.update("delete from order_item where item_id = ?", itemId);
+            }
+            jdbcTemplate.update("delete from order_history_view where member_id = ?", member.getId());
+            jdbcTemplate.update("delete from orders where member_id = ?", member.getId());
+            jdbcTemplate.update("delete from item where item_id in (?, ?)", inStock.getId(), soldOut.getId());
+            jdbcTemplate.update("delete from member where member_id = ?", member.getId());
+        }
+    }
+
+    // 주문 이력의 대표 이미지는 주문 시점 값이 아니라 현재 item_card 값 (이미지 교체 후 이전 파일은 삭제됨)
+    @Test
+    public void orderHistoryCurrentImgUrlTest() {
+        String email = "history-" + UUID.randomUUID() + "@test.com";
+        Member member = memberRepository.save(Member.builder()
+                .name("이력").email(email).password("x").address("-").role(Role.USER).build());
+        Item item = itemRepository.save(createItem("이력 이미지 상품", 5));
+        ItemCard card = ItemCard.of(item);
+        card.setImgUrl("/images/item/old.jpg");
+        itemCardRepository.save(card);
+
+        try {
+            OrderDto orderDto = new OrderDto();
+            orderDto.setItemId(item.getId());
+            orderDto.setCount(1);
+            Long orderId = orderService.order(orderDto, email);
+
+            // 이미지 교체
+            jdbcTemplate.update("update item_card set img_url = ? where item_id = ?",
+                    "/images/item/new.jpg", item.getId());
+
+            Page<OrderHisDto> orderHisDtoList = orderService.getOrderList(email, PageRequest.of(0, 5));
+            assertEquals(orderId, orderHisDtoList.getContent().get(0).getOrderId());
+            assertEquals(item.getId(), orderHisDtoList.getContent().get(0).getOrderItemDtoList().get(0).getItemId());
+            assertEquals("/images/item/new.jpg",
+                    orderHisDtoList.getContent().get(0).getOrderItemDtoList().get(0).getImgUrl());
+
+            // 조회 테이블에는 이미지 경로를 저장하지 않는다
+            String json = jdbcTemplate.queryForObject(
+                    "select order_items from order_history_view where order_id = ?", String.class, orderId);
+            assertFalse(json.contains("imgUrl"), json);
+        } finally {
+            jdbcTemplate.update("delete from order_item where item_id = ?", item.getId());
+            jdbcTemplate.update("delete from order_history_view where member_id = ?", member.getId());
+            jdbcTemplate.update("delete from orders where member_id = ?", member.getId());
+            jdbcTemplate.update("delete from item_card where item_id = ?", item.getId());
+            jdbcTemplate.update("delete from item where item_id = ?", item.getId());
+            jdbcTemplate.update("delete from member where member_id = ?", member.getId());
+        }
+    }
+
+    // 같은 주문을 동시에, 그리고 다시 취소해도 재고는 한 번만 복구
+    @Test
+    public void cancelOrderTwiceTest() {
+        String email = "cancel-" + UUID.randomUUID() + "@test.com";
+        Member member = memberRepository.save(Member.builder()
+                .name("취소").email(email).password("x").address("-").role(Role.USER).build());
+        Item item = itemRepository.save(createItem("중복 취소 상품", 5));
+
+        try {
+            OrderDto orderDto = new OrderDto();
+            orderDto.setItemId(item.getId());
+            orderDto.setCount(2);
+            Long orderId = orderService.order(orderDto, email);
+            assertEquals(3, currentStock(item.getId()));
+
+            CompletableFuture<Void> first = CompletableFuture.runAsync(() -> orderService.cancelOrder(orderId));
+            CompletableFuture<Void> second = CompletableFuture.runAsync(() -> orderService.cancelOrder(orderId));
+            CompletableFuture.allOf(first, second).join();
+            orderService.cancelOrder(orderId);
+
+            assertEquals(5, currentStock(item.getId()));
+            assertEquals("CANCEL", jdbcTemplate.queryForObject(
+                    "select order_status from orders where order_id = ?", String.class, orderId));
+        } finally {
+            jdbcTemplate.update("delete from order_item where item_id = ?", item.getId());
+            jdbcTemplate.update("delete from order_history_view where member_id = ?", member.getId());
+            jdbcTemplate.update("delete from orders where member_id = ?", member.getId());
+            jdbcTemplate.update("delete from item where item_id = ?", item.getId());
+            jdbcTemplate.update("delete from member where member_id = ?", member.getId());
+        }
+    }
+
+    // 재고 원장을 쓰면 DB 반영이 늦으므로 원장 값, 아니면 DB 값
+    private int currentStock(Long itemId) {
+        StockLedger ledger = StockLedger.current();
+        Integer available = ledger == null ? null : ledger.available(itemId);
+        return available != null ? available : jdbcTemplate.queryForObject(
+                "select stock_number from item where item_id = ?", Integer.class, itemId);
+    }
+
+    private OrderTicketDto ticket(String token, String email, Long itemId, int count) {
+        OrderDto orderDto = new OrderDto();
+        orderDto.setItemId(itemId);
+        orderDto.setCount(count);
+        return new OrderTicketDto(token, email, List.of(orderDto), null);
+    }
+
+    private Item createItem(String itemNm, int stockNumber) {
+        Item item = new Item();
+        item.setItemNm(itemNm);
+        item.setPrice(10000);
+        item.setItemDetail("그룹 커밋 테스트");
+        item.setItemSellStatus(ItemSellStatus.SELL);
+        item.setStockNumber(stockNumber);
+        return item;
+    }
+
 }
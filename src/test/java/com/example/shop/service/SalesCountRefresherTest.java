@@ -0,0 +1,76 @@
+package com.example.shop.service;
+
+import com.example.shop.constant.ItemSellStatus;
+import com.example.shop.entity.Item;
+import com.example.shop.entity.ItemCard;
+import com.example.shop.repository.ItemCardRepository;
+import com.example.shop.repository.ItemRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SalesCountRefresherTest {
+
+    @Autowired
+    SalesCountRefresher salesCountRefresher;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    ItemCardRepository itemCardRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("커밋된 주문/취소 수량만 해당 상품의 판매량에 더한다 (롤백된 주문은 제외)")
+    public void incrementalRefreshTest() {
+        Item item = new Item();
+        item.setItemNm("판매량 테스트");
+        item.setPrice(10000);
+        item.setItemDetail("판매량 테스트");
+        item.setItemSellStatus(ItemSellStatus.SELL);
+        item.setStockNumber(100);
+        Long itemId = itemRepository.save(item).getId();
+        itemCardRepository.save(ItemCard.of(item));
+
+        try {
+            //주문 3개 커밋, 2개는 롤백
+            transactionTemplate.executeWithoutResult(status ->
+                    salesCountRefresher.addAfterCommit(Map.of(itemId, 3)));
+            transactionTemplate.executeWithoutResult(status -> {
+                salesCountRefresher.addAfterCommit(Map.of(itemId, 2));
+                status.setRollbackOnly();
+            });
+            salesCountRefresher.refresh();
+            assertEquals(3, salesCount("item", itemId));
+            assertEquals(3, salesCount("item_card", itemId));
+
+            //1개 취소
+            salesCountRefresher.addAfterCommit(Map.of(itemId, -1));
+            salesCountRefresher.refresh();
+            assertEquals(2, salesCount("item", itemId));
+            assertEquals(2, salesCount("item_card", itemId));
+        } finally {
+            jdbcTemplate.update("delete from item_card where item_id = ?", itemId);
+            jdbcTemplate.update("delete from item where item_id = ?", itemId);
+        }
+    }
+
+    private int salesCount(String table, Long itemId) {
+        return jdbcTemplate.queryForObject("select sales_count from " + table + " where item_id = ?",
+                Integer.class, itemId);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.shop.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SoldOutRegistryTest {
+
+    //DB 대신 현재 재고를 돌려주는 맵
+    private final Map<Long, Integer> stock = new ConcurrentHashMap<>();
+
+    private final SoldOutRegistry registry = new SoldOutRegistry(null) {
+        @Override
+        int currentStock(Long itemId, int fallback) {
+            return stock.getOrDefault(itemId, fallback);
+        }
+    };
+
+    @Test
+    @DisplayName("품절 표시 및 재입고 해제 테스트")
+    public void updateTest() {
+        registry.update(3L, 0);
+        registry.update(1_000_000L, 0); // 비트맵 확장
+
+        assertTrue(registry.isSoldOut(3L));
+        assertTrue(registry.isSoldOut(1_000_000L));
+        assertFalse(registry.isSoldOut(4L));
+        assertFalse(registry.isSoldOut(9_999_999L));
+
+        stock.put(3L, 5);
+        registry.update(3L, 5);
+        assertFalse(registry.isSoldOut(3L));
+        assertTrue(registry.isSoldOut(1_000_000L));
+    }
+
+    @Test
+    @DisplayName("순서가 뒤바뀐 커밋 후 콜백 - 오래된 재고 0 으로는 품절 표시하지 않는다")
+    public void staleSnapshotTest() {
+        stock.put(5L, 0);
+        registry.update(5L, 0);
+        assertTrue(registry.isSoldOut(5L));
+
+        //재입고가 먼저 반영되고
+        stock.put(5L, 10);
+        registry.replenished(5L, 10);
+        assertFalse(registry.isSoldOut(5L));
+
+        //그보다 앞선 주문의 콜백(남은 재고 0)이 늦게 도착
+        registry.update(5L, 0);
+        assertFalse(registry.isSoldOut(5L));
+    }
+
+    @Test
+    @DisplayName("품절 비트는 힌트 - 주문 거절 전에 현재 재고로 다시 확인")
+    public void confirmSoldOutTest() {
+        registry.update(6L, 0);
+        assertTrue(registry.isSoldOut(6L));
+        assertTrue(registry.confirmSoldOut(6L));
+
+        stock.put(6L, 3); // 콜백 없이 재고가 바뀐 경우
+        assertFalse(registry.confirmSoldOut(6L));
+        assertFalse(registry.isSoldOut(6L));
+    }
+
+    @Test
+    @DisplayName("재입고 알림 테스트")
+    public void replenishedTest() {
+        AtomicInteger notified = new AtomicInteger();
+        registry.addReplenishListener((itemId, remaining) -> notified.set(remaining));
+
+        registry.update(7L, 0);
+        stock.put(7L, 10);
+        registry.replenished(7L, 10);
+
+        assertFalse(registry.isSoldOut(7L));
+        assertEquals(10, notified.get());
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.shop.service;
+
+import com.example.shop.constant.ItemSellStatus;
+import com.example.shop.dto.ItemFormDto;
+import com.example.shop.entity.Item;
+import com.example.shop.repository.ItemRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 관리자 재고 수정(StockLedger.reset)이 DB 와 원장을 같은 값으로 맞추는지 (LEDGER 전략)
+ */
+@SpringBootTest(properties = "shop.stock.strategy=LEDGER")
+class StockLedgerResetTest {
+
+    @Autowired
+    StockLedger stockLedger;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("로딩한 재고 그대로 저장해도 (변경 감지 없음) 그 사이 반영된 주문 차감분과 상관없이 DB 와 원장이 수정값")
+    public void resetUnchangedStockTest() {
+        Item item = new Item();
+        item.setItemNm("재고 수정 테스트");
+        item.setPrice(10000);
+        item.setItemDetail("재고 수정 테스트");
+        item.setItemSellStatus(ItemSellStatus.SELL);
+        item.setStockNumber(10);
+        Long itemId = itemRepository.save(item).getId();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Item loaded = itemRepository.findById(itemId).orElseThrow(); // 재고 10 으로 로딩
+
+                //로딩 후 다른 요청의 주문(3개)이 커밋되고 DB 에 반영됨 (DB 7)
+                CompletableFuture.runAsync(() -> stockLedger.reserve(itemId, 3, 10)).join();
+                CompletableFuture.runAsync(stockLedger::flush).join();
+
+                //관리자는 화면에 보이던 10 을 그대로 저장
+                ItemFormDto itemFormDto = ItemFormDto.of(loaded);
+                itemFormDto.setStockNumber(10);
+                loaded.upateItem(itemFormDto);
+            });
+
+            assertEquals(10, jdbcTemplate.queryForObject(
+                    "select stock_number from item where item_id = ?", Integer.class, itemId));
+            assertEquals(10, stockLedger.available(itemId));
+        } finally {
+            jdbcTemplate.update("delete from item where item_id = ?", itemId);
+        }
+    }
+}
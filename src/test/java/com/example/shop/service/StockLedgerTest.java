@@ -0,0 +1,78 @@
+package com.example.shop.service;
+
+import com.example.shop.exception.OutOfStockException;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+class StockLedgerTest {
+
+    @Test
+    @DisplayName("동시 주문 시 재고 초과 판매 방지 테스트")
+    public void reserveConcurrentlyTest() throws InterruptedException {
+        SoldOutRegistry soldOutRegistry = new SoldOutRegistry(null);
+        StockLedger ledger = new StockLedger(null, soldOutRegistry);
+
+        int threads = 64;
+        AtomicInteger success = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        for (int i = 0; i < threads * 10; i++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    ledger.reserve(1L, 1, 100);
+                    success.incrementAndGet();
+                } catch (OutOfStockException e) {
+                    soldOut.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        log.info("success : {}, soldOut : {}", success.get(), soldOut.get());
+
+        assertEquals(100, success.get());
+        assertEquals(0, ledger.available(1L));
+        assertTrue(soldOutRegistry.isSoldOut(1L));
+    }
+
+    @Test
+    @DisplayName("재고 반납 테스트")
+    public void releaseTest() {
+        StockLedger ledger = new StockLedger(null, new SoldOutRegistry(null));
+
+        ledger.reserve(1L, 7, 10);
+        ledger.release(1L, 5, 10);
+
+        assertEquals(8, ledger.available(1L));
+        assertThrows(OutOfStockException.class, () -> ledger.reserve(1L, 9, 10));
+    }
+
+    @Test
+    @DisplayName("관리자 재고 수정 - 아직 DB에 반영되지 않은 주문 차감분을 버리지 않는다")
+    public void resetKeepsPendingTest() {
+        StockLedger ledger = new StockLedger(null, new SoldOutRegistry(null));
+
+        ledger.reserve(1L, 3, 10);           // 커밋됨, DB 반영 전 (DB 10, 원장 7)
+        ledger.applyReset(1L, 10, 20);        // 관리자가 DB 10 -> 20 으로 수정
+
+        assertEquals(17, ledger.available(1L)); // 20 - 아직 반영 안 된 3
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.shop.service;
+
+import com.example.shop.constant.ItemSellStatus;
+import com.example.shop.constant.Role;
+import com.example.shop.dto.OrderDto;
+import com.example.shop.entity.Item;
+import com.example.shop.entity.Member;
+import com.example.shop.repository.CartItemRepository;
+import com.example.shop.repository.ItemRepository;
+import com.example.shop.repository.MemberRepository;
+import com.example.shop.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 재고 차감 전략별 경합 벤치마크
+ * - 같은 상품 하나를 1, 8, 64명이 동시에 구매할 때 처리량(orders/s), p99 지연시간, 실패 수 비교
+ * - 실제 주문 경로(OrderService.order: 회원 조회 + 재고 차감 + 주문/이력 저장 + 운영과 같은 재시도 횟수)로 측정
+ * - 원장(LEDGER)이 Item.removeStock 을 가로채지 않도록 다른 전략으로 컨텍스트를 띄운다.
+ */
+@SpringBootTest(properties = "shop.stock.strategy=CONDITIONAL_UPDATE")
+@Slf4j
+class StockStrategyBenchmarkTest {
+
+    private static final int ORDERS_PER_BUYER = 50;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private OrderHistoryService orderHistoryService;
+
+    @Autowired
+    private SalesCountRefresher salesCountRefresher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SoldOutRegistry soldOutRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    //운영과 같은 재시도 횟수
+    @Value("${shop.stock.optimistic-max-attempts:5}")
+    private int optimisticMaxAttempts;
+
+    private final String email = "bench-" + UUID.randomUUID() + "@test.com";
+    private final List<Long> itemIds = new ArrayList<>();
+    private Member member;
+
+    @BeforeEach
+    public void setUp() {
+        member = memberRepository.save(Member.builder()
+                .name("벤치마크").email(email).password("x").address("-").role(Role.USER).build());
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        for (Long itemId : itemIds) {
+            jdbcTemplate.update("delete from order_item where item_id = ?", itemId);
+        }
+        jdbcTemplate.update("delete from order_history_view where member_id = ?", member.getId());
+        jdbcTemplate.update("delete from orders where member_id = ?", member.getId());
+        for (Long itemId : itemIds) {
+            jdbcTemplate.update("delete from item where item_id = ?", itemId);
+        }
+        jdbcTemplate.update("delete from member where member_id = ?", member.getId());
+    }
+
+    @Test
+    @DisplayName("재고 차감 전략 경합 벤치마크 (주문 경로)")
+    public void benchmark() throws InterruptedException {
+
+        List<StockStrategy> strategies = List.of(
+                new PessimisticStockStrategy(itemRepository, soldOutRegistry, entityManager),
+                new OptimisticStockStrategy(itemRepository, soldOutRegistry),
+                new ConditionalUpdateStockStrategy(itemRepository, soldOutRegistry));
+
+        for (StockStrategy strategy : strategies) {
+            OrderService orderService = orderService(strategy);
+            for (int buyers : new int[]{1, 8, 64}) {
+                run(orderService, strategy, buyers);
+            }
+        }
+    }
+
+    private void run(OrderService orderService, StockStrategy strategy, int buyers) throws InterruptedException {
+
+        int initialStock = buyers * ORDERS_PER_BUYER;
+        Item item = itemRepository.save(createItem(initialStock));
+        itemIds.add(item.getId());
+
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        Map<String, AtomicInteger> failures = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(buyers);
+
+        for (int b = 0; b < buyers; b++) {
+            executor.submit(() -> {
+                //작업 스레드에는 로그인 정보가 없으므로 등록자(AuditorAware)용으로 넣어 준다
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(email, null, List.of()));
+                try {
+                    start.await();
+                    for (int i = 0; i < ORDERS_PER_BUYER; i++) {
+                        long begin = System.nanoTime();
+                        try {
+                            orderService.order(orderDto(item.getId()), email);
+                            latencies.add(System.nanoTime() - begin);
+                        } catch (RuntimeException e) {
+                            failures.computeIfAbsent(e.getClass().getSimpleName(), k -> new AtomicInteger())
+                                    .incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES));
+        long elapsed = System.nanoTime() - begin;
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        long p99 = sorted.isEmpty() ? 0 : sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+        int failed = failures.values().stream().mapToInt(AtomicInteger::get).sum();
+
+        log.info("[{}] buyers={} ordered={} failed={} {} throughput={} orders/s p99={} ms",
+                strategy.getType(), buyers, sorted.size(), failed, failures,
+                String.format("%.1f", sorted.size() / (elapsed / 1_000_000_000.0)),
+                String.format("%.2f", p99 / 1_000_000.0));
+
+        //재고가 충분하므로 실패는 낙관적 락 재시도 소진뿐이어야 한다
+        assertEquals(initialStock, sorted.size() + failed);
+        assertTrue(failures.keySet().stream()
+                        .allMatch(name -> name.equals(ObjectOptimisticLockingFailureException.class.getSimpleName())),
+                "예상하지 못한 주문 실패 : " + failures);
+
+        Item saved = itemRepository.findById(item.getId()).orElseThrow();
+        assertEquals(initialStock - sorted.size(), saved.getStockNumber());
+        assertEquals(sorted.size(), jdbcTemplate.queryForObject(
+                "select count(*) from order_item where item_id = ?", Integer.class, item.getId()));
+    }
+
+    //전략만 바꾼 OrderService (나머지 의존성과 재시도 횟수는 운영과 같음)
+    private OrderService orderService(StockStrategy strategy) {
+        OrderService orderService = new OrderService(orderRepository, itemRepository, memberRepository,
+                cartItemRepository, orderHistoryService, strategy, salesCountRefresher, transactionTemplate);
+        ReflectionTestUtils.setField(orderService, "optimisticMaxAttempts", optimisticMaxAttempts);
+        return orderService;
+    }
+
+    private OrderDto orderDto(Long itemId) {
+        OrderDto orderDto = new OrderDto();
+        orderDto.setItemId(itemId);
+        orderDto.setCount(1);
+        return orderDto;
+    }
+
+    private Item createItem(int stockNumber) {
+        Item item = new Item();
+        item.setItemNm("벤치마크 상품");
+        item.setPrice(10000);
+        item.setItemDetail("재고 차감 전략 벤치마크");
+        item.setItemSellStatus(ItemSellStatus.SELL);
+        item.setStockNumber(stockNumber);
+        item.setRegTime(LocalDateTime.now());
+        item.setUpdateTime(LocalDateTime.now());
+        return item;
+    }
+}